@@ -0,0 +1,197 @@
+package com.financetracker.aggregate;
+
+import java.util.Arrays;
+
+/**
+ * Sketsa distribusi nominal transaksi bergaya HDR/DDSketch.
+ *
+ * Nilai dipetakan ke bucket logaritmik dengan galat relatif maksimal
+ * RELATIVE_ACCURACY, sehingga median/p90/p99 dapat diperkirakan tanpa
+ * menyimpan atau mengurutkan semua nilai. Bucket disimpan jarang (sparse,
+ * terurut) dan mendukung tambah, hapus, serta penggabungan.
+ *
+ * Setiap bucket juga menyimpan jumlah nominalnya (dalam sen) sehingga nilai
+ * wakil bucket adalah rata-ratanya: nominal yang sama persis (mis. tagihan
+ * bulanan) terbaca tepat, bukan titik tengah bucket.
+ */
+public class AmountHistogram {
+
+    /** Galat relatif maksimum estimasi persentil (1%) */
+    public static final double RELATIVE_ACCURACY = 0.01;
+
+    /** Batas bawah bin histogram kasar (rupiah) untuk tampilan */
+    public static final double[] DISPLAY_BOUNDS = {1_000, 10_000, 100_000, 1_000_000, 10_000_000};
+
+    private static final double LOG_GAMMA = Math.log((1 + RELATIVE_ACCURACY) / (1 - RELATIVE_ACCURACY));
+
+    /** Nilai di bawah ini dianggap nol (masuk zeroCount) */
+    private static final double MIN_VALUE = 1e-2;
+
+    private int[] indexes = new int[4];
+    private long[] counts = new long[4];
+    private long[] centSums = new long[4];
+    private int size;
+    private long zeroCount;
+    private long totalCount;
+
+    public void add(double value) {
+        update(value, 1);
+    }
+
+    public void remove(double value) {
+        update(value, -1);
+    }
+
+    /**
+     * totalCount hanya berubah bila bucket benar-benar berubah: menghapus nilai
+     * yang tidak tercatat diabaikan agar rank quantile tetap sesuai isi bucket.
+     */
+    private void update(double value, long delta) {
+        if (value < MIN_VALUE) {
+            if (delta < 0 && zeroCount == 0) return;
+            zeroCount += delta;
+            totalCount += delta;
+            return;
+        }
+        int index = (int) Math.ceil(Math.log(value) / LOG_GAMMA);
+        long cents = delta * Math.round(value * 100);
+        int pos = Arrays.binarySearch(indexes, 0, size, index);
+        if (pos >= 0) {
+            counts[pos] += delta;
+            centSums[pos] += cents;
+            if (counts[pos] <= 0) removeAt(pos);
+        } else if (delta > 0) {
+            insertAt(-pos - 1, index, delta, cents);
+        } else {
+            return;
+        }
+        totalCount += delta;
+    }
+
+    /**
+     * Menambahkan seluruh isi sketsa lain ke sketsa ini.
+     */
+    public void merge(AmountHistogram other) {
+        if (other == null || other.totalCount == 0) return;
+        for (int i = 0; i < other.size; i++) {
+            int pos = Arrays.binarySearch(indexes, 0, size, other.indexes[i]);
+            if (pos >= 0) {
+                counts[pos] += other.counts[i];
+                centSums[pos] += other.centSums[i];
+            } else {
+                insertAt(-pos - 1, other.indexes[i], other.counts[i], other.centSums[i]);
+            }
+        }
+        zeroCount += other.zeroCount;
+        totalCount += other.totalCount;
+    }
+
+    public AmountHistogram copy() {
+        AmountHistogram copy = new AmountHistogram();
+        copy.indexes = Arrays.copyOf(indexes, Math.max(4, size));
+        copy.counts = Arrays.copyOf(counts, Math.max(4, size));
+        copy.centSums = Arrays.copyOf(centSums, Math.max(4, size));
+        copy.size = size;
+        copy.zeroCount = zeroCount;
+        copy.totalCount = totalCount;
+        return copy;
+    }
+
+    public long getCount() {
+        return totalCount;
+    }
+
+    public boolean isEmpty() {
+        return totalCount <= 0;
+    }
+
+    /**
+     * Perkiraan persentil (q dalam 0..1), galat relatif ≤ RELATIVE_ACCURACY.
+     */
+    public double quantile(double q) {
+        if (totalCount <= 0) return 0;
+        long rank = (long) Math.floor(q * (totalCount - 1));
+        if (rank < zeroCount) return 0;
+
+        long seen = zeroCount;
+        for (int i = 0; i < size; i++) {
+            seen += counts[i];
+            if (seen > rank) return bucketValue(i);
+        }
+        return bucketValue(size - 1);
+    }
+
+    /**
+     * Jumlah transaksi per bin kasar DISPLAY_BOUNDS
+     * (hasil berukuran DISPLAY_BOUNDS.length + 1; bin terakhir = ≥ batas terakhir).
+     */
+    public long[] displayHistogram() {
+        long[] bins = new long[DISPLAY_BOUNDS.length + 1];
+        bins[0] += zeroCount;
+        for (int i = 0; i < size; i++) {
+            double value = bucketValue(i);
+            int bin = 0;
+            while (bin < DISPLAY_BOUNDS.length && value >= DISPLAY_BOUNDS[bin]) bin++;
+            bins[bin] += counts[i];
+        }
+        return bins;
+    }
+
+    // ============================================================
+    //                  REPRESENTASI UNTUK PERSISTENSI
+    // ============================================================
+
+    /**
+     * Bentuk ringkas: [zeroCount, index0, count0, sen0, index1, count1, sen1, ...].
+     */
+    public long[] toSparseArray() {
+        long[] data = new long[1 + size * 3];
+        data[0] = zeroCount;
+        for (int i = 0; i < size; i++) {
+            data[1 + i * 3] = indexes[i];
+            data[2 + i * 3] = counts[i];
+            data[3 + i * 3] = centSums[i];
+        }
+        return data;
+    }
+
+    public static AmountHistogram fromSparseArray(long[] data) {
+        AmountHistogram histogram = new AmountHistogram();
+        histogram.zeroCount = data[0];
+        histogram.totalCount = data[0];
+        for (int i = 1; i + 2 < data.length; i += 3) {
+            histogram.insertAt(histogram.size, (int) data[i], data[i + 1], data[i + 2]);
+            histogram.totalCount += data[i + 1];
+        }
+        return histogram;
+    }
+
+    /**
+     * Nilai wakil bucket ke-pos: rata-rata nominal di dalamnya.
+     */
+    private double bucketValue(int pos) {
+        return centSums[pos] / 100.0 / counts[pos];
+    }
+
+    private void insertAt(int pos, int index, long count, long cents) {
+        if (size == indexes.length) {
+            indexes = Arrays.copyOf(indexes, size * 2);
+            counts = Arrays.copyOf(counts, size * 2);
+            centSums = Arrays.copyOf(centSums, size * 2);
+        }
+        System.arraycopy(indexes, pos, indexes, pos + 1, size - pos);
+        System.arraycopy(counts, pos, counts, pos + 1, size - pos);
+        System.arraycopy(centSums, pos, centSums, pos + 1, size - pos);
+        indexes[pos] = index;
+        counts[pos] = count;
+        centSums[pos] = cents;
+        size++;
+    }
+
+    private void removeAt(int pos) {
+        System.arraycopy(indexes, pos + 1, indexes, pos, size - pos - 1);
+        System.arraycopy(counts, pos + 1, counts, pos, size - pos - 1);
+        System.arraycopy(centSums, pos + 1, centSums, pos, size - pos - 1);
+        size--;
+    }
+}
@@ -0,0 +1,78 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+/**
+ * Satu AmountHistogram per (tipe, kategori) (diindeks ordinal TransactionType
+ * dan Category), dipakai untuk distribusi nominal transaksi dalam satu bulan.
+ * Tipe diambil dari transaksinya sendiri, sehingga pemasukan di kategori
+ * pengeluaran (mis. refund MAKANAN) tidak tercampur ke distribusi pengeluaran.
+ */
+public class CategorySketches {
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final Category[] CATEGORIES = Category.values();
+
+    private final AmountHistogram[][] byType = new AmountHistogram[TYPES.length][CATEGORIES.length];
+
+    public void add(Transaction tx) {
+        AmountHistogram[] byCategory = byType[tx.getType().ordinal()];
+        int cat = tx.getCategory().ordinal();
+        if (byCategory[cat] == null) byCategory[cat] = new AmountHistogram();
+        byCategory[cat].add(tx.getAmount());
+    }
+
+    public void remove(Transaction tx) {
+        AmountHistogram histogram = byType[tx.getType().ordinal()][tx.getCategory().ordinal()];
+        if (histogram != null) histogram.remove(tx.getAmount());
+    }
+
+    public void merge(CategorySketches other) {
+        for (int t = 0; t < byType.length; t++) {
+            for (int i = 0; i < byType[t].length; i++) {
+                AmountHistogram source = other.byType[t][i];
+                if (source == null || source.isEmpty()) continue;
+                if (byType[t][i] == null) byType[t][i] = new AmountHistogram();
+                byType[t][i].merge(source);
+            }
+        }
+    }
+
+    public CategorySketches copy() {
+        CategorySketches copy = new CategorySketches();
+        copy.merge(this);
+        return copy;
+    }
+
+    /**
+     * Sketsa satu tipe dan kategori (null jika belum ada transaksi).
+     */
+    public AmountHistogram get(TransactionType type, Category category) {
+        return byType[type.ordinal()][category.ordinal()];
+    }
+
+    void set(TransactionType type, Category category, AmountHistogram histogram) {
+        byType[type.ordinal()][category.ordinal()] = histogram;
+    }
+
+    /**
+     * Gabungan semua kategori dengan tipe tertentu (mis. seluruh pengeluaran).
+     */
+    public AmountHistogram combined(TransactionType type) {
+        AmountHistogram result = new AmountHistogram();
+        for (AmountHistogram histogram : byType[type.ordinal()]) {
+            result.merge(histogram);
+        }
+        return result;
+    }
+
+    public boolean isEmpty() {
+        for (AmountHistogram[] byCategory : byType) {
+            for (AmountHistogram histogram : byCategory) {
+                if (histogram != null && !histogram.isEmpty()) return false;
+            }
+        }
+        return true;
+    }
+}
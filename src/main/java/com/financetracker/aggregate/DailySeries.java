@@ -0,0 +1,39 @@
+package com.financetracker.aggregate;
+
+import java.time.LocalDate;
+
+/**
+ * Deret total harian dalam satu rentang tanggal, untuk grafik garis.
+ *
+ * - Hanya hari yang memiliki transaksi yang tercantum, urut tanggal.
+ * - openingBalance adalah saldo (pemasukan − pengeluaran) sebelum rentang,
+ *   sehingga saldo berjalan bisa dihitung tanpa membaca data di luar rentang.
+ * - Berupa salinan array primitif; aman dipakai di luar read-lock.
+ */
+public class DailySeries {
+
+    private final LocalDate from;
+    private final LocalDate to;
+    private final long[] epochDays;
+    private final double[] expense;
+    private final double[] net;
+    private final double openingBalance;
+
+    public DailySeries(LocalDate from, LocalDate to, long[] epochDays, double[] expense, double[] net,
+                       double openingBalance) {
+        this.from = from;
+        this.to = to;
+        this.epochDays = epochDays;
+        this.expense = expense;
+        this.net = net;
+        this.openingBalance = openingBalance;
+    }
+
+    public LocalDate getFrom() { return from; }
+    public LocalDate getTo() { return to; }
+    public int size() { return epochDays.length; }
+    public long getEpochDay(int index) { return epochDays[index]; }
+    public double getExpense(int index) { return expense[index]; }
+    public double getNet(int index) { return net[index]; }
+    public double getOpeningBalance() { return openingBalance; }
+}
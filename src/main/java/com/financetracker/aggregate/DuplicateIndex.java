@@ -0,0 +1,100 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Indeks hash sidik jari transaksi untuk deteksi duplikat.
+ *
+ * Sidik jari = (akun, tanggal, nominal dalam sen, tipe, kategori, deskripsi
+ * yang dinormalisasi: huruf kecil, spasi dirapikan). Indeks berupa multiset
+ * sehingga data lama yang sudah berisi baris kembar tetap terhitung benar
+ * saat salah satunya dihapus. Cek, tambah, dan hapus berbiaya O(1).
+ */
+public class DuplicateIndex {
+
+    private final Map<Fingerprint, Integer> counts = new HashMap<>();
+
+    public static DuplicateIndex of(Collection<Transaction> transactions) {
+        DuplicateIndex index = new DuplicateIndex();
+        for (Transaction tx : transactions) {
+            index.add(tx);
+        }
+        return index;
+    }
+
+    /**
+     * Jumlah transaksi tercatat yang sidik jarinya sama dengan tx.
+     */
+    public int countMatches(Transaction tx) {
+        return counts.getOrDefault(Fingerprint.of(tx), 0);
+    }
+
+    public boolean contains(Transaction tx) {
+        return counts.containsKey(Fingerprint.of(tx));
+    }
+
+    public void add(Transaction tx) {
+        counts.merge(Fingerprint.of(tx), 1, Integer::sum);
+    }
+
+    public void remove(Transaction tx) {
+        counts.computeIfPresent(Fingerprint.of(tx), (key, count) -> count > 1 ? count - 1 : null);
+    }
+
+    /**
+     * Deskripsi dalam bentuk normal untuk perbandingan.
+     */
+    static String normalize(String description) {
+        if (description == null) return "";
+        return description.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Fingerprint {
+        private final String account;
+        private final LocalDate date;
+        private final long cents;
+        private final TransactionType type;
+        private final Category category;
+        private final String description;
+        private final int hash;
+
+        private Fingerprint(String account, LocalDate date, long cents, TransactionType type, Category category,
+                            String description) {
+            this.account = account;
+            this.date = date;
+            this.cents = cents;
+            this.type = type;
+            this.category = category;
+            this.description = description;
+            this.hash = Objects.hash(account, date, cents, type, category, description);
+        }
+
+        static Fingerprint of(Transaction tx) {
+            return new Fingerprint(tx.getAccount(), tx.getDate(), Math.round(tx.getAmount() * 100), tx.getType(),
+                    tx.getCategory(), normalize(tx.getDescription()));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            Fingerprint that = (Fingerprint) o;
+            return hash == that.hash && cents == that.cents && type == that.type && category == that.category
+                    && date.equals(that.date) && description.equals(that.description) && account.equals(that.account);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
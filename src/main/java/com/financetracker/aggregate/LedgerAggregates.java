@@ -0,0 +1,317 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Agregat transaksi yang dipelihara secara inkremental.
+ *
+ * - Indeks tanggal → transaksi (untuk rincian dan query rentang).
+ * - Total per hari, per bulan, dan keseluruhan.
+ * - Sketsa distribusi nominal (AmountHistogram) per bulan × kategori.
+ *
+ * Ringkasan periode mana pun dihitung dari bucket bulan yang tercakup penuh
+ * ditambah bucket hari di tepi periode, tanpa memindai ulang semua transaksi.
+ */
+public class LedgerAggregates {
+
+    private final NavigableMap<LocalDate, List<Transaction>> byDate = new TreeMap<>();
+    private final NavigableMap<LocalDate, Totals> days = new TreeMap<>();
+    private final NavigableMap<YearMonth, Totals> months = new TreeMap<>();
+    private final NavigableMap<YearMonth, CategorySketches> sketches = new TreeMap<>();
+    private final Totals overall = new Totals();
+
+    // Sidik jari isi ledger untuk validasi sketsa yang dipersist
+    private long count;
+    private long amountCents;
+    private long idHash;
+
+    /**
+     * Membangun agregat dari kumpulan transaksi (satu kali pemindaian).
+     */
+    public static LedgerAggregates of(Collection<Transaction> transactions) {
+        return of(transactions, null);
+    }
+
+    /**
+     * Membangun agregat; sketsa distribusi diambil dari snapshot yang
+     * dipersist bila sidik jarinya cocok, selain itu dibangun ulang.
+     */
+    public static LedgerAggregates of(Collection<Transaction> transactions, SketchSnapshot persisted) {
+        LedgerAggregates aggregates = new LedgerAggregates();
+        for (Transaction tx : transactions) {
+            aggregates.addTotals(tx);
+        }
+
+        if (persisted != null && persisted.matches(aggregates.count, aggregates.amountCents, aggregates.idHash)) {
+            aggregates.restoreSketches(persisted);
+        } else {
+            for (Transaction tx : transactions) {
+                aggregates.sketches.computeIfAbsent(YearMonth.from(tx.getDate()), m -> new CategorySketches()).add(tx);
+            }
+        }
+        return aggregates;
+    }
+
+    public void add(Transaction tx) {
+        addTotals(tx);
+        sketches.computeIfAbsent(YearMonth.from(tx.getDate()), m -> new CategorySketches()).add(tx);
+    }
+
+    private void addTotals(Transaction tx) {
+        LocalDate date = tx.getDate();
+        byDate.computeIfAbsent(date, d -> new ArrayList<>()).add(tx);
+        days.computeIfAbsent(date, d -> new Totals()).add(tx);
+        months.computeIfAbsent(YearMonth.from(date), m -> new Totals()).add(tx);
+        overall.add(tx);
+        updateFingerprint(tx, 1);
+    }
+
+    public void remove(Transaction tx) {
+        LocalDate date = tx.getDate();
+        List<Transaction> list = byDate.get(date);
+        if (list == null || !list.remove(tx)) return;
+        if (list.isEmpty()) byDate.remove(date);
+
+        removeFrom(days, date, tx);
+        removeFrom(months, YearMonth.from(date), tx);
+        overall.remove(tx);
+        updateFingerprint(tx, -1);
+
+        CategorySketches monthSketches = sketches.get(YearMonth.from(date));
+        if (monthSketches != null) {
+            monthSketches.remove(tx);
+            if (monthSketches.isEmpty()) sketches.remove(YearMonth.from(date));
+        }
+    }
+
+    private void updateFingerprint(Transaction tx, int sign) {
+        count += sign;
+        amountCents += sign * Math.round(tx.getAmount() * 100);
+        // Semua yang menentukan kunci sketsa (bulan, tipe, kategori) ikut di-hash,
+        // agar ganti kategori (ID dan jumlah sama) tetap mengubah sidik jari.
+        // Ordinal, bukan hashCode enum, karena harus stabil antar-proses.
+        long hash = tx.getId().hashCode();
+        hash = 31 * hash + tx.getDate().hashCode();
+        hash = 31 * hash + tx.getType().ordinal();
+        hash = 31 * hash + (tx.getCategory() == null ? -1 : tx.getCategory().ordinal());
+        // XOR bersifat self-inverse sehingga tambah/hapus saling meniadakan
+        idHash ^= hash * 0x9E3779B97F4A7C15L;
+    }
+
+    private static <K> void removeFrom(Map<K, Totals> buckets, K key, Transaction tx) {
+        Totals bucket = buckets.get(key);
+        bucket.remove(tx);
+        // Bucket kosong dibuang agar sisa pembulatan double tidak menumpuk
+        if (bucket.isEmpty()) buckets.remove(key);
+    }
+
+    /**
+     * Transaksi di dalam periode, urut tanggal.
+     */
+    public List<Transaction> transactionsIn(ReportPeriod period) {
+        List<Transaction> result = new ArrayList<>();
+        for (List<Transaction> list : byDate.subMap(period.getStart(), true, period.getEnd(), true).values()) {
+            result.addAll(list);
+        }
+        return result;
+    }
+
+    /**
+     * Transaksi terbaru menurut tanggal (terbaru dulu), paling banyak limit;
+     * hanya membaca ujung indeks tanggal.
+     */
+    public List<Transaction> latestTransactions(int limit) {
+        List<Transaction> result = new ArrayList<>(limit);
+        for (List<Transaction> list : byDate.descendingMap().values()) {
+            for (int i = list.size() - 1; i >= 0 && result.size() < limit; i--) {
+                result.add(list.get(i));
+            }
+            if (result.size() >= limit) break;
+        }
+        return result;
+    }
+
+    /**
+     * Total satu hari (kosong jika tidak ada transaksi).
+     */
+    public Totals dayTotals(LocalDate date) {
+        Totals totals = days.get(date);
+        return totals != null ? totals : new Totals();
+    }
+
+    /**
+     * Total satu bulan (kosong jika tidak ada transaksi).
+     */
+    public Totals monthTotals(YearMonth month) {
+        Totals totals = months.get(month);
+        return totals != null ? totals : new Totals();
+    }
+
+    /**
+     * Salinan total seluruh ledger (termasuk per kategori), O(jumlah kategori).
+     */
+    public Totals overallTotals() {
+        Totals copy = new Totals();
+        copy.merge(overall);
+        return copy;
+    }
+
+    /**
+     * Tanggal transaksi pertama (null jika ledger kosong).
+     */
+    public LocalDate firstDate() {
+        return byDate.isEmpty() ? null : byDate.firstKey();
+    }
+
+    /**
+     * Tanggal transaksi terakhir (null jika ledger kosong).
+     */
+    public LocalDate lastDate() {
+        return byDate.isEmpty() ? null : byDate.lastKey();
+    }
+
+    /**
+     * Total harian dalam rentang [from, to], hanya membaca bucket hari di
+     * rentang itu. Saldo awal dihitung dari bucket bulan sebelum rentang
+     * ditambah bucket hari di awal bulan pertama.
+     */
+    public DailySeries dailySeries(LocalDate from, LocalDate to) {
+        SortedMap<LocalDate, Totals> range = days.subMap(from, true, to, true);
+        int n = range.size();
+        long[] epochDays = new long[n];
+        double[] expense = new double[n];
+        double[] net = new double[n];
+        int i = 0;
+        for (Map.Entry<LocalDate, Totals> entry : range.entrySet()) {
+            epochDays[i] = entry.getKey().toEpochDay();
+            expense[i] = entry.getValue().getExpense();
+            net[i] = entry.getValue().getNet();
+            i++;
+        }
+
+        YearMonth firstMonth = YearMonth.from(from);
+        double opening = 0;
+        for (Totals totals : months.headMap(firstMonth, false).values()) opening += totals.getNet();
+        for (Totals totals : days.subMap(firstMonth.atDay(1), true, from, false).values()) opening += totals.getNet();
+
+        return new DailySeries(from, to, epochDays, expense, net, opening);
+    }
+
+    /**
+     * Ringkasan periode: total dan rincian per bulan.
+     */
+    public PeriodSummary summarize(ReportPeriod period) {
+        Totals totals = new Totals();
+        SortedMap<YearMonth, Totals> perMonth = new TreeMap<>();
+        SortedMap<YearMonth, CategorySketches> perMonthSketches = new TreeMap<>();
+
+        YearMonth first = YearMonth.from(period.getStart());
+        YearMonth last = YearMonth.from(period.getEnd());
+
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+            LocalDate from = max(month.atDay(1), period.getStart());
+            LocalDate to = min(month.atEndOfMonth(), period.getEnd());
+
+            Totals monthTotals;
+            CategorySketches monthSketches;
+            if (from.getDayOfMonth() == 1 && to.equals(month.atEndOfMonth())) {
+                // Bulan tercakup penuh → pakai bucket bulanan langsung
+                monthTotals = months.get(month);
+                CategorySketches full = sketches.get(month);
+                monthSketches = full != null ? full.copy() : null;
+            } else {
+                monthTotals = sumDays(from, to);
+                monthSketches = sketchDays(from, to);
+            }
+
+            if (monthTotals != null && !monthTotals.isEmpty()) {
+                Totals copy = new Totals();
+                copy.merge(monthTotals);
+                perMonth.put(month, copy);
+                totals.merge(monthTotals);
+                if (monthSketches != null) perMonthSketches.put(month, monthSketches);
+            }
+        }
+
+        return new PeriodSummary(period, totals, perMonth, perMonthSketches);
+    }
+
+    /**
+     * Sketsa untuk sebagian bulan: dibangun dari transaksi hari-hari tepi saja.
+     */
+    private CategorySketches sketchDays(LocalDate from, LocalDate to) {
+        CategorySketches result = new CategorySketches();
+        for (List<Transaction> list : byDate.subMap(from, true, to, true).values()) {
+            for (Transaction tx : list) {
+                result.add(tx);
+            }
+        }
+        return result;
+    }
+
+    // ============================================================
+    //                  PERSISTENSI SKETSA
+    // ============================================================
+
+    /**
+     * Salinan sketsa dalam bentuk yang bisa disimpan bersama snapshot transaksi.
+     */
+    public SketchSnapshot snapshotSketches() {
+        SketchSnapshot snapshot = new SketchSnapshot();
+        snapshot.count = count;
+        snapshot.amountCents = amountCents;
+        snapshot.idHash = idHash;
+        for (Map.Entry<YearMonth, CategorySketches> entry : sketches.entrySet()) {
+            for (TransactionType type : TransactionType.values()) {
+                for (Category category : Category.values()) {
+                    AmountHistogram histogram = entry.getValue().get(type, category);
+                    if (histogram != null && !histogram.isEmpty()) {
+                        snapshot.months.put(entry.getKey() + "/" + type.name() + "/" + category.name(),
+                                histogram.toSparseArray());
+                    }
+                }
+            }
+        }
+        return snapshot;
+    }
+
+    private void restoreSketches(SketchSnapshot snapshot) {
+        for (Map.Entry<String, long[]> entry : snapshot.months.entrySet()) {
+            String[] key = entry.getKey().split("/");
+            YearMonth month = YearMonth.parse(key[0]);
+            TransactionType type = TransactionType.valueOf(key[1]);
+            Category category = Category.valueOf(key[2]);
+            sketches.computeIfAbsent(month, m -> new CategorySketches())
+                    .set(type, category, AmountHistogram.fromSparseArray(entry.getValue()));
+        }
+    }
+
+    private Totals sumDays(LocalDate from, LocalDate to) {
+        Totals sum = new Totals();
+        for (Totals day : days.subMap(from, true, to, true).values()) {
+            sum.merge(day);
+        }
+        return sum;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -0,0 +1,260 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Memproyeksikan pengeluaran akhir bulan per kategori.
+ *
+ * Proyeksi = pengeluaran rutin (sudah dibayar + yang belum tercatat)
+ *          + pengeluaran non-rutin sejauh ini
+ *          + sisa bulan, campuran laju harian bulan ini dan pola historis
+ *            kategori (berapa yang biasanya masih keluar setelah tanggal ini).
+ *
+ * Bobot laju harian naik seiring berjalannya bulan. Profil historis dan daftar
+ * transaksi rutin dibangun dari PROFILE_MONTHS bulan sebelumnya, sekali per
+ * bulan atau saat mutasi menyentuh bulan-bulan itu (mis. impor data lama;
+ * dibangun ulang malas di proyeksi berikutnya); selanjutnya total bulan berjalan diambil dari agregat bulanan
+ * dan status "sudah dibayar" transaksi rutin diperbarui per mutasi, sehingga
+ * setiap proyeksi berbiaya O(kategori).
+ *
+ * Semua method dipanggil di bawah lock TransactionService (tulis untuk
+ * added/removed, baca untuk forecast); synchronized menjaga state internal.
+ */
+public class MonthEndForecaster {
+
+    /** Jumlah bulan riwayat untuk profil musiman */
+    private static final int PROFILE_MONTHS = 3;
+
+    /** Transaksi dianggap rutin bila muncul di setiap bulan ini (bulan-bulan terakhir) */
+    private static final int RECURRING_MONTHS = 2;
+
+    /** Frekuensi maksimum transaksi rutin per bulan (mingguan); yang lebih sering dianggap belanja harian */
+    private static final int MAX_RECURRING_PER_MONTH = 5;
+
+    private static final int CATEGORIES = Category.values().length;
+
+    private YearMonth profileMonth;
+    /** Mutasi di bulan-bulan profil sejak rebuild terakhir */
+    private boolean profileDirty;
+
+    /** remainingAfter[c][d]: rata-rata pengeluaran non-rutin kategori c setelah tanggal d */
+    private final double[][] remainingAfter = new double[CATEGORIES][32];
+    private boolean hasHistory;
+
+    private final Map<RecurringKey, RecurringItem> recurring = new HashMap<>();
+    private final double[] recurringPaid = new double[CATEGORIES];
+    private final double[] recurringPending = new double[CATEGORIES];
+
+    /**
+     * Proyeksi untuk bulan yang memuat tanggal today.
+     */
+    public synchronized SpendingForecast forecast(LedgerAggregates aggregates, LocalDate today) {
+        YearMonth month = YearMonth.from(today);
+        if (!month.equals(profileMonth) || profileDirty) {
+            rebuild(aggregates, month);
+        }
+
+        int daysInMonth = month.lengthOfMonth();
+        int elapsed = today.getDayOfMonth();
+        int remainingDays = daysInMonth - elapsed;
+        double runRateWeight = hasHistory ? (double) elapsed / daysInMonth : 1.0;
+
+        Totals monthTotals = aggregates.monthTotals(month);
+        double[] projected = new double[CATEGORIES];
+        double pendingTotal = 0;
+
+        for (Category category : Category.values()) {
+            int c = category.ordinal();
+            double spent = monthTotals.getExpense(category);
+            double discretionary = Math.max(0, spent - recurringPaid[c]);
+
+            double runRateRemaining = discretionary / elapsed * remainingDays;
+            double historicalRemaining = remainingAfter[c][elapsed];
+            double expectedRemaining = runRateWeight * runRateRemaining
+                    + (1 - runRateWeight) * historicalRemaining;
+
+            projected[c] = spent + expectedRemaining + recurringPending[c];
+            pendingTotal += recurringPending[c];
+        }
+        return new SpendingForecast(month, today, monthTotals.getExpense(), pendingTotal, projected);
+    }
+
+    /**
+     * Dipanggil setelah transaksi ditambahkan ke agregat.
+     */
+    public synchronized void added(Transaction tx) {
+        updatePaid(tx, 1);
+    }
+
+    /**
+     * Dipanggil setelah transaksi dihapus dari agregat.
+     */
+    public synchronized void removed(Transaction tx) {
+        updatePaid(tx, -1);
+    }
+
+    private void updatePaid(Transaction tx, int sign) {
+        if (profileMonth == null || tx.getType() != TransactionType.EXPENSE) return;
+        YearMonth txMonth = YearMonth.from(tx.getDate());
+        if (txMonth.isBefore(profileMonth) && !txMonth.isBefore(profileMonth.minusMonths(PROFILE_MONTHS))) {
+            profileDirty = true;
+            return;
+        }
+        if (!txMonth.equals(profileMonth)) return;
+        RecurringItem item = recurring.get(RecurringKey.of(tx));
+        if (item == null) return;
+
+        int c = tx.getCategory().ordinal();
+        recurringPaid[c] -= item.paidAmount();
+        recurringPending[c] -= item.pendingAmount();
+        item.paid += sign;
+        recurringPaid[c] += item.paidAmount();
+        recurringPending[c] += item.pendingAmount();
+    }
+
+    // ============================================================
+    //     PROFIL BULANAN (per bulan, atau saat bulan profil berubah)
+    // ============================================================
+
+    private void rebuild(LedgerAggregates aggregates, YearMonth month) {
+        profileMonth = month;
+        profileDirty = false;
+        recurring.clear();
+        for (double[] row : remainingAfter) Arrays.fill(row, 0);
+        Arrays.fill(recurringPaid, 0);
+        Arrays.fill(recurringPending, 0);
+
+        // 1. Transaksi rutin: muncul di setiap RECURRING_MONTHS bulan terakhir
+        Map<RecurringKey, int[]> occurrences = new HashMap<>();
+        for (int back = 1; back <= RECURRING_MONTHS; back++) {
+            Map<RecurringKey, Integer> perMonth = new HashMap<>();
+            for (Transaction tx : expensesIn(aggregates, month.minusMonths(back))) {
+                perMonth.merge(RecurringKey.of(tx), 1, Integer::sum);
+            }
+            for (Map.Entry<RecurringKey, Integer> entry : perMonth.entrySet()) {
+                int[] seen = occurrences.computeIfAbsent(entry.getKey(), k -> new int[]{0, Integer.MAX_VALUE});
+                seen[0]++;
+                seen[1] = Math.min(seen[1], entry.getValue());
+            }
+        }
+        for (Map.Entry<RecurringKey, int[]> entry : occurrences.entrySet()) {
+            if (entry.getValue()[0] == RECURRING_MONTHS && entry.getValue()[1] <= MAX_RECURRING_PER_MONTH) {
+                recurring.put(entry.getKey(), new RecurringItem(entry.getKey().cents / 100.0, entry.getValue()[1]));
+            }
+        }
+
+        // 2. Profil sisa pengeluaran non-rutin per tanggal
+        int historyMonths = 0;
+        for (int back = 1; back <= PROFILE_MONTHS; back++) {
+            YearMonth previous = month.minusMonths(back);
+            List<Transaction> expenses = expensesIn(aggregates, previous);
+            if (expenses.isEmpty()) continue;
+            historyMonths++;
+
+            double[][] perDay = new double[CATEGORIES][32];
+            for (Transaction tx : expenses) {
+                if (recurring.containsKey(RecurringKey.of(tx))) continue;
+                // Tanggal diskalakan ke panjang bulan berjalan
+                int day = Math.min(month.lengthOfMonth(),
+                        (int) Math.ceil(tx.getDate().getDayOfMonth() * (double) month.lengthOfMonth() / previous.lengthOfMonth()));
+                perDay[tx.getCategory().ordinal()][day] += tx.getAmount();
+            }
+            for (int c = 0; c < CATEGORIES; c++) {
+                double after = 0;
+                for (int d = 31; d >= 0; d--) {
+                    remainingAfter[c][d] += after;
+                    after += perDay[c][d];
+                }
+            }
+        }
+        hasHistory = historyMonths > 0;
+        if (hasHistory) {
+            for (double[] row : remainingAfter) {
+                for (int d = 0; d < row.length; d++) row[d] /= historyMonths;
+            }
+        }
+
+        // 3. Status pembayaran transaksi rutin bulan berjalan
+        for (RecurringItem item : recurring.values()) {
+            item.paid = 0;
+        }
+        for (Transaction tx : expensesIn(aggregates, month)) {
+            RecurringItem item = recurring.get(RecurringKey.of(tx));
+            if (item != null) item.paid++;
+        }
+        for (Map.Entry<RecurringKey, RecurringItem> entry : recurring.entrySet()) {
+            int c = entry.getKey().category.ordinal();
+            recurringPaid[c] += entry.getValue().paidAmount();
+            recurringPending[c] += entry.getValue().pendingAmount();
+        }
+    }
+
+    private static List<Transaction> expensesIn(LedgerAggregates aggregates, YearMonth month) {
+        List<Transaction> list = aggregates.transactionsIn(ReportPeriod.ofMonth(month));
+        list.removeIf(tx -> tx.getType() != TransactionType.EXPENSE);
+        return list;
+    }
+
+    private static final class RecurringItem {
+        private final double amount;
+        private final int expectedPerMonth;
+        private int paid;
+
+        RecurringItem(double amount, int expectedPerMonth) {
+            this.amount = amount;
+            this.expectedPerMonth = expectedPerMonth;
+        }
+
+        double paidAmount() {
+            return Math.min(paid, expectedPerMonth) * amount;
+        }
+
+        double pendingAmount() {
+            return Math.max(0, expectedPerMonth - paid) * amount;
+        }
+    }
+
+    /**
+     * Identitas transaksi rutin: kategori, deskripsi (tanpa beda huruf besar), nominal.
+     */
+    private static final class RecurringKey {
+        private final Category category;
+        private final String description;
+        private final long cents;
+
+        private RecurringKey(Category category, String description, long cents) {
+            this.category = category;
+            this.description = description;
+            this.cents = cents;
+        }
+
+        static RecurringKey of(Transaction tx) {
+            String description = tx.getDescription() == null ? "" : tx.getDescription().trim().toLowerCase();
+            return new RecurringKey(tx.getCategory(), description, Math.round(tx.getAmount() * 100));
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            RecurringKey that = (RecurringKey) o;
+            return cents == that.cents && category == that.category && description.equals(that.description);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(category, description, cents);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.Transaction;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Agregasi fork/join untuk list transaksi mentah yang besar.
+ *
+ * List dipecah menjadi potongan indeks; setiap potongan mengisi akumulator
+ * primitifnya sendiri (satu Totals dan satu CategorySketches per bulan dalam
+ * periode) tanpa sinkronisasi,
+ * lalu hasilnya digabung saat join. Di bawah SEQUENTIAL_THRESHOLD, agregasi
+ * berjalan sekuensial karena overhead fork lebih mahal daripada kerjanya.
+ * Kaki transfer dilewati, sehingga hasilnya sama dengan jalur agregat ledger.
+ */
+public final class ParallelAggregator {
+
+    /** Ukuran list minimum sebelum agregasi dipecah ke beberapa core */
+    public static final int SEQUENTIAL_THRESHOLD = 200_000;
+
+    /** Ukuran potongan terkecil yang dikerjakan satu task */
+    private static final int LEAF_SIZE = 50_000;
+
+    private ParallelAggregator() {
+    }
+
+    public static PeriodSummary summarize(List<Transaction> transactions, ReportPeriod period) {
+        return summarize(transactions, period, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Meringkas periode dari list transaksi menggunakan pool tertentu
+     * (dipakai benchmark untuk mengukur skala 1..N core).
+     */
+    public static PeriodSummary summarize(List<Transaction> transactions, ReportPeriod period, ForkJoinPool pool) {
+        // List non-RandomAccess (mis. LinkedList) disalin agar get(i) O(1)
+        List<Transaction> source = transactions instanceof RandomAccess
+                ? transactions
+                : new ArrayList<>(transactions);
+
+        YearMonth firstMonth = YearMonth.from(period.getStart());
+        int monthCount = monthIndex(YearMonth.from(period.getEnd()), firstMonth) + 1;
+
+        AggregateTask task = new AggregateTask(source, 0, source.size(), period, firstMonth, monthCount);
+        Partial result = source.size() < SEQUENTIAL_THRESHOLD
+                ? task.compute()
+                : pool.invoke(task);
+
+        Totals totals = new Totals();
+        SortedMap<YearMonth, Totals> perMonth = new TreeMap<>();
+        SortedMap<YearMonth, CategorySketches> perMonthSketches = new TreeMap<>();
+        for (int i = 0; i < monthCount; i++) {
+            if (result.totals[i] != null && !result.totals[i].isEmpty()) {
+                YearMonth month = firstMonth.plusMonths(i);
+                perMonth.put(month, result.totals[i]);
+                perMonthSketches.put(month, result.sketches[i]);
+                totals.merge(result.totals[i]);
+            }
+        }
+        return new PeriodSummary(period, totals, perMonth, perMonthSketches);
+    }
+
+    private static int monthIndex(YearMonth month, YearMonth base) {
+        return (month.getYear() - base.getYear()) * 12 + (month.getMonthValue() - base.getMonthValue());
+    }
+
+    /**
+     * Akumulator milik satu task: total dan sketsa per bulan.
+     */
+    private static final class Partial {
+        final Totals[] totals;
+        final CategorySketches[] sketches;
+
+        Partial(int monthCount) {
+            this.totals = new Totals[monthCount];
+            this.sketches = new CategorySketches[monthCount];
+        }
+
+        void merge(Partial other) {
+            for (int i = 0; i < totals.length; i++) {
+                if (other.totals[i] == null) continue;
+                if (totals[i] == null) {
+                    totals[i] = other.totals[i];
+                    sketches[i] = other.sketches[i];
+                } else {
+                    totals[i].merge(other.totals[i]);
+                    sketches[i].merge(other.sketches[i]);
+                }
+            }
+        }
+    }
+
+    private static final class AggregateTask extends RecursiveTask<Partial> {
+        private final List<Transaction> source;
+        private final int from;
+        private final int to;
+        private final ReportPeriod period;
+        private final YearMonth firstMonth;
+        private final int monthCount;
+
+        AggregateTask(List<Transaction> source, int from, int to, ReportPeriod period,
+                      YearMonth firstMonth, int monthCount) {
+            this.source = source;
+            this.from = from;
+            this.to = to;
+            this.period = period;
+            this.firstMonth = firstMonth;
+            this.monthCount = monthCount;
+        }
+
+        @Override
+        protected Partial compute() {
+            if (to - from <= LEAF_SIZE || source.size() < SEQUENTIAL_THRESHOLD) {
+                return computeSequentially();
+            }
+
+            int mid = (from + to) >>> 1;
+            AggregateTask left = new AggregateTask(source, from, mid, period, firstMonth, monthCount);
+            AggregateTask right = new AggregateTask(source, mid, to, period, firstMonth, monthCount);
+            left.fork();
+            Partial result = right.compute();
+            // Gabungkan akumulator kedua cabang
+            result.merge(left.join());
+            return result;
+        }
+
+        private Partial computeSequentially() {
+            Partial partial = new Partial(monthCount);
+            LocalDate start = period.getStart();
+            LocalDate end = period.getEnd();
+            int baseYear = firstMonth.getYear();
+            int baseMonth = firstMonth.getMonthValue();
+
+            for (int i = from; i < to; i++) {
+                Transaction tx = source.get(i);
+                // Sama dengan agregat ledger: kaki transfer bukan pemasukan/pengeluaran
+                if (tx.isTransfer()) continue;
+                LocalDate date = tx.getDate();
+                if (date.isBefore(start) || date.isAfter(end)) continue;
+
+                int index = (date.getYear() - baseYear) * 12 + (date.getMonthValue() - baseMonth);
+                Totals bucket = partial.totals[index];
+                if (bucket == null) {
+                    bucket = new Totals();
+                    partial.totals[index] = bucket;
+                    partial.sketches[index] = new CategorySketches();
+                }
+                bucket.add(tx);
+                partial.sketches[index].add(tx);
+            }
+            return partial;
+        }
+    }
+}
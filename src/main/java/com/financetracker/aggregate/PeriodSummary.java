@@ -0,0 +1,62 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.ReportPeriod;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Ringkasan satu periode: total keseluruhan dan rincian per bulan.
+ */
+public class PeriodSummary {
+    private final ReportPeriod period;
+    private final Totals totals;
+    private final SortedMap<YearMonth, Totals> months;
+    private final SortedMap<YearMonth, CategorySketches> sketches;
+
+    public PeriodSummary(ReportPeriod period, Totals totals, SortedMap<YearMonth, Totals> months,
+                         SortedMap<YearMonth, CategorySketches> sketches) {
+        this.period = period;
+        this.totals = totals;
+        this.months = Collections.unmodifiableSortedMap(months);
+        this.sketches = Collections.unmodifiableSortedMap(sketches);
+    }
+
+    /**
+     * Potongan ringkasan untuk sub-periode yang selaras bulan, diambil dari
+     * bucket bulanan yang sudah ada (tanpa menyentuh data lagi).
+     */
+    public PeriodSummary slice(ReportPeriod subPeriod) {
+        if (!subPeriod.isMonthAligned()) {
+            throw new IllegalArgumentException("Sub-periode harus selaras bulan: " + subPeriod);
+        }
+        Totals sliceTotals = new Totals();
+        YearMonth from = YearMonth.from(subPeriod.getStart());
+        YearMonth to = YearMonth.from(subPeriod.getEnd()).plusMonths(1);
+        SortedMap<YearMonth, Totals> sliceMonths = months.subMap(from, to);
+        for (Totals month : sliceMonths.values()) {
+            sliceTotals.merge(month);
+        }
+        return new PeriodSummary(subPeriod, sliceTotals, new TreeMap<>(sliceMonths),
+                new TreeMap<>(sketches.subMap(from, to)));
+    }
+
+    /**
+     * Sketsa distribusi seluruh periode per kategori (gabungan semua bulan).
+     */
+    public CategorySketches mergedSketches() {
+        CategorySketches merged = new CategorySketches();
+        for (CategorySketches month : sketches.values()) {
+            merged.merge(month);
+        }
+        return merged;
+    }
+
+    // Getters
+    public ReportPeriod getPeriod() { return period; }
+    public Totals getTotals() { return totals; }
+    public SortedMap<YearMonth, Totals> getMonths() { return months; }
+    public SortedMap<YearMonth, CategorySketches> getSketches() { return sketches; }
+}
@@ -0,0 +1,27 @@
+package com.financetracker.aggregate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bentuk persisten sketsa distribusi (disimpan bersama snapshot transaksi).
+ * Sidik jari (jumlah, total sen, hash ID + tanggal + tipe + kategori) dipakai
+ * saat startup untuk memastikan sketsa masih cocok dengan isi snapshot
+ * transaksi. File lama tanpa field format terbaca sebagai format 0 dan tidak dipakai.
+ */
+public class SketchSnapshot {
+    /** Format kunci months dan sidik jari; snapshot format lama dibangun ulang */
+    static final int CURRENT_FORMAT = 3;
+
+    int format = CURRENT_FORMAT;
+    long count;
+    long amountCents;
+    long idHash;
+
+    /** Kunci "yyyy-MM/TIPE/KATEGORI" → AmountHistogram.toSparseArray() */
+    Map<String, long[]> months = new HashMap<>();
+
+    boolean matches(long count, long amountCents, long idHash) {
+        return format == CURRENT_FORMAT && this.count == count && this.amountCents == amountCents && this.idHash == idHash;
+    }
+}
@@ -0,0 +1,85 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Transaction;
+
+import java.time.format.TextStyle;
+import java.util.Locale;
+
+/**
+ * Satu kejadian pengeluaran tidak wajar yang ditemukan SpendingAnomalyDetector.
+ */
+public class SpendingAnomaly {
+
+    public enum Kind {
+        /** Nominal satu transaksi jauh di atas kebiasaan kategorinya */
+        UNUSUAL_AMOUNT,
+        /** Total pengeluaran kategori pada hari itu jauh di atas kebiasaan hari yang sama */
+        UNUSUAL_DAILY_TOTAL,
+        /** Transaksi identik (tanggal, kategori, nominal) berulang beberapa kali */
+        REPEATED_ENTRY
+    }
+
+    private static final Locale INDONESIAN = new Locale("id", "ID");
+
+    private final Kind kind;
+    private final Transaction transaction;
+    private final double observed;
+    private final double expected;
+    private final double score;
+
+    public SpendingAnomaly(Kind kind, Transaction transaction, double observed, double expected, double score) {
+        this.kind = kind;
+        this.transaction = transaction;
+        this.observed = observed;
+        this.expected = expected;
+        this.score = score;
+    }
+
+    public Kind getKind() { return kind; }
+    public Transaction getTransaction() { return transaction; }
+    /** Nilai yang teramati (nominal, total harian, atau jumlah pengulangan) */
+    public double getObserved() { return observed; }
+    /** Nilai yang biasanya (baseline); 0 untuk REPEATED_ENTRY */
+    public double getExpected() { return expected; }
+    /** Skor penyimpangan (z-score di ruang log, atau jumlah pengulangan) */
+    public double getScore() { return score; }
+
+    /**
+     * Pesan untuk rantai BudgetObserver.
+     */
+    public String toMessage() {
+        Transaction tx = transaction;
+        switch (kind) {
+            case UNUSUAL_AMOUNT:
+                return String.format(
+                        "⚠️ PENGELUARAN TIDAK BIASA!\n\n" +
+                        "%s (%s, %s): Rp %,.2f\n" +
+                        "Biasanya sekitar: Rp %,.2f",
+                        tx.getDescription(), tx.getCategory(), tx.getDate(), observed, expected);
+            case UNUSUAL_DAILY_TOTAL:
+                return String.format(
+                        "⚠️ PENGELUARAN HARIAN TIDAK BIASA!\n\n" +
+                        "Total %s pada %s (%s): Rp %,.2f\n" +
+                        "Biasanya sekitar: Rp %,.2f",
+                        tx.getCategory(), tx.getDate(),
+                        tx.getDate().getDayOfWeek().getDisplayName(TextStyle.FULL, INDONESIAN),
+                        observed, expected);
+            default:
+                return String.format(
+                        "⚠️ TRANSAKSI BERULANG!\n\n" +
+                        "%s (%s, %s): Rp %,.2f tercatat %d kali pada hari yang sama.",
+                        tx.getDescription(), tx.getCategory(), tx.getDate(), tx.getAmount(), (long) observed);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpendingAnomaly{" +
+                "kind=" + kind +
+                ", transaction=" + transaction.getId() +
+                ", observed=" + observed +
+                ", expected=" + expected +
+                ", score=" + score +
+                '}';
+    }
+}
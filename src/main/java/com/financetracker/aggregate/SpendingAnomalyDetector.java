@@ -0,0 +1,190 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Detektor pengeluaran tidak wajar secara streaming.
+ *
+ * Untuk setiap kategori pengeluaran disimpan EWMA rata-rata/varians nominal
+ * (di ruang log, karena nominal rupiah condong ke kanan), baseline per hari
+ * dalam seminggu untuk nominal dan total harian, serta deteksi transaksi
+ * identik yang berulang di hari yang sama. Semua state berupa array
+ * berukuran tetap (kategori × 7 hari), sehingga memori konstan dan biaya
+ * per transaksi O(1) — aman dipakai saat impor massal.
+ *
+ * Transaksi dinilai dulu terhadap baseline, baru kemudian dimasukkan ke
+ * baseline. Penghapusan tidak mengoreksi EWMA (baseline sengaja "pelupa").
+ */
+public class SpendingAnomalyDetector {
+
+    /** Bobot sampel terbaru pada EWMA */
+    private static final double ALPHA = 0.1;
+
+    /** Batas z-score (satu sisi, hanya nominal yang lebih besar) */
+    private static final double Z_THRESHOLD = 3.0;
+
+    /** Simpangan baku minimum di ruang log (≈ ±28%) agar nominal seragam tidak membuat z meledak */
+    private static final double MIN_STDDEV = 0.25;
+
+    /** Sampel minimum sebelum baseline nominal dipercaya */
+    private static final int MIN_SAMPLES = 8;
+
+    /** Hari minimum sebelum baseline total harian dipercaya */
+    private static final int MIN_DAYS = 4;
+
+    /** Jumlah transaksi identik di hari yang sama yang dianggap janggal */
+    private static final int REPEAT_THRESHOLD = 3;
+
+    private static final int CATEGORIES = Category.values().length;
+    private static final int DAYS_OF_WEEK = 7;
+
+    private final Ewma[] amountByCategory = new Ewma[CATEGORIES];
+    private final Ewma[][] amountByDayOfWeek = new Ewma[CATEGORIES][DAYS_OF_WEEK];
+    private final Ewma[][] dailyTotalByDayOfWeek = new Ewma[CATEGORIES][DAYS_OF_WEEK];
+
+    // Hari "terbuka" per kategori: total berjalan yang belum masuk baseline harian
+    private final LocalDate[] openDay = new LocalDate[CATEGORIES];
+    private final double[] openDayTotal = new double[CATEGORIES];
+    private final boolean[] openDayFlagged = new boolean[CATEGORIES];
+
+    // Transaksi identik terakhir per kategori
+    private final LocalDate[] lastDate = new LocalDate[CATEGORIES];
+    private final double[] lastAmount = new double[CATEGORIES];
+    private final int[] repeatRun = new int[CATEGORIES];
+
+    public SpendingAnomalyDetector() {
+        for (int c = 0; c < CATEGORIES; c++) {
+            amountByCategory[c] = new Ewma();
+            for (int d = 0; d < DAYS_OF_WEEK; d++) {
+                amountByDayOfWeek[c][d] = new Ewma();
+                dailyTotalByDayOfWeek[c][d] = new Ewma();
+            }
+        }
+    }
+
+    /**
+     * Membangun baseline dari riwayat (urut tanggal) tanpa melaporkan anomali.
+     */
+    public static SpendingAnomalyDetector warmedUp(Collection<Transaction> history) {
+        SpendingAnomalyDetector detector = new SpendingAnomalyDetector();
+        List<Transaction> ordered = new ArrayList<>(history);
+        ordered.sort(Comparator.comparing(Transaction::getDate));
+        for (Transaction tx : ordered) {
+            detector.observe(tx);
+        }
+        return detector;
+    }
+
+    /**
+     * Menilai satu transaksi baru lalu memasukkannya ke baseline.
+     * Mengembalikan anomali yang ditemukan (biasanya list kosong).
+     */
+    public List<SpendingAnomaly> observe(Transaction tx) {
+        if (tx.getType() != TransactionType.EXPENSE || tx.getAmount() <= 0) {
+            return Collections.emptyList();
+        }
+        int c = tx.getCategory().ordinal();
+        int d = tx.getDate().getDayOfWeek().getValue() - 1;
+        double amount = tx.getAmount();
+        double logAmount = Math.log(amount);
+        List<SpendingAnomaly> anomalies = null;
+
+        // 1. Nominal dibanding kebiasaan kategori (baseline hari yang sama bila cukup data)
+        Ewma baseline = amountByDayOfWeek[c][d].count >= MIN_SAMPLES
+                ? amountByDayOfWeek[c][d] : amountByCategory[c];
+        if (baseline.count >= MIN_SAMPLES) {
+            double z = baseline.zScore(logAmount);
+            if (z > Z_THRESHOLD) {
+                anomalies = append(anomalies, new SpendingAnomaly(SpendingAnomaly.Kind.UNUSUAL_AMOUNT,
+                        tx, amount, Math.exp(baseline.mean), z));
+            }
+        }
+        amountByCategory[c].update(logAmount);
+        amountByDayOfWeek[c][d].update(logAmount);
+
+        // 2. Total harian kategori dibanding kebiasaan hari yang sama
+        SpendingAnomaly daily = observeDailyTotal(tx, c, d, amount);
+        if (daily != null) anomalies = append(anomalies, daily);
+
+        // 3. Transaksi identik berulang
+        if (tx.getDate().equals(lastDate[c]) && amount == lastAmount[c]) {
+            repeatRun[c]++;
+        } else {
+            lastDate[c] = tx.getDate();
+            lastAmount[c] = amount;
+            repeatRun[c] = 1;
+        }
+        if (repeatRun[c] == REPEAT_THRESHOLD) {
+            anomalies = append(anomalies, new SpendingAnomaly(SpendingAnomaly.Kind.REPEATED_ENTRY,
+                    tx, repeatRun[c], 0, repeatRun[c]));
+        }
+
+        return anomalies != null ? anomalies : Collections.emptyList();
+    }
+
+    private SpendingAnomaly observeDailyTotal(Transaction tx, int c, int d, double amount) {
+        LocalDate date = tx.getDate();
+        LocalDate open = openDay[c];
+        if (open != null && date.isBefore(open)) {
+            // Transaksi mundur (impor tak berurutan): hanya dihitung di baseline nominal
+            return null;
+        }
+        if (open == null || date.isAfter(open)) {
+            if (open != null) {
+                dailyTotalByDayOfWeek[c][open.getDayOfWeek().getValue() - 1].update(Math.log(openDayTotal[c]));
+            }
+            openDay[c] = date;
+            openDayTotal[c] = 0;
+            openDayFlagged[c] = false;
+        }
+        openDayTotal[c] += amount;
+
+        Ewma baseline = dailyTotalByDayOfWeek[c][d];
+        if (openDayFlagged[c] || baseline.count < MIN_DAYS) return null;
+        double z = baseline.zScore(Math.log(openDayTotal[c]));
+        if (z <= Z_THRESHOLD) return null;
+
+        openDayFlagged[c] = true;
+        return new SpendingAnomaly(SpendingAnomaly.Kind.UNUSUAL_DAILY_TOTAL,
+                tx, openDayTotal[c], Math.exp(baseline.mean), z);
+    }
+
+    private static List<SpendingAnomaly> append(List<SpendingAnomaly> list, SpendingAnomaly anomaly) {
+        if (list == null) list = new ArrayList<>(2);
+        list.add(anomaly);
+        return list;
+    }
+
+    /**
+     * Rata-rata dan varians bergerak eksponensial.
+     */
+    private static final class Ewma {
+        private long count;
+        private double mean;
+        private double variance;
+
+        void update(double x) {
+            if (count++ == 0) {
+                mean = x;
+                return;
+            }
+            double diff = x - mean;
+            double increment = ALPHA * diff;
+            mean += increment;
+            variance = (1 - ALPHA) * (variance + diff * increment);
+        }
+
+        double zScore(double x) {
+            return (x - mean) / Math.max(MIN_STDDEV, Math.sqrt(variance));
+        }
+    }
+}
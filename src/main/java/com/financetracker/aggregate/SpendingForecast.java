@@ -0,0 +1,44 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Proyeksi pengeluaran akhir bulan per kategori (hasil MonthEndForecaster).
+ */
+public class SpendingForecast {
+
+    private final YearMonth month;
+    private final LocalDate asOf;
+    private final double spentSoFar;
+    private final double projectedTotal;
+    private final double pendingRecurring;
+    private final double[] projectedByCategory;
+
+    SpendingForecast(YearMonth month, LocalDate asOf, double spentSoFar,
+                     double pendingRecurring, double[] projectedByCategory) {
+        this.month = month;
+        this.asOf = asOf;
+        this.spentSoFar = spentSoFar;
+        this.pendingRecurring = pendingRecurring;
+        this.projectedByCategory = projectedByCategory;
+        double total = 0;
+        for (double value : projectedByCategory) total += value;
+        this.projectedTotal = total;
+    }
+
+    public YearMonth getMonth() { return month; }
+    public LocalDate getAsOf() { return asOf; }
+    /** Pengeluaran aktual bulan ini sampai tanggal asOf */
+    public double getSpentSoFar() { return spentSoFar; }
+    /** Proyeksi total pengeluaran sampai akhir bulan */
+    public double getProjectedTotal() { return projectedTotal; }
+    /** Bagian proyeksi yang berasal dari transaksi rutin yang belum tercatat bulan ini */
+    public double getPendingRecurring() { return pendingRecurring; }
+
+    public double getProjected(Category category) {
+        return projectedByCategory[category.ordinal()];
+    }
+}
@@ -0,0 +1,69 @@
+package com.financetracker.aggregate;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+/**
+ * Akumulator total untuk satu bucket (hari, bulan, atau periode).
+ * Menyimpan pemasukan/pengeluaran total dan per kategori dalam array primitif
+ * (diindeks dengan ordinal Category) agar murah digabung dan disalin.
+ */
+public class Totals {
+    private static final int CATEGORY_COUNT = Category.values().length;
+
+    private double income;
+    private double expense;
+    private int count;
+    private final double[] incomeByCategory = new double[CATEGORY_COUNT];
+    private final double[] expenseByCategory = new double[CATEGORY_COUNT];
+
+    public void add(Transaction tx) {
+        apply(tx, 1);
+    }
+
+    public void remove(Transaction tx) {
+        apply(tx, -1);
+    }
+
+    private void apply(Transaction tx, int sign) {
+        double amount = sign * tx.getAmount();
+        int cat = tx.getCategory().ordinal();
+        if (tx.getType() == TransactionType.INCOME) {
+            income += amount;
+            incomeByCategory[cat] += amount;
+        } else {
+            expense += amount;
+            expenseByCategory[cat] += amount;
+        }
+        count += sign;
+    }
+
+    /**
+     * Menambahkan isi bucket lain ke bucket ini.
+     */
+    public void merge(Totals other) {
+        income += other.income;
+        expense += other.expense;
+        count += other.count;
+        for (int i = 0; i < CATEGORY_COUNT; i++) {
+            incomeByCategory[i] += other.incomeByCategory[i];
+            expenseByCategory[i] += other.expenseByCategory[i];
+        }
+    }
+
+    // Getters
+    public double getIncome() { return income; }
+    public double getExpense() { return expense; }
+    public double getNet() { return income - expense; }
+    public int getCount() { return count; }
+    public boolean isEmpty() { return count == 0; }
+
+    public double getIncome(Category category) {
+        return incomeByCategory[category.ordinal()];
+    }
+
+    public double getExpense(Category category) {
+        return expenseByCategory[category.ordinal()];
+    }
+}
@@ -0,0 +1,49 @@
+package com.financetracker.event;
+
+import com.financetracker.model.Category;
+
+/**
+ * Pengeluaran melewati salah satu ambang budget (mis. 50/80/100%).
+ */
+public class BudgetThresholdEvent extends NotificationEvent {
+
+    private final Category category;
+    private final int threshold;
+    private final double spending;
+    private final double limit;
+
+    /**
+     * @param category kategori budget, atau null untuk budget total
+     */
+    public BudgetThresholdEvent(Category category, int threshold, double spending, double limit) {
+        this.category = category;
+        this.threshold = threshold;
+        this.spending = spending;
+        this.limit = limit;
+    }
+
+    /** Kategori budget; null untuk budget total */
+    public Category getCategory() { return category; }
+    public int getThreshold() { return threshold; }
+    public double getSpending() { return spending; }
+    public double getLimit() { return limit; }
+
+    @Override
+    public String getMessage() {
+        String scope = category == null ? "" : " " + category;
+        if (threshold >= 100) {
+            return String.format(
+                    "⚠️ BUDGET WARNING!\n\n" +
+                    "Pengeluaran%s bulan ini: Rp %,.2f\n" +
+                    "Budget Anda: Rp %,.2f\n\n" +
+                    "Pengeluaran telah melampaui batas!",
+                    scope, spending, limit);
+        }
+        return String.format(
+                "⚠️ BUDGET %d%%\n\n" +
+                "Pengeluaran%s bulan ini: Rp %,.2f\n" +
+                "Budget Anda: Rp %,.2f\n\n" +
+                "Pengeluaran telah mencapai %d%% dari budget.",
+                threshold, scope, spending, limit, threshold);
+    }
+}
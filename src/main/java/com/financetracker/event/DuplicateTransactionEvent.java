@@ -0,0 +1,36 @@
+package com.financetracker.event;
+
+import com.financetracker.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Transaksi disimpan tetapi sidik jarinya sama dengan transaksi yang sudah tercatat
+ * (DuplicatePolicy.FLAG).
+ */
+public class DuplicateTransactionEvent extends NotificationEvent {
+
+    private final List<Transaction> flagged;
+
+    public DuplicateTransactionEvent(List<Transaction> flagged) {
+        this.flagged = List.copyOf(flagged);
+    }
+
+    public List<Transaction> getFlagged() { return flagged; }
+
+    @Override
+    public String getMessage() {
+        if (flagged.size() == 1) {
+            Transaction tx = flagged.get(0);
+            return String.format(
+                    "⚠️ KEMUNGKINAN DUPLIKAT!\n\n" +
+                    "%s (%s, %s): Rp %,.2f\n" +
+                    "Transaksi yang sama sudah tercatat sebelumnya.",
+                    tx.getDescription(), tx.getCategory(), tx.getDate(), tx.getAmount());
+        }
+        return String.format(
+                "⚠️ KEMUNGKINAN DUPLIKAT!\n\n" +
+                "%d transaksi yang diimpor sudah tercatat sebelumnya.",
+                flagged.size());
+    }
+}
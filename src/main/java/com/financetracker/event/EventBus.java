@@ -0,0 +1,257 @@
+package com.financetracker.event;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Event bus asinkron bertipe.
+ *
+ * - publish() tidak pernah menjalankan subscriber dan tidak pernah menunggu:
+ *   event hanya dimasukkan ke kotak surat (mailbox) tiap subscriber yang cocok.
+ * - Secara default mailbox tidak membuang event: event perubahan yang
+ *   membangun state inkremental (perubahan ledger, ambang budget) harus
+ *   diterima semua. Backlog yang melewati BACKLOG_WARNING dicatat sekali
+ *   per subscriber ke System.err. Agar subscriber yang macet tidak
+ *   menghabiskan heap, backlog dibatasi MAX_BACKLOG: bila terlampaui event
+ *   tertua dibuang, dihitung, dan langganannya ditandai perlu sinkron ulang
+ *   (Subscription.needsResync()).
+ * - Subscriber yang hanya butuh sinyal "ada perubahan" (mis. grafik yang
+ *   membaca ulang agregat) bisa memilih subscribeDropOldest: mailbox
+ *   berkapasitas terbatas, event tertua dibuang bila penuh (backpressure
+ *   tanpa menahan penulis) dan dicatat di getDroppedCount().
+ * - Mailbox dikuras oleh pool thread daemon berukuran tetap. Paling banyak
+ *   satu job pengurasan per subscriber berjalan/antre, sehingga event untuk
+ *   satu subscriber selalu diterima berurutan dan antrean executor tidak
+ *   pernah lebih dari jumlah subscriber.
+ * - Setelah shutdown(), event yang masih tersisa dikirim langsung di thread
+ *   pemanggil; yang tetap belum terkirim saat batas waktu habis dicatat.
+ */
+public class EventBus {
+
+    /** Backlog mailbox lossless yang dianggap tanda subscriber terlalu lambat */
+    public static final int BACKLOG_WARNING = 1024;
+    /** Batas keras backlog mailbox lossless */
+    public static final int MAX_BACKLOG = 65_536;
+    /** Kapasitas yang cukup untuk subscriber subscribeDropOldest yang hanya butuh sinyal perubahan */
+    public static final int SIGNAL_MAILBOX_CAPACITY = 16;
+    private static final int DEFAULT_THREADS = 2;
+
+    /** Event per giliran pengurasan; sisanya dijadwalkan ulang agar subscriber lain kebagian */
+    private static final int DRAIN_BATCH = 64;
+
+    private final List<Mailbox<?>> mailboxes = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor;
+    private final AtomicLong dropped = new AtomicLong();
+
+    public EventBus() {
+        this(DEFAULT_THREADS);
+    }
+
+    public EventBus(int threads) {
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads());
+    }
+
+    /**
+     * Mendaftarkan subscriber untuk event bertipe type (termasuk subkelasnya).
+     * Tidak ada event yang dibuang (lossless).
+     */
+    public <E extends FinanceEvent> Subscription subscribe(Class<E> type, EventSubscriber<? super E> subscriber) {
+        return register(new Mailbox<>(type, subscriber, MAX_BACKLOG));
+    }
+
+    /**
+     * Seperti subscribe, tetapi mailbox dibatasi mailboxCapacity dan event
+     * tertua dibuang bila penuh. Hanya untuk subscriber yang tidak bergantung
+     * pada setiap event (mis. cukup memicu pembacaan ulang).
+     */
+    public <E extends FinanceEvent> Subscription subscribeDropOldest(Class<E> type, EventSubscriber<? super E> subscriber,
+                                                                     int mailboxCapacity) {
+        if (mailboxCapacity <= 0)
+            throw new IllegalArgumentException("Kapasitas mailbox harus lebih dari 0.");
+        return register(new Mailbox<>(type, subscriber, mailboxCapacity));
+    }
+
+    private Subscription register(Mailbox<?> mailbox) {
+        mailboxes.add(mailbox);
+        return new Subscription() {
+            @Override
+            public void cancel() {
+                mailboxes.remove(mailbox);
+            }
+
+            @Override
+            public boolean needsResync() {
+                return mailbox.takeOverflow();
+            }
+        };
+    }
+
+    /**
+     * Mengirim event ke semua subscriber yang cocok. Tidak pernah memblokir.
+     */
+    public void publish(FinanceEvent event) {
+        for (Mailbox<?> mailbox : mailboxes) {
+            if (mailbox.accepts(event)) {
+                mailbox.offer(event);
+            }
+        }
+    }
+
+    /**
+     * Jumlah event yang dibuang karena mailbox penuh (kapasitas
+     * subscribeDropOldest atau MAX_BACKLOG).
+     */
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Menghentikan bus; event yang sudah antre diberi waktu singkat untuk terkirim.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                int pending = 0;
+                for (Mailbox<?> mailbox : mailboxes) pending += mailbox.pending();
+                System.err.println("EventBus: " + pending + " event belum terkirim saat ditutup.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "event-bus-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Token untuk berhenti berlangganan.
+     */
+    @FunctionalInterface
+    public interface Subscription {
+        void cancel();
+
+        /**
+         * true bila ada event yang dibuang sejak pemanggilan terakhir; state
+         * turunan subscriber perlu dibangun ulang dari sumbernya.
+         */
+        default boolean needsResync() {
+            return false;
+        }
+    }
+
+    private final class Mailbox<E extends FinanceEvent> implements Runnable {
+        private final Class<E> type;
+        private final EventSubscriber<? super E> subscriber;
+        private final int capacity;
+        private final ArrayDeque<E> queue = new ArrayDeque<>();
+        /** Dijaga oleh lock pada queue */
+        private boolean scheduled;
+        private boolean warned;
+        private boolean overflowed;
+
+        Mailbox(Class<E> type, EventSubscriber<? super E> subscriber, int capacity) {
+            this.type = type;
+            this.subscriber = subscriber;
+            this.capacity = capacity;
+        }
+
+        boolean accepts(FinanceEvent event) {
+            return type.isInstance(event);
+        }
+
+        void offer(FinanceEvent event) {
+            boolean schedule;
+            synchronized (queue) {
+                if (queue.size() >= capacity) {
+                    queue.pollFirst();
+                    dropped.incrementAndGet();
+                    if (!overflowed) {
+                        overflowed = true;
+                        System.err.println("EventBus: subscriber " + type.getSimpleName()
+                                + " lambat, event lama dibuang.");
+                    }
+                } else if (queue.size() >= BACKLOG_WARNING && !warned) {
+                    warned = true;
+                    System.err.println("EventBus: subscriber " + type.getSimpleName()
+                            + " lambat, backlog " + queue.size() + " event.");
+                }
+                queue.addLast(type.cast(event));
+                schedule = !scheduled;
+                scheduled = true;
+            }
+            if (schedule) submit();
+        }
+
+        boolean takeOverflow() {
+            synchronized (queue) {
+                boolean result = overflowed;
+                overflowed = false;
+                return result;
+            }
+        }
+
+        int pending() {
+            synchronized (queue) {
+                return queue.size();
+            }
+        }
+
+        private void submit() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Bus sudah dimatikan: sisa event dikirim langsung di thread ini
+                // (scheduled tetap true, jadi event yang masuk selama itu ikut terkuras)
+                while (deliverNext()) {
+                    // lanjut sampai mailbox kosong
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                if (!deliverNext()) return;
+            }
+            // Masih ada sisa: antre ulang di belakang subscriber lain, urutan tetap terjaga
+            submit();
+        }
+
+        /**
+         * Mengirim satu event; false (dan jadwal dilepas) bila mailbox kosong.
+         */
+        private boolean deliverNext() {
+            E event;
+            synchronized (queue) {
+                event = queue.pollFirst();
+                if (event == null) {
+                    scheduled = false;
+                    return false;
+                }
+            }
+            try {
+                subscriber.onEvent(event);
+            } catch (RuntimeException e) {
+                System.err.println("EventBus: subscriber gagal memproses event: " + e.getMessage());
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.financetracker.event;
+
+/**
+ * Penerima event bertipe E. Dipanggil di thread EventBus, tidak pernah di
+ * thread penulis; event untuk satu subscriber diterima berurutan.
+ */
+@FunctionalInterface
+public interface EventSubscriber<E extends FinanceEvent> {
+    void onEvent(E event);
+}
@@ -0,0 +1,15 @@
+package com.financetracker.event;
+
+import java.time.Instant;
+
+/**
+ * Event dasar yang dikirim lewat EventBus.
+ */
+public abstract class FinanceEvent {
+
+    private final Instant occurredAt = Instant.now();
+
+    public Instant getOccurredAt() {
+        return occurredAt;
+    }
+}
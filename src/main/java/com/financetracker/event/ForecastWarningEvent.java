@@ -0,0 +1,31 @@
+package com.financetracker.event;
+
+import com.financetracker.aggregate.SpendingForecast;
+
+/**
+ * Proyeksi akhir bulan melampaui budget total sebelum budget benar-benar terlampaui.
+ */
+public class ForecastWarningEvent extends NotificationEvent {
+
+    private final SpendingForecast forecast;
+    private final double budget;
+
+    public ForecastWarningEvent(SpendingForecast forecast, double budget) {
+        this.forecast = forecast;
+        this.budget = budget;
+    }
+
+    public SpendingForecast getForecast() { return forecast; }
+    public double getBudget() { return budget; }
+
+    @Override
+    public String getMessage() {
+        return String.format(
+                "⚠️ PERINGATAN DINI BUDGET!\n\n" +
+                "Pengeluaran bulan ini: Rp %,.2f\n" +
+                "Proyeksi akhir bulan: Rp %,.2f\n" +
+                "Budget Anda: Rp %,.2f\n\n" +
+                "Dengan laju saat ini, budget akan terlampaui.",
+                forecast.getSpentSoFar(), forecast.getProjectedTotal(), budget);
+    }
+}
@@ -0,0 +1,17 @@
+package com.financetracker.event;
+
+/**
+ * Perubahan isi ledger (tambah/hapus transaksi) pada versi data tertentu.
+ * Berlangganan ke tipe ini memberi satu mailbox sehingga penambahan dan
+ * penghapusan diterima dalam urutan terjadinya.
+ */
+public abstract class LedgerChangeEvent extends FinanceEvent {
+
+    private final long dataVersion;
+
+    protected LedgerChangeEvent(long dataVersion) {
+        this.dataVersion = dataVersion;
+    }
+
+    public long getDataVersion() { return dataVersion; }
+}
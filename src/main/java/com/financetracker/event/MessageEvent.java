@@ -0,0 +1,18 @@
+package com.financetracker.event;
+
+/**
+ * Notifikasi teks bebas (dipakai oleh BudgetSubject.notifyObservers).
+ */
+public class MessageEvent extends NotificationEvent {
+
+    private final String message;
+
+    public MessageEvent(String message) {
+        this.message = message;
+    }
+
+    @Override
+    public String getMessage() {
+        return message;
+    }
+}
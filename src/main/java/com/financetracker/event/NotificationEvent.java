@@ -0,0 +1,12 @@
+package com.financetracker.event;
+
+/**
+ * Event yang perlu diteruskan ke pengguna (log notifikasi, BudgetObserver).
+ */
+public abstract class NotificationEvent extends FinanceEvent {
+
+    /**
+     * Pesan siap tampil untuk pengguna.
+     */
+    public abstract String getMessage();
+}
@@ -0,0 +1,20 @@
+package com.financetracker.event;
+
+/**
+ * Snapshot transaksi (beserta sketsa distribusi) telah ditulis ke penyimpanan.
+ * Dikirim setiap TransactionJournal.SNAPSHOT_INTERVAL mutasi; mutasi di
+ * antaranya hanya ditambahkan ke jurnal.
+ */
+public class SnapshotSavedEvent extends FinanceEvent {
+
+    private final long dataVersion;
+    private final int transactionCount;
+
+    public SnapshotSavedEvent(long dataVersion, int transactionCount) {
+        this.dataVersion = dataVersion;
+        this.transactionCount = transactionCount;
+    }
+
+    public long getDataVersion() { return dataVersion; }
+    public int getTransactionCount() { return transactionCount; }
+}
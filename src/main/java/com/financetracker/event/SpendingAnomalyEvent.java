@@ -0,0 +1,22 @@
+package com.financetracker.event;
+
+import com.financetracker.aggregate.SpendingAnomaly;
+
+/**
+ * Pengeluaran tidak wajar terdeteksi saat transaksi ditambahkan.
+ */
+public class SpendingAnomalyEvent extends NotificationEvent {
+
+    private final SpendingAnomaly anomaly;
+
+    public SpendingAnomalyEvent(SpendingAnomaly anomaly) {
+        this.anomaly = anomaly;
+    }
+
+    public SpendingAnomaly getAnomaly() { return anomaly; }
+
+    @Override
+    public String getMessage() {
+        return anomaly.toMessage();
+    }
+}
@@ -0,0 +1,22 @@
+package com.financetracker.event;
+
+import com.financetracker.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Satu atau beberapa transaksi (batch) telah ditambahkan ke ledger.
+ * Event ini dikirim setelah mutasi tercatat di jurnal; snapshot ditandai
+ * terpisah oleh SnapshotSavedEvent.
+ */
+public class TransactionsAddedEvent extends LedgerChangeEvent {
+
+    private final List<Transaction> transactions;
+
+    public TransactionsAddedEvent(List<Transaction> transactions, long dataVersion) {
+        super(dataVersion);
+        this.transactions = List.copyOf(transactions);
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+}
@@ -0,0 +1,21 @@
+package com.financetracker.event;
+
+import com.financetracker.model.Transaction;
+
+import java.util.List;
+
+/**
+ * Satu atau beberapa transaksi (batch) telah dihapus dari ledger, mis. hapus
+ * massal dari tabel atau kaki-kaki sebuah transfer. Satu mutasi = satu event.
+ */
+public class TransactionsDeletedEvent extends LedgerChangeEvent {
+
+    private final List<Transaction> transactions;
+
+    public TransactionsDeletedEvent(List<Transaction> transactions, long dataVersion) {
+        super(dataVersion);
+        this.transactions = List.copyOf(transactions);
+    }
+
+    public List<Transaction> getTransactions() { return transactions; }
+}
@@ -5,6 +5,7 @@ import com.financetracker.model.Transaction;
 import com.financetracker.model.TransactionType;
 
 import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -25,11 +26,56 @@ public class TransactionFactory {
      * @return Objek Transaction yang baru dibuat
      */
     public static Transaction createTransaction(LocalDate date, String description, double amount, TransactionType type, Category category) {
+        return createTransaction(date, description, amount, type, category, Transaction.DEFAULT_ACCOUNT);
+    }
+
+    /**
+     * Membuat objek Transaction baru pada akun tertentu.
+     */
+    public static Transaction createTransaction(LocalDate date, String description, double amount, TransactionType type,
+                                                Category category, String account) {
         if (date == null || description == null || description.trim().isEmpty() || amount <= 0 || type == null || category == null) {
             throw new IllegalArgumentException("Input untuk transaksi tidak valid.");
         }
 
         String id = UUID.randomUUID().toString();
-        return new Transaction(id, date, description, amount, type, category);
+        return new Transaction(id, date, description, amount, type, category, normalizeAccount(account), null);
+    }
+
+    /**
+     * Membuat dua kaki transfer antar akun: pengeluaran di akun asal dan
+     * pemasukan di akun tujuan, dengan transferId yang sama.
+     *
+     * @return [kaki keluar, kaki masuk]
+     */
+    public static List<Transaction> createTransfer(LocalDate date, String description, double amount,
+                                                   String fromAccount, String toAccount) {
+        String from = normalizeAccount(fromAccount);
+        String to = normalizeAccount(toAccount);
+        if (date == null || amount <= 0) {
+            throw new IllegalArgumentException("Input untuk transfer tidak valid.");
+        }
+        if (from.equals(to)) {
+            throw new IllegalArgumentException("Akun asal dan tujuan transfer harus berbeda.");
+        }
+
+        String transferId = UUID.randomUUID().toString();
+        String desc = description == null || description.trim().isEmpty()
+                ? "Transfer " + from + " ke " + to : description.trim();
+        List<String> ids = transferLegIds(transferId);
+        return List.of(
+                new Transaction(ids.get(0), date, desc, amount, TransactionType.EXPENSE, Category.LAINNYA, from, transferId),
+                new Transaction(ids.get(1), date, desc, amount, TransactionType.INCOME, Category.LAINNYA, to, transferId));
+    }
+
+    /**
+     * ID kedua kaki transfer (deterministik dari transferId).
+     */
+    public static List<String> transferLegIds(String transferId) {
+        return List.of(transferId + "-out", transferId + "-in");
+    }
+
+    private static String normalizeAccount(String account) {
+        return account == null || account.trim().isEmpty() ? Transaction.DEFAULT_ACCOUNT : account.trim();
     }
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+package com.financetracker.model;
+
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Seluruh pengaturan budget yang dipersist ke data/budgets.json:
+ * budget total bulanan, budget per kategori, dan status ambang bulan berjalan.
+ */
+public class BudgetSettings {
+
+    /** Bulan yang status picunya tersimpan (format yyyy-MM) */
+    private String month;
+    private CategoryBudget overall;
+    /** Dikunci dengan nama enum (bukan nama tampilan) agar stabil di file */
+    private Map<String, CategoryBudget> categories = new TreeMap<>();
+
+    public BudgetSettings(double overallLimit) {
+        this.overall = new CategoryBudget(overallLimit);
+    }
+
+    public CategoryBudget getOverall() { return overall; }
+
+    public void setOverall(CategoryBudget overall) { this.overall = overall; }
+
+    /**
+     * Budget kategori; null jika kategori tersebut tidak dibatasi.
+     */
+    public CategoryBudget getCategoryBudget(Category category) {
+        return categories.get(category.name());
+    }
+
+    public void setCategoryBudget(Category category, CategoryBudget budget) {
+        if (budget == null) categories.remove(category.name());
+        else categories.put(category.name(), budget);
+    }
+
+    public Map<Category, CategoryBudget> getCategoryBudgets() {
+        Map<Category, CategoryBudget> result = new EnumMap<>(Category.class);
+        for (Map.Entry<String, CategoryBudget> entry : categories.entrySet()) {
+            result.put(Category.valueOf(entry.getKey()), entry.getValue());
+        }
+        return result;
+    }
+
+    public YearMonth getMonth() {
+        return month == null ? null : YearMonth.parse(month);
+    }
+
+    public void setMonth(YearMonth month) {
+        this.month = month.toString();
+    }
+
+    /**
+     * Memastikan data hasil baca file lengkap dan konsisten.
+     */
+    public void normalize() {
+        if (overall == null) overall = new CategoryBudget(0);
+        overall.normalize();
+        Map<String, CategoryBudget> copy = new TreeMap<>();
+        if (categories != null) {
+            for (Map.Entry<String, CategoryBudget> entry : categories.entrySet()) {
+                if (entry.getValue() == null || !isCategoryName(entry.getKey())) continue;
+                entry.getValue().normalize();
+                copy.put(entry.getKey(), entry.getValue());
+            }
+        }
+        categories = copy;
+    }
+
+    private static boolean isCategoryName(String name) {
+        for (Category category : Category.values()) {
+            if (category.name().equals(name)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,70 @@
+package com.financetracker.model;
+
+import java.util.Arrays;
+
+/**
+ * Budget bulanan untuk satu cakupan (total atau satu kategori) beserta
+ * ambang peringatannya (persen) dan status picu tiap ambang.
+ *
+ * triggered[i] bernilai true setelah peringatan ambang ke-i dikirim, dan baru
+ * kembali false (siap memicu lagi) bila pemakaian turun cukup jauh di bawah
+ * ambang tersebut — histeresis per ambang.
+ */
+public class CategoryBudget {
+
+    public static final int[] DEFAULT_THRESHOLDS = {50, 80, 100};
+
+    private double limit;
+    private int[] thresholds;
+    private boolean[] triggered;
+
+    public CategoryBudget(double limit) {
+        this(limit, DEFAULT_THRESHOLDS);
+    }
+
+    public CategoryBudget(double limit, int[] thresholds) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Budget tidak boleh negatif.");
+        if (thresholds == null || thresholds.length == 0)
+            throw new IllegalArgumentException("Ambang budget tidak boleh kosong.");
+        int[] sorted = thresholds.clone();
+        Arrays.sort(sorted);
+        if (sorted[0] <= 0)
+            throw new IllegalArgumentException("Ambang budget harus lebih dari 0%.");
+        this.limit = limit;
+        this.thresholds = sorted;
+        this.triggered = new boolean[sorted.length];
+    }
+
+    public double getLimit() { return limit; }
+    public int[] getThresholds() { return thresholds.clone(); }
+
+    public int getThresholdCount() { return thresholds.length; }
+    public int getThreshold(int index) { return thresholds[index]; }
+
+    public boolean isTriggered(int index) { return triggered[index]; }
+    public void setTriggered(int index, boolean value) { triggered[index] = value; }
+
+    /**
+     * Mengubah limit; status picu direset karena persentase berubah makna.
+     */
+    public void setLimit(double limit) {
+        if (limit < 0)
+            throw new IllegalArgumentException("Budget tidak boleh negatif.");
+        this.limit = limit;
+        resetTriggers();
+    }
+
+    public void resetTriggers() {
+        Arrays.fill(triggered, false);
+    }
+
+    /**
+     * Memastikan data hasil baca file konsisten (mis. triggered hilang atau beda panjang).
+     */
+    public void normalize() {
+        if (thresholds == null || thresholds.length == 0) thresholds = DEFAULT_THRESHOLDS.clone();
+        Arrays.sort(thresholds);
+        if (triggered == null || triggered.length != thresholds.length) triggered = new boolean[thresholds.length];
+    }
+}
@@ -0,0 +1,79 @@
+package com.financetracker.model;
+
+import java.util.List;
+
+/**
+ * Satu baris jurnal mutasi ledger (event sourcing).
+ *
+ * - SNAPSHOT: baris pembuka jurnal; version = versi snapshot transaksi.
+ * - ADD: transaksi (satu atau batch) ditambahkan.
+ * - DELETE: transaksi dihapus (disimpan utuh agar bisa di-undo dan diputar ulang).
+ * - REPLACE: transaksi diganti versi barunya dengan ID yang sama (mis. ubah
+ *   kategori massal); versi lama disimpan di previous.
+ *
+ * Undo/redo dicatat sebagai entri ADD/DELETE/REPLACE biasa sehingga jurnal
+ * selalu append-only dan pemutaran ulang cukup mengikuti urutan versi.
+ * Menerapkan entri = hapus getRemoved() lalu tambah getAdded(); kebalikannya
+ * menukar kedua daftar.
+ */
+public class JournalEntry {
+
+    public enum Kind { SNAPSHOT, ADD, DELETE, REPLACE }
+
+    private final long version;
+    private final Kind kind;
+    /** Waktu pencatatan (ISO-8601) */
+    private final String recordedAt;
+    private final List<Transaction> transactions;
+    /** Versi lama transaksi yang diganti (hanya REPLACE); null agar baris jurnal lain tetap ringkas */
+    private final List<Transaction> previous;
+
+    public JournalEntry(long version, Kind kind, String recordedAt, List<Transaction> transactions) {
+        this(version, kind, recordedAt, transactions, null);
+    }
+
+    public JournalEntry(long version, Kind kind, String recordedAt, List<Transaction> transactions,
+                        List<Transaction> previous) {
+        this.version = version;
+        this.kind = kind;
+        this.recordedAt = recordedAt;
+        this.transactions = transactions == null ? List.of() : List.copyOf(transactions);
+        this.previous = previous == null || previous.isEmpty() ? null : List.copyOf(previous);
+    }
+
+    public long getVersion() { return version; }
+    public Kind getKind() { return kind; }
+    public String getRecordedAt() { return recordedAt; }
+    public List<Transaction> getTransactions() { return transactions != null ? transactions : List.of(); }
+    public List<Transaction> getPrevious() { return previous != null ? previous : List.of(); }
+
+    /**
+     * Transaksi yang dihapus dari ledger saat entri ini diterapkan.
+     */
+    public List<Transaction> getRemoved() {
+        switch (kind) {
+            case DELETE: return getTransactions();
+            case REPLACE: return getPrevious();
+            default: return List.of();
+        }
+    }
+
+    /**
+     * Transaksi yang ditambahkan ke ledger saat entri ini diterapkan.
+     */
+    public List<Transaction> getAdded() {
+        return kind == Kind.ADD || kind == Kind.REPLACE ? getTransactions() : List.of();
+    }
+
+    /**
+     * Jenis kebalikan (ADD ↔ DELETE, REPLACE tetap REPLACE) untuk undo.
+     */
+    public Kind inverseKind() {
+        switch (kind) {
+            case ADD: return Kind.DELETE;
+            case DELETE: return Kind.ADD;
+            case REPLACE: return Kind.REPLACE;
+            default: throw new IllegalStateException("Entri SNAPSHOT tidak punya kebalikan.");
+        }
+    }
+}
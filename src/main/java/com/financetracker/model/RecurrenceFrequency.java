@@ -0,0 +1,23 @@
+package com.financetracker.model;
+
+/**
+ * Frekuensi aturan transaksi rutin.
+ */
+public enum RecurrenceFrequency {
+    DAILY("Harian"),
+    WEEKLY("Mingguan"),
+    MONTHLY("Bulanan"),
+    /** Hari kerja (Senin–Jumat) terakhir setiap bulan, mis. gajian */
+    LAST_BUSINESS_DAY("Hari kerja terakhir");
+
+    private final String displayName;
+
+    RecurrenceFrequency(String displayName) {
+        this.displayName = displayName;
+    }
+
+    @Override
+    public String toString() {
+        return displayName;
+    }
+}
@@ -0,0 +1,141 @@
+package com.financetracker.model;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Aturan transaksi rutin (tagihan bulanan, gaji, dll.).
+ *
+ * Kemunculan ke-k dihitung langsung dari tanggal mulai (bukan dengan
+ * melangkah hari demi hari), sehingga mengejar ketertinggalan panjang
+ * hanya berbiaya sebanding dengan jumlah kemunculan.
+ *
+ * materializedThrough menandai tanggal terakhir yang kemunculannya sudah
+ * dibuat menjadi transaksi; ID transaksi hasil aturan bersifat deterministik
+ * (ruleId + tanggal) sehingga pembuatan ulang selalu idempoten.
+ */
+public class RecurringRule {
+
+    private final String id;
+    private final String description;
+    private final double amount;
+    private final TransactionType type;
+    private final Category category;
+    private final RecurrenceFrequency frequency;
+    private final LocalDate startDate;
+    /** Tanggal akhir (inklusif); null = tanpa batas */
+    private final LocalDate endDate;
+    /** Akun tujuan transaksi; null = akun default */
+    private final String account;
+    private LocalDate materializedThrough;
+
+    public RecurringRule(String id, String description, double amount, TransactionType type, Category category,
+                         RecurrenceFrequency frequency, LocalDate startDate, LocalDate endDate) {
+        this(id, description, amount, type, category, frequency, startDate, endDate, null);
+    }
+
+    public RecurringRule(String id, String description, double amount, TransactionType type, Category category,
+                         RecurrenceFrequency frequency, LocalDate startDate, LocalDate endDate, String account) {
+        if (id == null || description == null || description.trim().isEmpty() || amount <= 0
+                || type == null || category == null || frequency == null || startDate == null
+                || (endDate != null && endDate.isBefore(startDate))) {
+            throw new IllegalArgumentException("Aturan transaksi rutin tidak valid.");
+        }
+        this.id = id;
+        this.description = description;
+        this.amount = amount;
+        this.type = type;
+        this.category = category;
+        this.frequency = frequency;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.account = account;
+    }
+
+    // Getters
+    public String getId() { return id; }
+    public String getDescription() { return description; }
+    public double getAmount() { return amount; }
+    public TransactionType getType() { return type; }
+    public Category getCategory() { return category; }
+    public RecurrenceFrequency getFrequency() { return frequency; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+    public String getAccount() { return account != null ? account : Transaction.DEFAULT_ACCOUNT; }
+    public LocalDate getMaterializedThrough() { return materializedThrough; }
+
+    public void setMaterializedThrough(LocalDate materializedThrough) {
+        this.materializedThrough = materializedThrough;
+    }
+
+    /**
+     * ID deterministik transaksi untuk kemunculan pada tanggal tertentu.
+     */
+    public String transactionIdFor(LocalDate date) {
+        return "rec-" + id + "-" + date;
+    }
+
+    public Transaction toTransaction(LocalDate date) {
+        return new Transaction(transactionIdFor(date), date, description, amount, type, category, getAccount(), null);
+    }
+
+    /**
+     * Semua kemunculan dalam rentang [from, to] (inklusif), urut tanggal.
+     */
+    public List<LocalDate> occurrencesBetween(LocalDate from, LocalDate to) {
+        List<LocalDate> result = new ArrayList<>();
+        if (from.isBefore(startDate)) from = startDate;
+        if (endDate != null && to.isAfter(endDate)) to = endDate;
+        if (from.isAfter(to)) return result;
+
+        for (long k = firstIndexOnOrAfter(from); ; k++) {
+            LocalDate date = occurrence(k);
+            if (date.isAfter(to)) break;
+            if (!date.isBefore(from)) result.add(date);
+        }
+        return result;
+    }
+
+    /**
+     * Indeks kemunculan pertama yang tanggalnya ≥ from (boleh meleset satu ke bawah).
+     */
+    private long firstIndexOnOrAfter(LocalDate from) {
+        switch (frequency) {
+            case DAILY:
+                return ChronoUnit.DAYS.between(startDate, from);
+            case WEEKLY:
+                return Math.max(0, ChronoUnit.DAYS.between(startDate, from) / 7);
+            default:
+                return Math.max(0, ChronoUnit.MONTHS.between(YearMonth.from(startDate), YearMonth.from(from)) - 1);
+        }
+    }
+
+    /**
+     * Tanggal kemunculan ke-k (k = 0 adalah kemunculan pertama).
+     */
+    private LocalDate occurrence(long k) {
+        switch (frequency) {
+            case DAILY:
+                return startDate.plusDays(k);
+            case WEEKLY:
+                return startDate.plusWeeks(k);
+            case MONTHLY: {
+                // Tanggal jangkar dari startDate; dipotong ke akhir bulan bila bulannya lebih pendek
+                YearMonth month = YearMonth.from(startDate).plusMonths(k);
+                return month.atDay(Math.min(startDate.getDayOfMonth(), month.lengthOfMonth()));
+            }
+            default: {
+                LocalDate date = YearMonth.from(startDate).plusMonths(k).atEndOfMonth();
+                while (date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY) {
+                    date = date.minusDays(1);
+                }
+                // Bisa jatuh sebelum startDate di bulan pertama; disaring oleh occurrencesBetween
+                return date;
+            }
+        }
+    }
+}
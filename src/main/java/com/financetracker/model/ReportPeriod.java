@@ -0,0 +1,128 @@
+package com.financetracker.model;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.Objects;
+
+/**
+ * Rentang tanggal (inklusif) yang dicakup sebuah laporan.
+ * Dipakai sebagai bagian kunci cache laporan dan untuk memeriksa
+ * apakah suatu perubahan data menyentuh laporan tersebut.
+ */
+public final class ReportPeriod {
+    private final LocalDate start;
+    private final LocalDate end;
+
+    private ReportPeriod(LocalDate start, LocalDate end) {
+        if (start == null || end == null || end.isBefore(start)) {
+            throw new IllegalArgumentException("Periode laporan tidak valid.");
+        }
+        this.start = start;
+        this.end = end;
+    }
+
+    public static ReportPeriod of(LocalDate start, LocalDate end) {
+        return new ReportPeriod(start, end);
+    }
+
+    public static ReportPeriod ofDay(LocalDate date) {
+        return new ReportPeriod(date, date);
+    }
+
+    public static ReportPeriod ofMonth(YearMonth month) {
+        return new ReportPeriod(month.atDay(1), month.atEndOfMonth());
+    }
+
+    public static ReportPeriod ofYear(int year) {
+        return new ReportPeriod(LocalDate.of(year, 1, 1), LocalDate.of(year, 12, 31));
+    }
+
+    /**
+     * Mengurai periode dari teks: "yyyy" (tahun), "yyyy-MM" (bulan),
+     * "yyyy-MM-dd" (hari), atau "yyyy-MM-dd..yyyy-MM-dd" (rentang bebas).
+     */
+    public static ReportPeriod parse(String text) {
+        String value = text.trim();
+        try {
+            int range = value.indexOf("..");
+            if (range >= 0) {
+                return of(LocalDate.parse(value.substring(0, range).trim()),
+                        LocalDate.parse(value.substring(range + 2).trim()));
+            }
+            switch (value.length()) {
+                case 4: return ofYear(Integer.parseInt(value));
+                case 7: return ofMonth(YearMonth.parse(value));
+                default: return ofDay(LocalDate.parse(value));
+            }
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new IllegalArgumentException("Format periode tidak dikenali: " + text);
+        }
+    }
+
+    // Getters
+    public LocalDate getStart() { return start; }
+    public LocalDate getEnd() { return end; }
+
+    public boolean contains(LocalDate date) {
+        return !date.isBefore(start) && !date.isAfter(end);
+    }
+
+    /**
+     * Periode sebelumnya dengan panjang yang sama: bulan lalu untuk periode
+     * sebulan penuh, tahun lalu untuk setahun penuh, selain itu digeser
+     * sepanjang jumlah harinya.
+     */
+    public ReportPeriod previous() {
+        if (isWholeYear() && start.getYear() == end.getYear()) {
+            return ofYear(start.getYear() - 1);
+        }
+        if (isWholeMonth()) {
+            return ofMonth(YearMonth.from(start).minusMonths(1));
+        }
+        if (isMonthAligned()) {
+            long months = ChronoUnit.MONTHS.between(YearMonth.from(start), YearMonth.from(end)) + 1;
+            return of(start.minusMonths(months), YearMonth.from(end).minusMonths(months).atEndOfMonth());
+        }
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        return of(start.minusDays(days), end.minusDays(days));
+    }
+
+    /**
+     * Periode dimulai awal bulan dan berakhir di akhir bulan (bisa beberapa bulan).
+     */
+    public boolean isMonthAligned() {
+        return start.getDayOfMonth() == 1 && end.equals(YearMonth.from(end).atEndOfMonth());
+    }
+
+    public boolean isSingleDay() {
+        return start.equals(end);
+    }
+
+    public boolean isWholeMonth() {
+        return start.getDayOfMonth() == 1 && YearMonth.from(start).atEndOfMonth().equals(end);
+    }
+
+    public boolean isWholeYear() {
+        return start.getDayOfYear() == 1 && end.equals(LocalDate.of(start.getYear(), 12, 31));
+    }
+
+    @Override
+    public String toString() {
+        return start.equals(end) ? start.toString() : start + " s/d " + end;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ReportPeriod that = (ReportPeriod) o;
+        return start.equals(that.start) && end.equals(that.end);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(start, end);
+    }
+}
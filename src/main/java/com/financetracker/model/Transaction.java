@@ -5,22 +5,37 @@ import java.util.Objects;
 
 /**
  * Model data yang merepresentasikan satu transaksi.
+ * Setiap transaksi milik satu akun (dompet/rekening); transfer antar akun
+ * terdiri dari dua transaksi dengan transferId yang sama.
  */
 public class Transaction {
+    /** Akun untuk transaksi tanpa akun (data lama) */
+    public static final String DEFAULT_ACCOUNT = "Utama";
+
     private final String id;
     private final LocalDate date;
     private final String description;
     private final double amount;
     private final TransactionType type;
     private final Category category;
+    private final String account;
+    /** ID transfer antar akun; null untuk transaksi biasa */
+    private final String transferId;
 
     public Transaction(String id, LocalDate date, String description, double amount, TransactionType type, Category category) {
+        this(id, date, description, amount, type, category, DEFAULT_ACCOUNT, null);
+    }
+
+    public Transaction(String id, LocalDate date, String description, double amount, TransactionType type,
+                       Category category, String account, String transferId) {
         this.id = id;
         this.date = date;
         this.description = description;
         this.amount = amount;
         this.type = type;
         this.category = category;
+        this.account = account;
+        this.transferId = transferId;
     }
 
     // Getters
@@ -30,6 +45,20 @@ public class Transaction {
     public double getAmount() { return amount; }
     public TransactionType getType() { return type; }
     public Category getCategory() { return category; }
+    public String getAccount() { return account != null ? account : DEFAULT_ACCOUNT; }
+    public String getTransferId() { return transferId; }
+
+    /**
+     * Kaki transfer antar akun: bukan pemasukan/pengeluaran sungguhan.
+     */
+    public boolean isTransfer() { return transferId != null; }
+
+    /**
+     * Salinan transaksi ini (ID sama) dengan kategori lain.
+     */
+    public Transaction withCategory(Category newCategory) {
+        return new Transaction(id, date, description, amount, type, newCategory, account, transferId);
+    }
 
     @Override
     public String toString() {
@@ -40,6 +69,7 @@ public class Transaction {
                 ", amount=" + amount +
                 ", type=" + type +
                 ", category=" + category +
+                ", account='" + getAccount() + '\'' +
                 '}';
     }
 
@@ -0,0 +1,37 @@
+package com.financetracker.model;
+
+import java.time.LocalDate;
+
+/**
+ * Kriteria filter daftar transaksi: akun, kategori, dan rentang tanggal
+ * (inklusif). Field null berarti tidak dibatasi.
+ */
+public final class TransactionFilter {
+
+    public static final TransactionFilter ALL = new TransactionFilter(null, null, null, null);
+
+    private final String account;
+    private final Category category;
+    private final LocalDate startDate;
+    private final LocalDate endDate;
+
+    public TransactionFilter(String account, Category category, LocalDate startDate, LocalDate endDate) {
+        this.account = account;
+        this.category = category;
+        this.startDate = startDate;
+        this.endDate = endDate;
+    }
+
+    public boolean matches(Transaction tx) {
+        return (account == null || account.equals(tx.getAccount()))
+                && (category == null || tx.getCategory() == category)
+                && (startDate == null || !tx.getDate().isBefore(startDate))
+                && (endDate == null || !tx.getDate().isAfter(endDate));
+    }
+
+    // Getters
+    public String getAccount() { return account; }
+    public Category getCategory() { return category; }
+    public LocalDate getStartDate() { return startDate; }
+    public LocalDate getEndDate() { return endDate; }
+}
@@ -0,0 +1,8 @@
+package com.financetracker.patterns.observer;
+
+/**
+ * Observer untuk perubahan data transaksi (tambah/hapus).
+ */
+public interface DataChangeObserver {
+    void dataChanged(long dataVersion);
+}
@@ -0,0 +1,128 @@
+package com.financetracker.patterns.strategy;
+
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.aggregate.ParallelAggregator;
+import com.financetracker.aggregate.PeriodSummary;
+import com.financetracker.aggregate.Totals;
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.Transaction;
+import com.financetracker.report.ReportResult;
+import com.financetracker.report.ReportResult.ComparisonRow;
+import com.financetracker.report.ReportResult.ComparisonSection;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Basis laporan perbandingan periode-ke-periode (bulan ini vs bulan lalu,
+ * tahun ini vs tahun lalu, 12 bulan terakhir vs 12 bulan sebelumnya).
+ *
+ * Bila kedua periode selaras bulan dan bersebelahan, keduanya diambil dari
+ * satu kali ringkasan rentang gabungan lalu dipotong per periode, sehingga
+ * biayanya sama dengan satu laporan biasa.
+ */
+public abstract class AbstractComparisonReportStrategy extends AbstractReportStrategy {
+
+    protected AbstractComparisonReportStrategy(Clock clock) {
+        super(clock);
+    }
+
+    /**
+     * Laporan juga membaca periode sebelumnya: awal periode sebelumnya s.d. akhir periode.
+     */
+    @Override
+    public ReportPeriod dependencyPeriod(ReportPeriod period) {
+        ReportPeriod previous = period.previous();
+        return ReportPeriod.of(previous.getStart(), period.getEnd());
+    }
+
+    @Override
+    public ReportResult buildReport(LedgerAggregates aggregates, ReportPeriod period) {
+        ReportPeriod previous = period.previous();
+        if (canShareSummary(period, previous)) {
+            PeriodSummary combined = aggregates.summarize(ReportPeriod.of(previous.getStart(), period.getEnd()));
+            return build(combined.slice(period), combined.slice(previous));
+        }
+        return build(aggregates.summarize(period), aggregates.summarize(previous));
+    }
+
+    /**
+     * List mentah: satu kali agregasi (paralel bila besar) atas rentang gabungan.
+     */
+    @Override
+    public ReportResult buildReport(List<Transaction> transactions) {
+        ReportPeriod period = getPeriod();
+        ReportPeriod previous = period.previous();
+        if (canShareSummary(period, previous)) {
+            PeriodSummary combined = ParallelAggregator.summarize(transactions,
+                    ReportPeriod.of(previous.getStart(), period.getEnd()));
+            return build(combined.slice(period), combined.slice(previous));
+        }
+        return build(ParallelAggregator.summarize(transactions, period),
+                ParallelAggregator.summarize(transactions, previous));
+    }
+
+    private static boolean canShareSummary(ReportPeriod period, ReportPeriod previous) {
+        return period.isMonthAligned() && previous.isMonthAligned()
+                && previous.getEnd().plusDays(1).equals(period.getStart());
+    }
+
+    private ReportResult build(PeriodSummary current, PeriodSummary previous) {
+        Totals now = current.getTotals();
+        Totals before = previous.getTotals();
+        ReportPeriod period = current.getPeriod();
+
+        if (now.isEmpty() && before.isEmpty()) {
+            return ReportResult.empty(getReportName(), period,
+                    "Tidak ada transaksi pada " + period + " maupun " + previous.getPeriod() + ".");
+        }
+
+        List<ComparisonRow> rows = new ArrayList<>();
+        rows.add(new ComparisonRow(ComparisonSection.TOTAL, "Pemasukan", now.getIncome(), before.getIncome()));
+        rows.add(new ComparisonRow(ComparisonSection.TOTAL, "Pengeluaran", now.getExpense(), before.getExpense()));
+        rows.add(new ComparisonRow(ComparisonSection.TOTAL, "Bersih", now.getNet(), before.getNet()));
+
+        for (Category category : Category.values()) {
+            double a = now.getExpense(category);
+            double b = before.getExpense(category);
+            if (a != 0 || b != 0) {
+                rows.add(new ComparisonRow(ComparisonSection.CATEGORY, category.toString(), a, b));
+            }
+        }
+
+        if (includeMonthRows()) {
+            addMonthRows(rows, current, previous);
+        }
+
+        return new ReportResult(getReportName(), getReportName() + " (" + period + " vs " + previous.getPeriod() + ")",
+                period, now.getIncome(), now.getExpense(), now.getCount(), previous.getPeriod(), rows);
+    }
+
+    /**
+     * Bulan ke-i periode berjalan dipasangkan dengan bulan ke-i periode pembanding.
+     */
+    private static void addMonthRows(List<ComparisonRow> rows, PeriodSummary current, PeriodSummary previous) {
+        YearMonth first = YearMonth.from(current.getPeriod().getStart());
+        YearMonth last = YearMonth.from(current.getPeriod().getEnd());
+        YearMonth firstPrevious = YearMonth.from(previous.getPeriod().getStart());
+
+        int offset = 0;
+        for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1), offset++) {
+            YearMonth pair = firstPrevious.plusMonths(offset);
+            Totals a = current.getMonths().get(month);
+            Totals b = previous.getMonths().get(pair);
+            if (a == null && b == null) continue;
+            rows.add(new ComparisonRow(ComparisonSection.MONTH,
+                    month.getMonth() + " " + month.getYear() + " vs " + pair.getMonth() + " " + pair.getYear(),
+                    a != null ? a.getExpense() : 0, b != null ? b.getExpense() : 0));
+        }
+    }
+
+    /**
+     * Apakah laporan menyertakan baris perbandingan per bulan.
+     */
+    protected abstract boolean includeMonthRows();
+}
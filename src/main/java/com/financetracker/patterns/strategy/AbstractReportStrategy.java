@@ -0,0 +1,24 @@
+package com.financetracker.patterns.strategy;
+
+import com.financetracker.model.ReportPeriod;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Basis strategi laporan: menyimpan Clock yang di-inject sehingga
+ * "hari ini" bisa dikendalikan (mis. untuk benchmark yang reprodusibel).
+ */
+public abstract class AbstractReportStrategy implements ReportStrategy {
+
+    protected final Clock clock;
+
+    protected AbstractReportStrategy(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public ReportPeriod getPeriod() {
+        return periodFor(LocalDate.now(clock));
+    }
+}
@@ -1,55 +1,53 @@
 package com.financetracker.patterns.strategy;
 
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.aggregate.Totals;
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
-import com.financetracker.model.TransactionType;
+import com.financetracker.report.ReportResult;
 
+import java.time.Clock;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementasi Strategy: Laporan Harian.
  */
-public class DailyReportStrategy implements ReportStrategy {
+public class DailyReportStrategy extends AbstractReportStrategy {
+
+    public DailyReportStrategy() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public DailyReportStrategy(Clock clock) {
+        super(clock);
+    }
+
     @Override
     public String getReportName() {
         return "Laporan Harian";
     }
 
     @Override
-    public String generateReport(List<Transaction> transactions) {
-        LocalDate today = LocalDate.now();
-        List<Transaction> dailyTx = transactions.stream()
-                .filter(t -> t.getDate().equals(today))
-                .collect(Collectors.toList());
+    public ReportPeriod periodFor(LocalDate date) {
+        return ReportPeriod.ofDay(date);
+    }
+
+    @Override
+    public ReportResult buildReport(LedgerAggregates aggregates, ReportPeriod period) {
+        List<Transaction> dailyTx = aggregates.transactionsIn(period);
 
         if (dailyTx.isEmpty()) {
-            return "Tidak ada transaksi hari ini (" + today + ").";
+            if (period.isSingleDay() && period.getStart().equals(LocalDate.now(clock))) {
+                return ReportResult.empty(getReportName(), period, "Tidak ada transaksi hari ini (" + period + ").");
+            }
+            return ReportResult.empty(getReportName(), period, "Tidak ada transaksi pada periode " + period + ".");
         }
 
-        double income = dailyTx.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        double expense = dailyTx.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
-        double net = income - expense;
-
-        StringBuilder report = new StringBuilder();
-        report.append(String.format("Laporan Harian (%s):\n", today));
-        report.append("----------------------------\n");
-        report.append(String.format("Total Pemasukan: Rp %,.2f\n", income));
-        report.append(String.format("Total Pengeluaran: Rp %,.2f\n", expense));
-        report.append(String.format("Total Bersih: Rp %,.2f\n\n", net));
-        report.append("Detail Transaksi:\n");
-
-        for (Transaction tx : dailyTx) {
-            report.append(String.format("- (%s) %s: Rp %,.2f\n",
-                    tx.getCategory(), tx.getDescription(), tx.getAmount()));
-        }
+        Totals totals = aggregates.summarize(period).getTotals();
 
-        return report.toString();
+        return new ReportResult(getReportName(), "Laporan Harian (" + period + ")", period,
+                totals.getIncome(), totals.getExpense(), totals.getCount(),
+                List.of(), List.of(), dailyTx);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,36 @@
+package com.financetracker.patterns.strategy;
+
+import com.financetracker.model.ReportPeriod;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * Implementasi Strategy: Perbandingan bulan ini dengan bulan lalu.
+ */
+public class MonthlyComparisonReportStrategy extends AbstractComparisonReportStrategy {
+
+    public MonthlyComparisonReportStrategy() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public MonthlyComparisonReportStrategy(Clock clock) {
+        super(clock);
+    }
+
+    @Override
+    public String getReportName() {
+        return "Perbandingan Bulanan";
+    }
+
+    @Override
+    public ReportPeriod periodFor(LocalDate date) {
+        return ReportPeriod.ofMonth(YearMonth.from(date));
+    }
+
+    @Override
+    protected boolean includeMonthRows() {
+        return false;
+    }
+}
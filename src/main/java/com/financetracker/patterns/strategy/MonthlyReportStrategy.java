@@ -1,71 +1,87 @@
 package com.financetracker.patterns.strategy;
 
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.aggregate.ParallelAggregator;
+import com.financetracker.aggregate.PeriodSummary;
+import com.financetracker.aggregate.Totals;
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
-import com.financetracker.model.TransactionType;
+import com.financetracker.report.DistributionRows;
+import com.financetracker.report.ReportResult;
 
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Implementasi Strategy: Laporan Bulanan.
  */
-public class MonthlyReportStrategy implements ReportStrategy {
+public class MonthlyReportStrategy extends AbstractReportStrategy {
+
+    public MonthlyReportStrategy() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public MonthlyReportStrategy(Clock clock) {
+        super(clock);
+    }
+
     @Override
     public String getReportName() {
         return "Laporan Bulanan";
     }
 
     @Override
-    public String generateReport(List<Transaction> transactions) {
-        LocalDate today = LocalDate.now();
-        Month currentMonth = today.getMonth();
-        int currentYear = today.getYear();
-
-        List<Transaction> monthlyTx = transactions.stream()
-                .filter(t -> t.getDate().getMonth() == currentMonth && t.getDate().getYear() == currentYear)
-                .collect(Collectors.toList());
+    public ReportPeriod periodFor(LocalDate date) {
+        return ReportPeriod.ofMonth(YearMonth.from(date));
+    }
 
-        if (monthlyTx.isEmpty()) {
-            return "Tidak ada transaksi bulan ini (" + currentMonth + " " + currentYear + ").";
-        }
+    @Override
+    public ReportResult buildReport(LedgerAggregates aggregates, ReportPeriod period) {
+        return build(aggregates.summarize(period));
+    }
 
-        double income = 0;
-        double expense = 0;
+    /**
+     * List mentah diagregasi langsung (paralel untuk riwayat besar),
+     * tanpa membangun indeks tanggal yang tidak dibutuhkan laporan ini.
+     */
+    @Override
+    public ReportResult buildReport(List<Transaction> transactions) {
+        return build(ParallelAggregator.summarize(transactions, getPeriod()));
+    }
 
-        for (Transaction tx : monthlyTx) {
-            if (tx.getType() == TransactionType.INCOME) {
-                income += tx.getAmount();
-            } else {
-                expense += tx.getAmount();
-            }
-        }
-        double net = income - expense;
+    private ReportResult build(PeriodSummary summary) {
+        ReportPeriod period = summary.getPeriod();
+        String label = period.isWholeMonth()
+                ? period.getStart().getMonth() + " " + period.getStart().getYear()
+                : period.toString();
 
-        // Agregasi pengeluaran per kategori
-        Map<String, Double> expenseByCategory = monthlyTx.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        t -> t.getCategory().toString(),
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+        Totals totals = summary.getTotals();
 
-        StringBuilder report = new StringBuilder();
-        report.append(String.format("Laporan Bulanan (%s %d):\n", currentMonth, currentYear));
-        report.append("----------------------------\n");
-        report.append(String.format("Total Pemasukan: Rp %,.2f\n", income));
-        report.append(String.format("Total Pengeluaran: Rp %,.2f\n", expense));
-        report.append(String.format("Total Bersih: Rp %,.2f\n\n", net));
-        report.append("Pengeluaran per Kategori:\n");
+        if (totals.isEmpty()) {
+            return ReportResult.empty(getReportName(), period, "Tidak ada transaksi bulan ini (" + label + ").");
+        }
 
-        expenseByCategory.entrySet().stream()
-                .sorted(Map.Entry.<String, Double>comparingByValue().reversed()) // Urutkan dari terbesar
-                .forEach(entry -> {
-                    report.append(String.format("- %s: Rp %,.2f\n", entry.getKey(), entry.getValue()));
-                });
+        return new ReportResult(getReportName(), "Laporan Bulanan (" + label + ")", period,
+                totals.getIncome(), totals.getExpense(), totals.getCount(),
+                categoryRows(totals), List.of(), List.of())
+                .withDistributions(DistributionRows.perCategory(summary));
+    }
 
-        return report.toString();
+    /**
+     * Pengeluaran per kategori, urut dari terbesar.
+     */
+    static List<ReportResult.CategoryRow> categoryRows(Totals totals) {
+        List<ReportResult.CategoryRow> rows = new ArrayList<>();
+        for (Category category : Category.values()) {
+            double expense = totals.getExpense(category);
+            if (expense != 0) rows.add(new ReportResult.CategoryRow(category, expense));
+        }
+        rows.sort(Comparator.comparingDouble(ReportResult.CategoryRow::getExpense).reversed());
+        return rows;
     }
-}
\ No newline at end of file
+}
@@ -1,7 +1,12 @@
 package com.financetracker.patterns.strategy;
 
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
+import com.financetracker.report.ReportResult;
+import com.financetracker.report.TextReportRenderer;
 
+import java.time.LocalDate;
 import java.util.List;
 
 /**
@@ -10,5 +15,47 @@ import java.util.List;
  */
 public interface ReportStrategy {
     String getReportName();
-    String generateReport(List<Transaction> transactions);
-}
\ No newline at end of file
+
+    /**
+     * Periode laporan (hari/bulan/tahun) yang memuat tanggal tertentu.
+     */
+    ReportPeriod periodFor(LocalDate date);
+
+    /**
+     * Periode berjalan menurut Clock strategi (dipakai sebagai kunci cache).
+     */
+    ReportPeriod getPeriod();
+
+    /**
+     * Rentang tanggal yang dibaca laporan untuk periode tertentu; cache laporan
+     * dianggap basi bila ada mutasi di rentang ini. Default: periode itu sendiri.
+     */
+    default ReportPeriod dependencyPeriod(ReportPeriod period) {
+        return period;
+    }
+
+    /**
+     * Menghasilkan laporan terstruktur untuk periode apa pun dari agregat yang sudah ada.
+     */
+    ReportResult buildReport(LedgerAggregates aggregates, ReportPeriod period);
+
+    /**
+     * Menghasilkan laporan terstruktur periode berjalan dari list transaksi mentah.
+     * Kaki transfer dilewati, sama seperti agregat milik TransactionService.
+     */
+    default ReportResult buildReport(List<Transaction> transactions) {
+        List<Transaction> ledger = transactions.stream().filter(tx -> !tx.isTransfer()).toList();
+        return buildReport(LedgerAggregates.of(ledger), getPeriod());
+    }
+
+    /**
+     * Laporan dalam bentuk teks (dirender dengan TextReportRenderer).
+     */
+    default String generateReport(LedgerAggregates aggregates, ReportPeriod period) {
+        return new TextReportRenderer().renderToString(buildReport(aggregates, period));
+    }
+
+    default String generateReport(List<Transaction> transactions) {
+        return new TextReportRenderer().renderToString(buildReport(transactions));
+    }
+}
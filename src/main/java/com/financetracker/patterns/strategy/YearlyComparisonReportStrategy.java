@@ -0,0 +1,37 @@
+package com.financetracker.patterns.strategy;
+
+import com.financetracker.model.ReportPeriod;
+
+import java.time.Clock;
+import java.time.LocalDate;
+
+/**
+ * Implementasi Strategy: Perbandingan tahun ini dengan tahun lalu,
+ * termasuk perbandingan per bulan. Dengan periode eksplisit selaras bulan
+ * (mis. 12 bulan terakhir) dibandingkan dengan 12 bulan sebelumnya.
+ */
+public class YearlyComparisonReportStrategy extends AbstractComparisonReportStrategy {
+
+    public YearlyComparisonReportStrategy() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public YearlyComparisonReportStrategy(Clock clock) {
+        super(clock);
+    }
+
+    @Override
+    public String getReportName() {
+        return "Perbandingan Tahunan";
+    }
+
+    @Override
+    public ReportPeriod periodFor(LocalDate date) {
+        return ReportPeriod.ofYear(date.getYear());
+    }
+
+    @Override
+    protected boolean includeMonthRows() {
+        return true;
+    }
+}
@@ -1,69 +1,82 @@
 package com.financetracker.patterns.strategy;
 
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.aggregate.ParallelAggregator;
+import com.financetracker.aggregate.PeriodSummary;
+import com.financetracker.aggregate.Totals;
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
-import com.financetracker.model.TransactionType;
+import com.financetracker.report.DistributionRows;
+import com.financetracker.report.ReportResult;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 /**
  * Implementasi Strategy: Laporan Tahunan.
  */
-public class YearlyReportStrategy implements ReportStrategy {
+public class YearlyReportStrategy extends AbstractReportStrategy {
+
+    public YearlyReportStrategy() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public YearlyReportStrategy(Clock clock) {
+        super(clock);
+    }
+
     @Override
     public String getReportName() {
         return "Laporan Tahunan";
     }
 
     @Override
-    public String generateReport(List<Transaction> transactions) {
-        int currentYear = LocalDate.now().getYear();
-
-        List<Transaction> yearlyTx = transactions.stream()
-                .filter(t -> t.getDate().getYear() == currentYear)
-                .collect(Collectors.toList());
+    public ReportPeriod periodFor(LocalDate date) {
+        return ReportPeriod.ofYear(date.getYear());
+    }
 
-        if (yearlyTx.isEmpty()) {
-            return "Tidak ada transaksi tahun ini (" + currentYear + ").";
-        }
+    @Override
+    public ReportResult buildReport(LedgerAggregates aggregates, ReportPeriod period) {
+        return build(aggregates.summarize(period));
+    }
 
-        // Agregasi per bulan
-        Map<String, Double> incomePerMonth = yearlyTx.stream()
-                .filter(t -> t.getType() == TransactionType.INCOME)
-                .collect(Collectors.groupingBy(
-                        t -> t.getDate().getMonth().toString(),
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    /**
+     * List mentah diagregasi langsung (paralel untuk riwayat besar),
+     * tanpa membangun indeks tanggal yang tidak dibutuhkan laporan ini.
+     */
+    @Override
+    public ReportResult buildReport(List<Transaction> transactions) {
+        return build(ParallelAggregator.summarize(transactions, getPeriod()));
+    }
 
-        Map<String, Double> expensePerMonth = yearlyTx.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        t -> t.getDate().getMonth().toString(),
-                        Collectors.summingDouble(Transaction::getAmount)
-                ));
+    private ReportResult build(PeriodSummary summary) {
+        ReportPeriod period = summary.getPeriod();
+        String label = period.isWholeYear()
+                ? String.valueOf(period.getStart().getYear())
+                : period.toString();
 
-        double totalIncome = incomePerMonth.values().stream().mapToDouble(Double::doubleValue).sum();
-        double totalExpense = expensePerMonth.values().stream().mapToDouble(Double::doubleValue).sum();
+        Totals totals = summary.getTotals();
 
-        StringBuilder report = new StringBuilder();
-        report.append(String.format("Laporan Tahunan (%d):\n", currentYear));
-        report.append("----------------------------\n");
-        report.append(String.format("Total Pemasukan: Rp %,.2f\n", totalIncome));
-        report.append(String.format("Total Pengeluaran: Rp %,.2f\n", totalExpense));
-        report.append(String.format("Total Bersih: Rp %,.2f\n\n", (totalIncome - totalExpense)));
-        report.append("Ringkasan per Bulan:\n");
+        if (totals.isEmpty()) {
+            return ReportResult.empty(getReportName(), period, "Tidak ada transaksi tahun ini (" + label + ").");
+        }
 
-        for (java.time.Month month : java.time.Month.values()) {
-            double income = incomePerMonth.getOrDefault(month.toString(), 0.0);
-            double expense = expensePerMonth.getOrDefault(month.toString(), 0.0);
-            if(income > 0 || expense > 0) {
-                 report.append(String.format("- %s: Pemasukan Rp %,.2f | Pengeluaran Rp %,.2f | Bersih Rp %,.2f\n",
-                    month, income, expense, (income - expense)));
+        // Ringkasan per bulan
+        List<ReportResult.MonthRow> months = new ArrayList<>();
+        for (Map.Entry<YearMonth, Totals> entry : summary.getMonths().entrySet()) {
+            Totals m = entry.getValue();
+            if (m.getIncome() > 0 || m.getExpense() > 0) {
+                months.add(new ReportResult.MonthRow(entry.getKey(), m.getIncome(), m.getExpense()));
             }
         }
 
-        return report.toString();
+        return new ReportResult(getReportName(), "Laporan Tahunan (" + label + ")", period,
+                totals.getIncome(), totals.getExpense(), totals.getCount(),
+                List.of(), months, List.of())
+                .withDistributions(DistributionRows.perMonthExpense(summary));
     }
-}
\ No newline at end of file
+}
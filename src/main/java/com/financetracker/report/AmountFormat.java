@@ -0,0 +1,92 @@
+package com.financetracker.report;
+
+import java.io.IOException;
+
+/**
+ * Penulisan angka rupiah tanpa String.format/DecimalFormat.
+ */
+public final class AmountFormat {
+
+    private AmountFormat() {
+    }
+
+    /**
+     * Menulis angka dengan pemisah ribuan dan 2 desimal, setara "%,.2f"
+     * (mis. 1,234,567.50).
+     */
+    public static void appendGrouped(Appendable out, double value) throws IOException {
+        long cents = Math.round(Math.abs(value) * 100);
+        if (value < 0 && cents != 0) out.append('-');
+        appendGroupedLong(out, cents / 100);
+        out.append('.');
+        appendTwoDigits(out, (int) (cents % 100));
+    }
+
+    /**
+     * Menulis angka polos dengan 2 desimal tanpa pemisah ribuan (untuk CSV/JSON).
+     */
+    public static void appendPlain(Appendable out, double value) throws IOException {
+        long cents = Math.round(Math.abs(value) * 100);
+        if (value < 0 && cents != 0) out.append('-');
+        appendLong(out, cents / 100);
+        out.append('.');
+        appendTwoDigits(out, (int) (cents % 100));
+    }
+
+    /**
+     * Menulis angka bulat (dibulatkan ke rupiah terdekat), paling ringkas untuk prompt AI.
+     */
+    public static void appendWhole(Appendable out, double value) throws IOException {
+        long whole = Math.round(value);
+        if (whole < 0) {
+            out.append('-');
+            whole = -whole;
+        }
+        appendLong(out, whole);
+    }
+
+    /**
+     * Menulis persentase dengan 1 desimal, setara "%.1f".
+     */
+    public static void appendPercent(Appendable out, double percent) throws IOException {
+        long tenths = Math.round(Math.abs(percent) * 10);
+        if (percent < 0 && tenths != 0) out.append('-');
+        appendLong(out, tenths / 10);
+        out.append('.');
+        out.append((char) ('0' + (int) (tenths % 10)));
+    }
+
+    /**
+     * Menulis perubahan persen bertanda (+12.5 / -3.0); tanpa tanda untuk nol.
+     */
+    public static void appendSignedPercent(Appendable out, double percent) throws IOException {
+        if (Math.round(percent * 10) > 0) out.append('+');
+        appendPercent(out, percent);
+    }
+
+    static void appendLong(Appendable out, long value) throws IOException {
+        if (value < 10) {
+            out.append((char) ('0' + value));
+            return;
+        }
+        appendLong(out, value / 10);
+        out.append((char) ('0' + (int) (value % 10)));
+    }
+
+    private static void appendGroupedLong(Appendable out, long value) throws IOException {
+        if (value < 1000) {
+            appendLong(out, value);
+            return;
+        }
+        appendGroupedLong(out, value / 1000);
+        out.append(',');
+        int group = (int) (value % 1000);
+        out.append((char) ('0' + group / 100));
+        appendTwoDigits(out, group % 100);
+    }
+
+    private static void appendTwoDigits(Appendable out, int value) throws IOException {
+        out.append((char) ('0' + value / 10));
+        out.append((char) ('0' + value % 10));
+    }
+}
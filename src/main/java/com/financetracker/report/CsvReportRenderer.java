@@ -0,0 +1,111 @@
+package com.financetracker.report;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.io.IOException;
+
+/**
+ * Renderer CSV: satu baris per nilai, kolom "bagian,kunci,pemasukan,pengeluaran,bersih".
+ */
+public class CsvReportRenderer implements ReportRenderer {
+
+    @Override
+    public String getFormatName() {
+        return "CSV";
+    }
+
+    @Override
+    public void render(ReportResult report, Appendable out) throws IOException {
+        out.append("bagian,kunci,pemasukan,pengeluaran,bersih\n");
+        row(out, "total", report.getPeriod().toString(), report.getIncome(), report.getExpense());
+
+        for (ReportResult.CategoryRow row : report.getCategories()) {
+            row(out, "kategori", row.getCategory().name(), 0, row.getExpense());
+        }
+        for (ReportResult.MonthRow row : report.getMonths()) {
+            row(out, "bulan", row.getMonth().toString(), row.getIncome(), row.getExpense());
+        }
+        for (Transaction tx : report.getDetails()) {
+            boolean income = tx.getType() == TransactionType.INCOME;
+            out.append("transaksi,");
+            appendField(out, tx.getDate() + " " + tx.getCategory().name() + " " + tx.getDescription());
+            out.append(',');
+            AmountFormat.appendPlain(out, income ? tx.getAmount() : 0);
+            out.append(',');
+            AmountFormat.appendPlain(out, income ? 0 : tx.getAmount());
+            out.append(',');
+            AmountFormat.appendPlain(out, income ? tx.getAmount() : -tx.getAmount());
+            out.append('\n');
+        }
+
+        if (!report.getDistributions().isEmpty()) {
+            out.append("\nbagian,kunci,n,median,p90,p99");
+            for (String label : TextReportRenderer.HISTOGRAM_LABELS) {
+                out.append(",bin_").append(label);
+            }
+            out.append('\n');
+            for (ReportResult.DistributionRow row : report.getDistributions()) {
+                out.append("distribusi,");
+                appendField(out, row.getLabel());
+                out.append(',').append(Long.toString(row.getCount())).append(',');
+                AmountFormat.appendPlain(out, row.getMedian());
+                out.append(',');
+                AmountFormat.appendPlain(out, row.getP90());
+                out.append(',');
+                AmountFormat.appendPlain(out, row.getP99());
+                for (int bin = 0; bin < row.getHistogramSize(); bin++) {
+                    out.append(',').append(Long.toString(row.getHistogramBin(bin)));
+                }
+                out.append('\n');
+            }
+        }
+
+        if (!report.getComparisons().isEmpty()) {
+            out.append("\nbagian,kunci,sekarang,sebelumnya,selisih,persen\n");
+            for (ReportResult.ComparisonRow row : report.getComparisons()) {
+                out.append("banding_").append(row.getSection().name().toLowerCase()).append(',');
+                appendField(out, row.getLabel());
+                out.append(',');
+                AmountFormat.appendPlain(out, row.getCurrent());
+                out.append(',');
+                AmountFormat.appendPlain(out, row.getPrevious());
+                out.append(',');
+                AmountFormat.appendPlain(out, row.getDelta());
+                out.append(',');
+                if (row.hasPercentChange()) AmountFormat.appendPercent(out, row.getPercentChange());
+                out.append('\n');
+            }
+        }
+    }
+
+    private static void row(Appendable out, String section, String key, double income, double expense) throws IOException {
+        out.append(section).append(',');
+        appendField(out, key);
+        out.append(',');
+        AmountFormat.appendPlain(out, income);
+        out.append(',');
+        AmountFormat.appendPlain(out, expense);
+        out.append(',');
+        AmountFormat.appendPlain(out, income - expense);
+        out.append('\n');
+    }
+
+    /**
+     * Field dikutip bila mengandung koma, kutip, atau baris baru (RFC 4180).
+     */
+    private static void appendField(Appendable out, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0;
+        if (!quote) {
+            out.append(value);
+            return;
+        }
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') out.append('"');
+            out.append(c);
+        }
+        out.append('"');
+    }
+}
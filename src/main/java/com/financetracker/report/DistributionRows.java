@@ -0,0 +1,60 @@
+package com.financetracker.report;
+
+import com.financetracker.aggregate.AmountHistogram;
+import com.financetracker.aggregate.CategorySketches;
+import com.financetracker.aggregate.PeriodSummary;
+import com.financetracker.model.Category;
+import com.financetracker.model.TransactionType;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Membentuk baris distribusi laporan dari sketsa dalam PeriodSummary.
+ */
+public final class DistributionRows {
+
+    private DistributionRows() {
+    }
+
+    /**
+     * Satu baris per (tipe, kategori) yang punya transaksi dalam periode;
+     * pengeluaran lebih dulu, lalu pemasukan.
+     */
+    public static List<ReportResult.DistributionRow> perCategory(PeriodSummary summary) {
+        CategorySketches merged = summary.mergedSketches();
+        List<ReportResult.DistributionRow> rows = new ArrayList<>();
+        for (TransactionType type : new TransactionType[]{TransactionType.EXPENSE, TransactionType.INCOME}) {
+            for (Category category : Category.values()) {
+                AmountHistogram histogram = merged.get(type, category);
+                if (histogram != null && !histogram.isEmpty()) {
+                    rows.add(row(type + ": " + category, histogram));
+                }
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Satu baris per bulan, khusus pengeluaran.
+     */
+    public static List<ReportResult.DistributionRow> perMonthExpense(PeriodSummary summary) {
+        List<ReportResult.DistributionRow> rows = new ArrayList<>();
+        for (Map.Entry<YearMonth, CategorySketches> entry : summary.getSketches().entrySet()) {
+            AmountHistogram histogram = entry.getValue().combined(TransactionType.EXPENSE);
+            if (!histogram.isEmpty()) {
+                YearMonth month = entry.getKey();
+                rows.add(row(month.getMonth() + " " + month.getYear(), histogram));
+            }
+        }
+        return rows;
+    }
+
+    private static ReportResult.DistributionRow row(String label, AmountHistogram histogram) {
+        return new ReportResult.DistributionRow(label, histogram.getCount(),
+                histogram.quantile(0.5), histogram.quantile(0.9), histogram.quantile(0.99),
+                histogram.displayHistogram());
+    }
+}
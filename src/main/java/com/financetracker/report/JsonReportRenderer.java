@@ -0,0 +1,157 @@
+package com.financetracker.report;
+
+import com.financetracker.model.Transaction;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Renderer JSON ringkas, ditulis langsung tanpa membangun pohon objek.
+ */
+public class JsonReportRenderer implements ReportRenderer {
+
+    @Override
+    public String getFormatName() {
+        return "JSON";
+    }
+
+    @Override
+    public void render(ReportResult report, Appendable out) throws IOException {
+        out.append('{');
+        field(out, "report", report.getReportName());
+        out.append(',');
+        field(out, "start", report.getPeriod().getStart().toString());
+        out.append(',');
+        field(out, "end", report.getPeriod().getEnd().toString());
+        out.append(",\"income\":");
+        AmountFormat.appendPlain(out, report.getIncome());
+        out.append(",\"expense\":");
+        AmountFormat.appendPlain(out, report.getExpense());
+        out.append(",\"net\":");
+        AmountFormat.appendPlain(out, report.getNet());
+        out.append(",\"count\":").append(Integer.toString(report.getTransactionCount()));
+
+        out.append(",\"categories\":[");
+        List<ReportResult.CategoryRow> categories = report.getCategories();
+        for (int i = 0; i < categories.size(); i++) {
+            if (i > 0) out.append(',');
+            out.append('{');
+            field(out, "category", categories.get(i).getCategory().name());
+            out.append(",\"expense\":");
+            AmountFormat.appendPlain(out, categories.get(i).getExpense());
+            out.append('}');
+        }
+
+        out.append("],\"months\":[");
+        List<ReportResult.MonthRow> months = report.getMonths();
+        for (int i = 0; i < months.size(); i++) {
+            ReportResult.MonthRow row = months.get(i);
+            if (i > 0) out.append(',');
+            out.append('{');
+            field(out, "month", row.getMonth().toString());
+            out.append(",\"income\":");
+            AmountFormat.appendPlain(out, row.getIncome());
+            out.append(",\"expense\":");
+            AmountFormat.appendPlain(out, row.getExpense());
+            out.append('}');
+        }
+
+        out.append("],\"transactions\":[");
+        List<Transaction> details = report.getDetails();
+        for (int i = 0; i < details.size(); i++) {
+            Transaction tx = details.get(i);
+            if (i > 0) out.append(',');
+            out.append('{');
+            field(out, "date", tx.getDate().toString());
+            out.append(',');
+            field(out, "type", tx.getType().name());
+            out.append(',');
+            field(out, "category", tx.getCategory().name());
+            out.append(',');
+            field(out, "description", tx.getDescription());
+            out.append(",\"amount\":");
+            AmountFormat.appendPlain(out, tx.getAmount());
+            out.append('}');
+        }
+        out.append(']');
+
+        out.append(",\"distributions\":[");
+        List<ReportResult.DistributionRow> distributions = report.getDistributions();
+        for (int i = 0; i < distributions.size(); i++) {
+            ReportResult.DistributionRow row = distributions.get(i);
+            if (i > 0) out.append(',');
+            out.append('{');
+            field(out, "label", row.getLabel());
+            out.append(",\"count\":").append(Long.toString(row.getCount()));
+            out.append(",\"median\":");
+            AmountFormat.appendPlain(out, row.getMedian());
+            out.append(",\"p90\":");
+            AmountFormat.appendPlain(out, row.getP90());
+            out.append(",\"p99\":");
+            AmountFormat.appendPlain(out, row.getP99());
+            out.append(",\"histogram\":[");
+            for (int bin = 0; bin < row.getHistogramSize(); bin++) {
+                if (bin > 0) out.append(',');
+                out.append(Long.toString(row.getHistogramBin(bin)));
+            }
+            out.append("]}");
+        }
+        out.append(']');
+
+        if (report.getPreviousPeriod() != null) {
+            out.append(',');
+            field(out, "previousStart", report.getPreviousPeriod().getStart().toString());
+            out.append(',');
+            field(out, "previousEnd", report.getPreviousPeriod().getEnd().toString());
+            out.append(",\"comparisons\":[");
+            List<ReportResult.ComparisonRow> comparisons = report.getComparisons();
+            for (int i = 0; i < comparisons.size(); i++) {
+                ReportResult.ComparisonRow row = comparisons.get(i);
+                if (i > 0) out.append(',');
+                out.append('{');
+                field(out, "section", row.getSection().name());
+                out.append(',');
+                field(out, "label", row.getLabel());
+                out.append(",\"current\":");
+                AmountFormat.appendPlain(out, row.getCurrent());
+                out.append(",\"previous\":");
+                AmountFormat.appendPlain(out, row.getPrevious());
+                out.append(",\"delta\":");
+                AmountFormat.appendPlain(out, row.getDelta());
+                out.append(",\"percent\":");
+                if (row.hasPercentChange()) AmountFormat.appendPercent(out, row.getPercentChange());
+                else out.append("null");
+                out.append('}');
+            }
+            out.append(']');
+        }
+        out.append('}');
+    }
+
+    private static void field(Appendable out, String name, String value) throws IOException {
+        out.append('"').append(name).append("\":");
+        appendString(out, value);
+    }
+
+    private static void appendString(Appendable out, String value) throws IOException {
+        out.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': out.append("\\\""); break;
+                case '\\': out.append("\\\\"); break;
+                case '\n': out.append("\\n"); break;
+                case '\r': out.append("\\r"); break;
+                case '\t': out.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        out.append("\\u00");
+                        out.append(Character.forDigit(c >> 4, 16)).append(Character.forDigit(c & 0xF, 16));
+                    } else {
+                        out.append(c);
+                    }
+            }
+        }
+        out.append('"');
+    }
+}
@@ -0,0 +1,101 @@
+package com.financetracker.report;
+
+import com.financetracker.model.Transaction;
+
+import java.io.IOException;
+
+/**
+ * Renderer ringkas untuk konteks prompt AI: angka bulat tanpa pemisah,
+ * satu baris per bagian, sehingga token yang dikirim seminimal mungkin.
+ */
+public class PromptReportRenderer implements ReportRenderer {
+
+    /** Batas jumlah rincian transaksi yang ikut dikirim ke AI */
+    private static final int MAX_DETAILS = 50;
+
+    @Override
+    public String getFormatName() {
+        return "Prompt AI";
+    }
+
+    @Override
+    public void render(ReportResult report, Appendable out) throws IOException {
+        out.append(report.getReportName()).append(' ').append(report.getPeriod().toString()).append('\n');
+        if (report.isEmpty()) {
+            out.append("tidak ada transaksi\n");
+            return;
+        }
+
+        out.append("masuk=");
+        AmountFormat.appendWhole(out, report.getIncome());
+        out.append(" keluar=");
+        AmountFormat.appendWhole(out, report.getExpense());
+        out.append(" bersih=");
+        AmountFormat.appendWhole(out, report.getNet());
+        out.append(" n=").append(Integer.toString(report.getTransactionCount())).append('\n');
+
+        if (!report.getCategories().isEmpty()) {
+            out.append("keluar/kategori:");
+            for (ReportResult.CategoryRow row : report.getCategories()) {
+                out.append(' ').append(row.getCategory().name()).append('=');
+                AmountFormat.appendWhole(out, row.getExpense());
+            }
+            out.append('\n');
+        }
+
+        if (!report.getMonths().isEmpty()) {
+            out.append("bulan(masuk/keluar):");
+            for (ReportResult.MonthRow row : report.getMonths()) {
+                out.append(' ').append(row.getMonth().toString()).append('=');
+                AmountFormat.appendWhole(out, row.getIncome());
+                out.append('/');
+                AmountFormat.appendWhole(out, row.getExpense());
+            }
+            out.append('\n');
+        }
+
+        if (!report.getDistributions().isEmpty()) {
+            out.append("median/p90/p99:");
+            for (ReportResult.DistributionRow row : report.getDistributions()) {
+                out.append(' ').append(row.getLabel()).append('=');
+                AmountFormat.appendWhole(out, row.getMedian());
+                out.append('/');
+                AmountFormat.appendWhole(out, row.getP90());
+                out.append('/');
+                AmountFormat.appendWhole(out, row.getP99());
+                out.append(';');
+            }
+            out.append('\n');
+        }
+
+        if (!report.getComparisons().isEmpty()) {
+            out.append("vs ").append(report.getPreviousPeriod().toString()).append(" (sekarang/sebelumnya):");
+            for (ReportResult.ComparisonRow row : report.getComparisons()) {
+                out.append(' ').append(row.getLabel()).append('=');
+                AmountFormat.appendWhole(out, row.getCurrent());
+                out.append('/');
+                AmountFormat.appendWhole(out, row.getPrevious());
+                if (row.hasPercentChange()) {
+                    out.append('(');
+                    AmountFormat.appendSignedPercent(out, row.getPercentChange());
+                    out.append("%)");
+                }
+                out.append(';');
+            }
+            out.append('\n');
+        }
+
+        int written = 0;
+        for (Transaction tx : report.getDetails()) {
+            if (written++ == MAX_DETAILS) {
+                out.append("...\n");
+                break;
+            }
+            out.append(tx.getDate().toString()).append(' ')
+                    .append(tx.getType().name()).append(' ')
+                    .append(tx.getCategory().name()).append(' ');
+            AmountFormat.appendWhole(out, tx.getAmount());
+            out.append(' ').append(tx.getDescription()).append('\n');
+        }
+    }
+}
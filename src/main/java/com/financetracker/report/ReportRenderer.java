@@ -0,0 +1,27 @@
+package com.financetracker.report;
+
+import java.io.IOException;
+
+/**
+ * Mengubah ReportResult ke format tertentu, ditulis langsung ke Appendable
+ * (StringBuilder, Writer, dsb.) tanpa String.format.
+ */
+public interface ReportRenderer {
+
+    String getFormatName();
+
+    void render(ReportResult report, Appendable out) throws IOException;
+
+    /**
+     * Render ke String (StringBuilder tidak pernah melempar IOException).
+     */
+    default String renderToString(ReportResult report) {
+        StringBuilder sb = new StringBuilder(512);
+        try {
+            render(report, sb);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return sb.toString();
+    }
+}
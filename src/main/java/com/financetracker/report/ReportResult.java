@@ -0,0 +1,212 @@
+package com.financetracker.report;
+
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.Transaction;
+
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Hasil laporan terstruktur (bukan teks).
+ * Dihasilkan oleh ReportStrategy dan diubah ke teks/CSV/JSON/prompt AI
+ * oleh ReportRenderer, sehingga UI dan AI tidak perlu mengurai ulang teks.
+ */
+public final class ReportResult {
+
+    private final String reportName;
+    private final String title;
+    private final ReportPeriod period;
+    private final String emptyMessage;
+    private final double income;
+    private final double expense;
+    private final int transactionCount;
+    private final List<CategoryRow> categories;
+    private final List<MonthRow> months;
+    private final List<Transaction> details;
+    private final ReportPeriod previousPeriod;
+    private final List<ComparisonRow> comparisons;
+    private List<DistributionRow> distributions = List.of();
+
+    public ReportResult(String reportName, String title, ReportPeriod period,
+                        double income, double expense, int transactionCount,
+                        List<CategoryRow> categories, List<MonthRow> months, List<Transaction> details) {
+        this(reportName, title, period, null, income, expense, transactionCount, categories, months, details,
+                null, List.of());
+    }
+
+    /**
+     * Laporan perbandingan: total periode berjalan ditambah baris selisih
+     * terhadap periode pembanding.
+     */
+    public ReportResult(String reportName, String title, ReportPeriod period,
+                        double income, double expense, int transactionCount,
+                        ReportPeriod previousPeriod, List<ComparisonRow> comparisons) {
+        this(reportName, title, period, null, income, expense, transactionCount, List.of(), List.of(), List.of(),
+                previousPeriod, comparisons);
+    }
+
+    private ReportResult(String reportName, String title, ReportPeriod period, String emptyMessage,
+                         double income, double expense, int transactionCount,
+                         List<CategoryRow> categories, List<MonthRow> months, List<Transaction> details,
+                         ReportPeriod previousPeriod, List<ComparisonRow> comparisons) {
+        this.reportName = reportName;
+        this.title = title;
+        this.period = period;
+        this.emptyMessage = emptyMessage;
+        this.income = income;
+        this.expense = expense;
+        this.transactionCount = transactionCount;
+        this.categories = Collections.unmodifiableList(categories);
+        this.months = Collections.unmodifiableList(months);
+        this.details = Collections.unmodifiableList(details);
+        this.previousPeriod = previousPeriod;
+        this.comparisons = Collections.unmodifiableList(comparisons);
+    }
+
+    /**
+     * Laporan tanpa transaksi; renderer teks menampilkan pesan ini apa adanya.
+     */
+    public static ReportResult empty(String reportName, ReportPeriod period, String message) {
+        return new ReportResult(reportName, reportName, period, message, 0, 0, 0,
+                List.of(), List.of(), List.of(), null, List.of());
+    }
+
+    // Getters
+    public String getReportName() { return reportName; }
+    public String getTitle() { return title; }
+    public ReportPeriod getPeriod() { return period; }
+    public String getEmptyMessage() { return emptyMessage; }
+    public boolean isEmpty() { return emptyMessage != null; }
+    public double getIncome() { return income; }
+    public double getExpense() { return expense; }
+    public double getNet() { return income - expense; }
+    public int getTransactionCount() { return transactionCount; }
+    public List<CategoryRow> getCategories() { return categories; }
+    public List<MonthRow> getMonths() { return months; }
+    public List<Transaction> getDetails() { return details; }
+    public ReportPeriod getPreviousPeriod() { return previousPeriod; }
+    public List<ComparisonRow> getComparisons() { return comparisons; }
+    public List<DistributionRow> getDistributions() { return distributions; }
+
+    /**
+     * Salinan laporan ini dengan baris distribusi (median/p90/p99 + histogram).
+     */
+    public ReportResult withDistributions(List<DistributionRow> rows) {
+        ReportResult copy = new ReportResult(reportName, title, period, emptyMessage, income, expense,
+                transactionCount, categories, months, details, previousPeriod, comparisons);
+        copy.distributions = Collections.unmodifiableList(rows);
+        return copy;
+    }
+
+    /**
+     * Satu baris pengeluaran per kategori.
+     */
+    public static final class CategoryRow {
+        private final Category category;
+        private final double expense;
+
+        public CategoryRow(Category category, double expense) {
+            this.category = category;
+            this.expense = expense;
+        }
+
+        public Category getCategory() { return category; }
+        public double getExpense() { return expense; }
+    }
+
+    /**
+     * Distribusi nominal transaksi untuk satu kategori atau satu bulan.
+     * histogram berisi jumlah transaksi per bin AmountHistogram.DISPLAY_BOUNDS.
+     */
+    public static final class DistributionRow {
+        private final String label;
+        private final long count;
+        private final double median;
+        private final double p90;
+        private final double p99;
+        private final long[] histogram;
+
+        public DistributionRow(String label, long count, double median, double p90, double p99, long[] histogram) {
+            this.label = label;
+            this.count = count;
+            this.median = median;
+            this.p90 = p90;
+            this.p99 = p99;
+            this.histogram = histogram;
+        }
+
+        public String getLabel() { return label; }
+        public long getCount() { return count; }
+        public double getMedian() { return median; }
+        public double getP90() { return p90; }
+        public double getP99() { return p99; }
+        public long[] getHistogram() { return histogram.clone(); }
+        public long getHistogramBin(int bin) { return histogram[bin]; }
+        public int getHistogramSize() { return histogram.length; }
+    }
+
+    /**
+     * Bagian laporan perbandingan tempat sebuah ComparisonRow berada.
+     */
+    public enum ComparisonSection {
+        TOTAL,
+        CATEGORY,
+        MONTH
+    }
+
+    /**
+     * Satu baris perbandingan: nilai periode berjalan vs periode pembanding.
+     */
+    public static final class ComparisonRow {
+        private final ComparisonSection section;
+        private final String label;
+        private final double current;
+        private final double previous;
+
+        public ComparisonRow(ComparisonSection section, String label, double current, double previous) {
+            this.section = section;
+            this.label = label;
+            this.current = current;
+            this.previous = previous;
+        }
+
+        public ComparisonSection getSection() { return section; }
+        public String getLabel() { return label; }
+        public double getCurrent() { return current; }
+        public double getPrevious() { return previous; }
+        public double getDelta() { return current - previous; }
+
+        public boolean hasPercentChange() {
+            return previous != 0;
+        }
+
+        /**
+         * Perubahan dalam persen terhadap periode pembanding (cek hasPercentChange dulu).
+         */
+        public double getPercentChange() {
+            return (current - previous) / Math.abs(previous) * 100;
+        }
+    }
+
+    /**
+     * Satu baris ringkasan per bulan.
+     */
+    public static final class MonthRow {
+        private final YearMonth month;
+        private final double income;
+        private final double expense;
+
+        public MonthRow(YearMonth month, double income, double expense) {
+            this.month = month;
+            this.income = income;
+            this.expense = expense;
+        }
+
+        public YearMonth getMonth() { return month; }
+        public double getIncome() { return income; }
+        public double getExpense() { return expense; }
+        public double getNet() { return income - expense; }
+    }
+}
@@ -0,0 +1,145 @@
+package com.financetracker.report;
+
+import com.financetracker.model.Transaction;
+
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Renderer teks untuk ditampilkan di dialog laporan.
+ */
+public class TextReportRenderer implements ReportRenderer {
+
+    /** Label bin untuk AmountHistogram.DISPLAY_BOUNDS */
+    static final String[] HISTOGRAM_LABELS = {"<1rb", "1rb-10rb", "10rb-100rb", "100rb-1jt", "1jt-10jt", ">=10jt"};
+
+    @Override
+    public String getFormatName() {
+        return "Teks";
+    }
+
+    @Override
+    public void render(ReportResult report, Appendable out) throws IOException {
+        if (report.isEmpty()) {
+            out.append(report.getEmptyMessage());
+            return;
+        }
+
+        out.append(report.getTitle()).append(":\n");
+        out.append("----------------------------\n");
+        appendAmountLine(out, "Total Pemasukan: Rp ", report.getIncome());
+        appendAmountLine(out, "Total Pengeluaran: Rp ", report.getExpense());
+        appendAmountLine(out, "Total Bersih: Rp ", report.getNet());
+        out.append('\n');
+
+        if (!report.getDetails().isEmpty()) {
+            out.append("Detail Transaksi:\n");
+            for (Transaction tx : report.getDetails()) {
+                out.append("- (").append(tx.getCategory().toString()).append(") ")
+                        .append(tx.getDescription()).append(": Rp ");
+                AmountFormat.appendGrouped(out, tx.getAmount());
+                out.append('\n');
+            }
+        }
+
+        if (!report.getCategories().isEmpty()) {
+            out.append("Pengeluaran per Kategori:\n");
+            for (ReportResult.CategoryRow row : report.getCategories()) {
+                out.append("- ").append(row.getCategory().toString()).append(": Rp ");
+                AmountFormat.appendGrouped(out, row.getExpense());
+                out.append('\n');
+            }
+        }
+
+        List<ReportResult.MonthRow> months = report.getMonths();
+        if (!months.isEmpty()) {
+            boolean multiYear = months.get(0).getMonth().getYear() != months.get(months.size() - 1).getMonth().getYear();
+            out.append("Ringkasan per Bulan:\n");
+            for (ReportResult.MonthRow row : months) {
+                YearMonth month = row.getMonth();
+                out.append("- ").append(month.getMonth().name());
+                if (multiYear) out.append(' ').append(Integer.toString(month.getYear()));
+                out.append(": Pemasukan Rp ");
+                AmountFormat.appendGrouped(out, row.getIncome());
+                out.append(" | Pengeluaran Rp ");
+                AmountFormat.appendGrouped(out, row.getExpense());
+                out.append(" | Bersih Rp ");
+                AmountFormat.appendGrouped(out, row.getNet());
+                out.append('\n');
+            }
+        }
+
+        if (!report.getDistributions().isEmpty()) {
+            out.append("\nDistribusi Nominal Transaksi (median / p90 / p99):\n");
+            for (ReportResult.DistributionRow row : report.getDistributions()) {
+                out.append("- ").append(row.getLabel()).append(" (n=").append(Long.toString(row.getCount()))
+                        .append("): Rp ");
+                AmountFormat.appendGrouped(out, row.getMedian());
+                out.append(" / Rp ");
+                AmountFormat.appendGrouped(out, row.getP90());
+                out.append(" / Rp ");
+                AmountFormat.appendGrouped(out, row.getP99());
+                out.append('\n');
+                out.append("  ");
+                appendHistogram(out, row);
+                out.append('\n');
+            }
+        }
+
+        ReportResult.ComparisonSection section = null;
+        for (ReportResult.ComparisonRow row : report.getComparisons()) {
+            if (row.getSection() != section) {
+                section = row.getSection();
+                appendComparisonHeader(out, section, report);
+            }
+            out.append("- ").append(row.getLabel()).append(": Rp ");
+            AmountFormat.appendGrouped(out, row.getCurrent());
+            out.append(" vs Rp ");
+            AmountFormat.appendGrouped(out, row.getPrevious());
+            out.append(" (selisih Rp ");
+            AmountFormat.appendGrouped(out, row.getDelta());
+            if (row.hasPercentChange()) {
+                out.append(", ");
+                AmountFormat.appendSignedPercent(out, row.getPercentChange());
+                out.append('%');
+            }
+            out.append(")\n");
+        }
+    }
+
+    /**
+     * Histogram ringkas: "<1rb:0 1rb-10rb:3 ... >=10jt:0" (bin kosong dilewati).
+     */
+    private static void appendHistogram(Appendable out, ReportResult.DistributionRow row) throws IOException {
+        boolean first = true;
+        for (int bin = 0; bin < row.getHistogramSize(); bin++) {
+            long count = row.getHistogramBin(bin);
+            if (count == 0) continue;
+            if (!first) out.append(' ');
+            first = false;
+            out.append(HISTOGRAM_LABELS[bin]).append(':').append(Long.toString(count));
+        }
+    }
+
+    private static void appendComparisonHeader(Appendable out, ReportResult.ComparisonSection section,
+                                               ReportResult report) throws IOException {
+        switch (section) {
+            case TOTAL:
+                out.append("Perbandingan dengan ").append(report.getPreviousPeriod().toString()).append(":\n");
+                break;
+            case CATEGORY:
+                out.append("\nPengeluaran per Kategori (vs periode lalu):\n");
+                break;
+            case MONTH:
+                out.append("\nPengeluaran per Bulan (vs periode lalu):\n");
+                break;
+        }
+    }
+
+    private static void appendAmountLine(Appendable out, String label, double amount) throws IOException {
+        out.append(label);
+        AmountFormat.appendGrouped(out, amount);
+        out.append('\n');
+    }
+}
@@ -0,0 +1,90 @@
+package com.financetracker.service;
+
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partisi data satu akun: transaksi (urut input), agregat, dan saldo.
+ *
+ * - Query per akun hanya menyentuh shard ini.
+ * - Agregat shard ikut menghitung kaki transfer (arus kas akun), berbeda
+ *   dengan agregat gabungan yang mengabaikan transfer antar akun.
+ * - dirty menandai shard yang berubah sejak snapshot terakhir, sehingga
+ *   hanya file akun tersebut yang ditulis ulang.
+ *
+ * Dipakai di bawah lock TransactionService.
+ */
+class AccountShard {
+
+    private final String account;
+    private final Map<String, Transaction> transactions = new LinkedHashMap<>();
+    private final LedgerAggregates aggregates = new LedgerAggregates();
+    private long balanceCents;
+    private boolean dirty;
+
+    AccountShard(String account) {
+        this.account = account;
+    }
+
+    boolean add(Transaction tx) {
+        if (transactions.putIfAbsent(tx.getId(), tx) != null) return false;
+        aggregates.add(tx);
+        balanceCents += signedCents(tx);
+        dirty = true;
+        return true;
+    }
+
+    Transaction remove(String id) {
+        Transaction removed = transactions.remove(id);
+        if (removed == null) return null;
+        aggregates.remove(removed);
+        balanceCents -= signedCents(removed);
+        dirty = true;
+        return removed;
+    }
+
+    private static long signedCents(Transaction tx) {
+        long cents = Math.round(tx.getAmount() * 100);
+        return tx.getType() == TransactionType.INCOME ? cents : -cents;
+    }
+
+    String getAccount() {
+        return account;
+    }
+
+    Collection<Transaction> values() {
+        return Collections.unmodifiableCollection(transactions.values());
+    }
+
+    List<Transaction> copyTransactions() {
+        return new ArrayList<>(transactions.values());
+    }
+
+    LedgerAggregates getAggregates() {
+        return aggregates;
+    }
+
+    double getBalance() {
+        return balanceCents / 100.0;
+    }
+
+    boolean isDirty() {
+        return dirty;
+    }
+
+    void markDirty() {
+        dirty = true;
+    }
+
+    void markClean() {
+        dirty = false;
+    }
+}
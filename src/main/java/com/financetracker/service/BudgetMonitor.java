@@ -0,0 +1,145 @@
+package com.financetracker.service;
+
+import com.financetracker.aggregate.Totals;
+import com.financetracker.event.BudgetThresholdEvent;
+import com.financetracker.model.BudgetSettings;
+import com.financetracker.model.Category;
+import com.financetracker.model.CategoryBudget;
+import com.financetracker.storage.StorageManager;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mengevaluasi budget total dan per kategori terhadap ambang bertingkat
+ * (default 50/80/100%).
+ *
+ * - Setiap ambang punya status picu sendiri dengan histeresis: setelah
+ *   memicu, ambang baru siap memicu lagi bila pemakaian turun lebih dari
+ *   HYSTERESIS_PERCENT di bawahnya (mencegah notifikasi berulang saat
+ *   transaksi ditambah/hapus di sekitar batas).
+ * - Evaluasi inkremental: hanya kategori yang tersentuh mutasi (plus total)
+ *   yang diperiksa, memakai total bulanan yang sudah dipelihara LedgerAggregates.
+ * - Status picu ikut disimpan di data/budgets.json dan direset saat ganti bulan.
+ */
+public class BudgetMonitor {
+
+    /** Jarak (poin persen) di bawah ambang sebelum ambang boleh memicu lagi */
+    public static final int HYSTERESIS_PERCENT = 5;
+
+    private final StorageManager storageManager;
+    private final BudgetSettings settings;
+
+    public BudgetMonitor(StorageManager storageManager, BudgetSettings settings) {
+        this.storageManager = storageManager;
+        this.settings = settings;
+    }
+
+    public synchronized double getOverallLimit() {
+        return settings.getOverall().getLimit();
+    }
+
+    public synchronized void setOverallLimit(double limit) {
+        settings.getOverall().setLimit(limit);
+        storageManager.saveBudgetSettings(settings);
+    }
+
+    /**
+     * Limit kategori; 0 jika kategori tidak dibatasi.
+     */
+    public synchronized double getCategoryLimit(Category category) {
+        CategoryBudget budget = settings.getCategoryBudget(category);
+        return budget != null ? budget.getLimit() : 0;
+    }
+
+    /**
+     * Mengatur budget kategori; limit 0 menghapus budget kategori tersebut.
+     */
+    public synchronized void setCategoryLimit(Category category, double limit, int[] thresholds) {
+        settings.setCategoryBudget(category, limit > 0 ? new CategoryBudget(limit, thresholds) : null);
+        storageManager.saveBudgetSettings(settings);
+    }
+
+    public synchronized void setOverallThresholds(int[] thresholds) {
+        settings.setOverall(new CategoryBudget(settings.getOverall().getLimit(), thresholds));
+        storageManager.saveBudgetSettings(settings);
+    }
+
+    /**
+     * Memeriksa budget total dan kategori yang tersentuh terhadap total bulan
+     * berjalan. Mengembalikan event untuk ambang yang baru terlewati.
+     *
+     * @param touched kategori yang tersentuh mutasi; null = periksa semua kategori
+     */
+    public synchronized List<BudgetThresholdEvent> evaluate(YearMonth month, Totals monthTotals,
+                                                            Collection<Category> touched) {
+        List<BudgetThresholdEvent> events = new ArrayList<>();
+        boolean changed = false;
+
+        if (!month.equals(settings.getMonth())) {
+            settings.setMonth(month);
+            settings.getOverall().resetTriggers();
+            for (CategoryBudget budget : settings.getCategoryBudgets().values()) budget.resetTriggers();
+            changed = true;
+        }
+
+        changed |= evaluate(null, settings.getOverall(), monthTotals.getExpense(), events);
+
+        if (touched == null) {
+            for (Map.Entry<Category, CategoryBudget> entry : settings.getCategoryBudgets().entrySet()) {
+                changed |= evaluate(entry.getKey(), entry.getValue(),
+                        monthTotals.getExpense(entry.getKey()), events);
+            }
+        } else {
+            for (Category category : touched) {
+                CategoryBudget budget = settings.getCategoryBudget(category);
+                if (budget != null) {
+                    changed |= evaluate(category, budget, monthTotals.getExpense(category), events);
+                }
+            }
+        }
+
+        if (changed) storageManager.saveBudgetSettings(settings);
+        return events;
+    }
+
+    /**
+     * Evaluasi satu cakupan; true jika ada status picu yang berubah.
+     */
+    private static boolean evaluate(Category category, CategoryBudget budget, double spending,
+                                    List<BudgetThresholdEvent> events) {
+        boolean changed = false;
+        if (budget.getLimit() <= 0) {
+            for (int i = 0; i < budget.getThresholdCount(); i++) {
+                if (budget.isTriggered(i)) {
+                    budget.setTriggered(i, false);
+                    changed = true;
+                }
+            }
+            return changed;
+        }
+
+        double percentage = (spending / budget.getLimit()) * 100;
+        int highestCrossed = -1;
+        for (int i = 0; i < budget.getThresholdCount(); i++) {
+            int threshold = budget.getThreshold(i);
+            if (!budget.isTriggered(i) && percentage >= threshold) {
+                budget.setTriggered(i, true);
+                highestCrossed = i;
+                changed = true;
+            } else if (budget.isTriggered(i) && percentage < threshold - HYSTERESIS_PERCENT) {
+                budget.setTriggered(i, false);
+                changed = true;
+            }
+        }
+
+        // Lompatan melewati beberapa ambang sekaligus cukup satu notifikasi (ambang tertinggi)
+        if (highestCrossed >= 0) {
+            events.add(new BudgetThresholdEvent(category, budget.getThreshold(highestCrossed), spending, budget.getLimit()));
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,13 @@
+package com.financetracker.service;
+
+/**
+ * Perlakuan terhadap transaksi yang sidik jarinya sama dengan transaksi tercatat.
+ */
+public enum DuplicatePolicy {
+    /** Tolak: transaksi tidak disimpan (addTransaction melempar exception) */
+    REJECT,
+    /** Tandai: transaksi tetap disimpan, observer diberi peringatan */
+    FLAG,
+    /** Gabung: dianggap transaksi yang sama, cukup satu yang tercatat (impor idempoten) */
+    MERGE
+}
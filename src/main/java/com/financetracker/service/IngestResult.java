@@ -0,0 +1,65 @@
+package com.financetracker.service;
+
+import com.financetracker.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Ringkasan hasil penambahan transaksi (tunggal maupun batch).
+ */
+public class IngestResult {
+
+    private final List<Transaction> added = new ArrayList<>();
+    private final List<Transaction> flagged = new ArrayList<>();
+    private final List<Transaction> rejected = new ArrayList<>();
+    private int merged;
+
+    void recordAdded(Transaction tx) {
+        added.add(tx);
+    }
+
+    void recordFlagged(Transaction tx) {
+        added.add(tx);
+        flagged.add(tx);
+    }
+
+    void recordRejected(Transaction tx) {
+        rejected.add(tx);
+    }
+
+    void recordMerged() {
+        merged++;
+    }
+
+    /** Transaksi yang benar-benar disimpan (termasuk yang ditandai duplikat) */
+    public List<Transaction> getAdded() {
+        return Collections.unmodifiableList(added);
+    }
+
+    /** Transaksi yang disimpan tetapi ditandai kemungkinan duplikat */
+    public List<Transaction> getFlagged() {
+        return Collections.unmodifiableList(flagged);
+    }
+
+    /** Transaksi duplikat yang ditolak */
+    public List<Transaction> getRejected() {
+        return Collections.unmodifiableList(rejected);
+    }
+
+    /** Jumlah transaksi yang digabung ke transaksi tercatat (ID sama, atau duplikat dengan kebijakan MERGE) */
+    public int getMergedCount() {
+        return merged;
+    }
+
+    @Override
+    public String toString() {
+        return "IngestResult{" +
+                "added=" + added.size() +
+                ", flagged=" + flagged.size() +
+                ", rejected=" + rejected.size() +
+                ", merged=" + merged +
+                '}';
+    }
+}
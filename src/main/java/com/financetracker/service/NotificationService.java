@@ -17,7 +17,8 @@ public class NotificationService implements BudgetObserver {
     }
 
     /**
-     * Dipanggil oleh Subject (TransactionService) ketika budget terlampaui.
+     * Dipanggil (di thread EventBus) untuk setiap notifikasi dari TransactionService:
+     * ambang budget, peringatan dini, anomali, dan kemungkinan duplikat.
      */
     @Override
     public void update(String message) {
@@ -0,0 +1,136 @@
+package com.financetracker.service;
+
+import com.financetracker.model.RecurringRule;
+import com.financetracker.model.Transaction;
+import com.financetracker.storage.StorageManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Membuat transaksi dari aturan transaksi rutin (RecurringRule).
+ *
+ * - Dijalankan saat startup dan setiap pergantian hari.
+ * - Semua kemunculan yang jatuh tempo sejak materializedThrough tiap aturan
+ *   dikumpulkan lalu ditambahkan lewat satu TransactionService.addTransactions
+ *   (satu entri jurnal, sekali undo).
+ * - Idempoten: ID transaksi deterministik, dan ID yang sudah tercatat dilewati.
+ * - Mutasi dijalankan lewat mutationExecutor (mis. thread ledger-io UI), sesuai aturan bahwa
+ *   TransactionService hanya dimutasi dari satu thread.
+ */
+public class RecurringTransactionScheduler {
+
+    private final TransactionService transactionService;
+    private final StorageManager storageManager;
+    private final Clock clock;
+    private final Executor mutationExecutor;
+    private final ScheduledExecutorService timer;
+    private final List<RecurringRule> rules;
+
+    public RecurringTransactionScheduler(TransactionService transactionService, Clock clock) {
+        this(transactionService, clock, Runnable::run);
+    }
+
+    public RecurringTransactionScheduler(TransactionService transactionService, Clock clock, Executor mutationExecutor) {
+        this.transactionService = transactionService;
+        this.storageManager = StorageManager.getInstance();
+        this.clock = clock;
+        this.mutationExecutor = mutationExecutor;
+        this.rules = storageManager.loadRecurringRules();
+        this.timer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "recurring-rollover");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Mengejar kemunculan yang tertinggal lalu menjadwalkan pergantian hari.
+     */
+    public void start() {
+        catchUp();
+        scheduleRollover();
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+
+    public synchronized List<RecurringRule> getRules() {
+        return new ArrayList<>(rules);
+    }
+
+    /**
+     * Menambah aturan baru dan langsung membuat kemunculan yang sudah jatuh tempo.
+     */
+    public synchronized IngestResult addRule(RecurringRule rule) {
+        for (RecurringRule existing : rules) {
+            if (existing.getId().equals(rule.getId()))
+                throw new IllegalArgumentException("Aturan transaksi rutin sudah ada.");
+        }
+        rules.add(rule);
+        return catchUp();
+    }
+
+    /**
+     * Menghapus aturan; transaksi yang sudah dibuat tetap tersimpan.
+     */
+    public synchronized void removeRule(String ruleId) {
+        if (rules.removeIf(rule -> rule.getId().equals(ruleId))) {
+            storageManager.saveRecurringRules(rules);
+        }
+    }
+
+    /**
+     * Membuat semua kemunculan yang jatuh tempo sampai hari ini dalam satu batch.
+     */
+    public synchronized IngestResult catchUp() {
+        LocalDate today = LocalDate.now(clock);
+        List<Transaction> due = new ArrayList<>();
+        List<RecurringRule> advanced = new ArrayList<>();
+
+        for (RecurringRule rule : rules) {
+            LocalDate done = rule.getMaterializedThrough();
+            if (done != null && !done.isBefore(today)) continue;
+
+            LocalDate from = done == null ? rule.getStartDate() : done.plusDays(1);
+            for (LocalDate date : rule.occurrencesBetween(from, today)) {
+                if (!transactionService.containsTransaction(rule.transactionIdFor(date))) {
+                    due.add(rule.toTransaction(date));
+                }
+            }
+            advanced.add(rule);
+        }
+
+        // Bila batch gagal tercatat (exception), aturan tidak dimajukan dan dicoba lagi nanti
+        IngestResult result = due.isEmpty() ? new IngestResult() : transactionService.addTransactions(due);
+        if (!advanced.isEmpty()) {
+            for (RecurringRule rule : advanced) rule.setMaterializedThrough(today);
+            storageManager.saveRecurringRules(rules);
+        }
+        return result;
+    }
+
+    /**
+     * Menjadwalkan catchUp tepat setelah tengah malam, lalu menjadwalkan ulang dirinya.
+     */
+    private void scheduleRollover() {
+        if (timer.isShutdown()) return;
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        long delay = Math.max(0, Duration.between(now, nextMidnight).toMillis()) + 1_000;
+
+        timer.schedule(() -> {
+            mutationExecutor.execute(this::catchUp);
+            scheduleRollover();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+}
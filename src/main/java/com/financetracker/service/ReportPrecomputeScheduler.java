@@ -0,0 +1,117 @@
+package com.financetracker.service;
+
+import com.financetracker.patterns.observer.DataChangeObserver;
+import com.financetracker.patterns.strategy.ReportStrategy;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Menghitung laporan harian/bulanan/tahunan di latar belakang sehingga
+ * ReportService bisa langsung menyajikan hasil dari cache.
+ *
+ * - Dijalankan setelah startup, setelah setiap "ledakan" penulisan
+ *   (di-debounce), dan saat pergantian hari/bulan.
+ * - Memakai satu thread daemon berprioritas rendah.
+ * - Job yang sudah basi (ada penulisan baru) dibatalkan.
+ */
+public class ReportPrecomputeScheduler implements DataChangeObserver {
+
+    /** Jeda tenang setelah penulisan terakhir sebelum precompute dimulai */
+    private static final long WRITE_DEBOUNCE_MILLIS = 500;
+
+    private final ReportService reportService;
+    private final List<ReportStrategy> strategies;
+    private final Clock clock;
+    private final ScheduledExecutorService executor;
+
+    /** Naik setiap ada penulisan; job dengan generasi lama berhenti di tengah jalan */
+    private final AtomicLong generation = new AtomicLong();
+
+    private ScheduledFuture<?> pendingJob;
+
+    public ReportPrecomputeScheduler(ReportService reportService, List<ReportStrategy> strategies, Clock clock) {
+        this.reportService = reportService;
+        this.strategies = List.copyOf(strategies);
+        this.clock = clock;
+        this.executor = Executors.newSingleThreadScheduledExecutor(lowPriorityThreads());
+    }
+
+    /**
+     * Precompute awal dan penjadwalan pergantian hari berikutnya.
+     */
+    public synchronized void start() {
+        schedulePrecompute(0);
+        scheduleRollover();
+    }
+
+    public synchronized void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Dipanggil TransactionService setelah mutasi: job yang tertunda/berjalan
+     * menjadi basi dan precompute dijadwalkan ulang setelah jeda tenang.
+     */
+    @Override
+    public void dataChanged(long dataVersion) {
+        schedulePrecompute(WRITE_DEBOUNCE_MILLIS);
+    }
+
+    private synchronized void schedulePrecompute(long delayMillis) {
+        if (executor.isShutdown()) return;
+        long myGeneration = generation.incrementAndGet();
+        if (pendingJob != null) {
+            pendingJob.cancel(false);
+        }
+        pendingJob = executor.schedule(() -> precompute(myGeneration), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void precompute(long myGeneration) {
+        LocalDate today = LocalDate.now(clock);
+        for (ReportStrategy strategy : strategies) {
+            if (generation.get() != myGeneration || Thread.currentThread().isInterrupted()) {
+                return; // sudah ada penulisan baru, hasil job ini basi
+            }
+            try {
+                reportService.precompute(strategy, strategy.periodFor(today));
+            } catch (RuntimeException e) {
+                System.err.println("Gagal precompute " + strategy.getReportName() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Menjadwalkan precompute tepat setelah tengah malam (pergantian hari,
+     * termasuk pergantian bulan/tahun), lalu menjadwalkan ulang dirinya.
+     */
+    private synchronized void scheduleRollover() {
+        if (executor.isShutdown()) return;
+        LocalDateTime now = LocalDateTime.now(clock);
+        LocalDateTime nextMidnight = now.toLocalDate().plusDays(1).atStartOfDay();
+        long delay = Math.max(0, Duration.between(now, nextMidnight).toMillis()) + 1_000;
+
+        executor.schedule(() -> {
+            schedulePrecompute(0);
+            scheduleRollover();
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static ThreadFactory lowPriorityThreads() {
+        return runnable -> {
+            Thread thread = new Thread(runnable, "report-precompute");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MIN_PRIORITY);
+            return thread;
+        };
+    }
+}
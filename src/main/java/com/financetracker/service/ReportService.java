@@ -1,22 +1,61 @@
 package com.financetracker.service;
 
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
 import com.financetracker.patterns.strategy.ReportStrategy;
+import com.financetracker.report.ReportRenderer;
+import com.financetracker.report.ReportResult;
+import com.financetracker.report.TextReportRenderer;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 
 /**
  * Context untuk Strategy Pattern.
  * Service ini menggunakan (HAS-A) ReportStrategy.
  * GUI akan berinteraksi dengan service ini, bukan langsung ke strategy-nya.
+ *
+ * Hasil laporan di-cache (LRU) dengan kunci strategi + periode, dan ditandai
+ * dengan versi data periode tersebut dari TransactionService. Cache hanya
+ * dihitung ulang bila ada mutasi yang menyentuh periode laporan.
+ * Laporan dihitung dari agregat TransactionService, bukan memindai ulang list.
+ * Yang di-cache adalah ReportResult terstruktur; format keluaran (teks, CSV,
+ * JSON, prompt AI) ditentukan oleh ReportRenderer saat dibutuhkan.
+ *
+ * Cache aman diakses dari beberapa thread: ReportPrecomputeScheduler mengisinya
+ * di latar belakang sehingga permintaan dari UI biasanya langsung kena cache.
  */
 public class ReportService {
-    
-    private ReportStrategy strategy;
 
-    public ReportService() {
+    private static final int DEFAULT_CACHE_CAPACITY = 32;
+    private static final String NO_STRATEGY_MESSAGE = "Silakan pilih jenis laporan terlebih dahulu.";
+
+    private final TransactionService transactionService;
+    private final Map<CacheKey, CachedReport> cache;
+    private final ReportRenderer textRenderer = new TextReportRenderer();
+    private volatile ReportStrategy strategy;
+
+    // Dijaga oleh lock pada cache (diakses dari thread ui-compute dan thread precompute)
+    private long cacheHits = 0;
+    private long cacheMisses = 0;
+
+    public ReportService(TransactionService transactionService) {
+        this(transactionService, DEFAULT_CACHE_CAPACITY);
+    }
+
+    public ReportService(TransactionService transactionService, int cacheCapacity) {
+        this.transactionService = transactionService;
         // Default strategy (opsional)
         this.strategy = null;
+        // accessOrder = true → urutan LRU, entri tertua dibuang saat penuh
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, CachedReport> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
     }
 
     public void setStrategy(ReportStrategy strategy) {
@@ -24,12 +63,149 @@ public class ReportService {
     }
 
     /**
-     * Menjalankan strategi yang saat ini di-set.
+     * Menjalankan strategi yang saat ini di-set terhadap data TransactionService.
+     * Hasil diambil dari cache selama periode laporan belum tersentuh mutasi.
+     */
+    public String generateReport() {
+        return generateReport(textRenderer);
+    }
+
+    /**
+     * Laporan periode berjalan dalam format renderer tertentu.
+     */
+    public String generateReport(ReportRenderer renderer) {
+        if (strategy == null) {
+            return NO_STRATEGY_MESSAGE;
+        }
+        return renderer.renderToString(getReport(strategy.getPeriod()));
+    }
+
+    /**
+     * Menjalankan strategi yang saat ini di-set untuk periode tertentu
+     * (hari, bulan, tahun, atau rentang bebas), dihitung dari agregat.
+     */
+    public String generateReport(ReportPeriod period) {
+        if (strategy == null) {
+            return NO_STRATEGY_MESSAGE;
+        }
+        return textRenderer.renderToString(getReport(period));
+    }
+
+    /**
+     * Laporan terstruktur untuk strategi yang di-set, lewat cache.
+     */
+    public ReportResult getReport(ReportPeriod period) {
+        ReportStrategy current = strategy;
+        if (current == null) {
+            throw new IllegalStateException(NO_STRATEGY_MESSAGE);
+        }
+        return lookupOrCompute(current, period, true);
+    }
+
+    /**
+     * Mengisi cache untuk strategi dan periode tertentu bila belum valid.
+     * Dipanggil dari thread latar; tidak dihitung dalam statistik hit/miss.
+     */
+    public void precompute(ReportStrategy strategy, ReportPeriod period) {
+        lookupOrCompute(strategy, period, false);
+    }
+
+    private ReportResult lookupOrCompute(ReportStrategy strategy, ReportPeriod period, boolean countStats) {
+        CacheKey key = new CacheKey(strategy.getClass().getName(), period);
+        // Laporan perbandingan juga bergantung pada periode sebelumnya
+        ReportPeriod dependency = strategy.dependencyPeriod(period);
+        long version = transactionService.getVersionForPeriod(dependency);
+
+        synchronized (cache) {
+            CachedReport cached = cache.get(key);
+            if (cached != null && cached.version == version) {
+                if (countStats) cacheHits++;
+                return cached.report;
+            }
+            if (countStats) cacheMisses++;
+        }
+
+        // Dihitung di luar lock cache; versi dan isi dibaca di bawah read-lock yang sama
+        CachedReport computed = transactionService.readAggregates(agg -> new CachedReport(
+                transactionService.getVersionForPeriod(dependency), strategy.buildReport(agg, period)));
+
+        synchronized (cache) {
+            CachedReport existing = cache.get(key);
+            if (existing == null || existing.version <= computed.version) {
+                cache.put(key, computed);
+            }
+        }
+        return computed.report;
+    }
+
+    /**
+     * Menjalankan strategi yang saat ini di-set terhadap list apa pun (tanpa cache).
      */
     public String generateReport(List<Transaction> transactions) {
         if (strategy == null) {
-            return "Silakan pilih jenis laporan terlebih dahulu.";
+            return NO_STRATEGY_MESSAGE;
+        }
+        return textRenderer.renderToString(strategy.buildReport(transactions));
+    }
+
+    // ============================================================
+    //                      STATISTIK CACHE
+    // ============================================================
+
+    public long getCacheHits() {
+        synchronized (cache) {
+            return cacheHits;
+        }
+    }
+
+    public long getCacheMisses() {
+        synchronized (cache) {
+            return cacheMisses;
+        }
+    }
+
+    public int getCacheSize() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    public void clearCache() {
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    private static final class CacheKey {
+        private final String strategyName;
+        private final ReportPeriod period;
+
+        CacheKey(String strategyName, ReportPeriod period) {
+            this.strategyName = strategyName;
+            this.period = period;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+            CacheKey that = (CacheKey) o;
+            return strategyName.equals(that.strategyName) && period.equals(that.period);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(strategyName, period);
+        }
+    }
+
+    private static final class CachedReport {
+        private final long version;
+        private final ReportResult report;
+
+        CachedReport(long version, ReportResult report) {
+            this.version = version;
+            this.report = report;
         }
-        return strategy.generateReport(transactions);
     }
-}
\ No newline at end of file
+}
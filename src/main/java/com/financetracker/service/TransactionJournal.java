@@ -0,0 +1,194 @@
+package com.financetracker.service;
+
+import com.financetracker.aggregate.SketchSnapshot;
+import com.financetracker.model.JournalEntry;
+import com.financetracker.model.Transaction;
+import com.financetracker.storage.StorageManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Jurnal mutasi ledger yang sekaligus menjadi jurnal persistensi.
+ *
+ * - Setiap mutasi ditambahkan sebagai satu baris di data/journal.jsonl,
+ *   menggantikan penulisan ulang seluruh file transaksi. Transfer antar akun
+ *   (dua kaki di dua shard) tercatat dalam satu baris sehingga atomik.
+ * - Setiap SNAPSHOT_INTERVAL entri, state ditulis sebagai snapshot baru
+ *   (satu file per akun) dan jurnal dimulai ulang, sehingga pemutaran ulang saat startup terbatas.
+ *   Jurnal lama diarsipkan ke data/history; snapshot hanya diarsipkan sekali
+ *   sebagai dasar, dan kueri riwayat memutar maju jurnal arsip dari dasar itu.
+ * - Pemutaran ulang idempoten (ADD untuk ID yang sudah ada dan DELETE untuk
+ *   ID yang tidak ada dilewati; REPLACE = DELETE lalu ADD), sehingga aplikasi yang mati di tengah
+ *   pembuatan snapshot tetap pulih ke state yang benar.
+ *
+ * Mutasi jurnal hanya datang dari thread penulis TransactionService;
+ * synchronized menjaga kueri riwayat dari thread lain tetap konsisten.
+ */
+class TransactionJournal {
+
+    /** Jumlah entri jurnal sebelum snapshot baru ditulis */
+    static final int SNAPSHOT_INTERVAL = 200;
+
+    private final StorageManager storageManager;
+    private final Clock clock;
+
+    /** Versi snapshot transaksi yang menjadi dasar jurnal aktif */
+    private long baseVersion;
+    private long version;
+
+    /** Entri jurnal aktif (setelah snapshot terakhir), untuk kueri riwayat mundur */
+    private final List<JournalEntry> entries = new ArrayList<>();
+
+    TransactionJournal(StorageManager storageManager, Clock clock) {
+        this.storageManager = storageManager;
+        this.clock = clock;
+    }
+
+    /**
+     * Memuat jurnal aktif dan mengembalikan entri yang perlu diputar ulang di
+     * atas snapshot. Data lama tanpa jurnal dimulai dari versi 0.
+     */
+    synchronized List<JournalEntry> load() {
+        List<JournalEntry> loaded = storageManager.loadJournal();
+        if (loaded.isEmpty() || loaded.get(0).getKind() != JournalEntry.Kind.SNAPSHOT) {
+            baseVersion = 0;
+            version = 0;
+            storageManager.resetJournal(header(0));
+            if (!loaded.isEmpty()) {
+                System.err.println("Jurnal transaksi tanpa entri pembuka diabaikan.");
+            }
+            return List.of();
+        }
+
+        baseVersion = loaded.get(0).getVersion();
+        version = baseVersion;
+        for (JournalEntry entry : loaded.subList(1, loaded.size())) {
+            if (entry.getKind() == JournalEntry.Kind.SNAPSHOT || entry.getVersion() <= version) continue;
+            entries.add(entry);
+            version = entry.getVersion();
+        }
+        return new ArrayList<>(entries);
+    }
+
+    /**
+     * Mencatat mutasi sebagai entri baru dengan versi berikutnya.
+     */
+    synchronized JournalEntry append(JournalEntry.Kind kind, List<Transaction> transactions) {
+        return append(kind, transactions, null);
+    }
+
+    /**
+     * Versi hanya naik bila entri berhasil ditulis.
+     *
+     * @param previous versi lama transaksi yang diganti (hanya untuk REPLACE)
+     * @throws java.io.UncheckedIOException bila entri gagal ditulis
+     */
+    synchronized JournalEntry append(JournalEntry.Kind kind, List<Transaction> transactions,
+                                     List<Transaction> previous) {
+        JournalEntry entry = new JournalEntry(version + 1, kind, Instant.now(clock).toString(),
+                transactions, previous);
+        storageManager.appendJournal(entry);
+        entries.add(entry);
+        version = entry.getVersion();
+        return entry;
+    }
+
+    synchronized boolean isSnapshotDue() {
+        return entries.size() >= SNAPSHOT_INTERVAL;
+    }
+
+    /**
+     * Menulis snapshot baru lalu memulai jurnal baru. Hanya shard akun yang
+     * berubah sejak snapshot terakhir yang ditulis ulang.
+     * Urutan: arsip → shard akun → sketsa → jurnal baru. Bila salah satunya
+     * gagal ditulis, jurnal lama dipertahankan (dicoba lagi di mutasi
+     * berikutnya); segmen jurnal yang belum terarsip tidak pernah dibuang.
+     *
+     * @return false bila snapshot gagal ditulis
+     */
+    synchronized boolean snapshot(Map<String, List<Transaction>> changedAccounts, SketchSnapshot sketches) {
+        if (!storageManager.archiveLedger(baseVersion)) return false;
+        if (!storageManager.saveAccountTransactions(changedAccounts)) return false;
+        if (!storageManager.saveSketches(sketches)) return false;
+        if (!storageManager.resetJournal(header(version))) return false;
+        baseVersion = version;
+        entries.clear();
+        return true;
+    }
+
+    synchronized long getVersion() {
+        return version;
+    }
+
+    synchronized long getBaseVersion() {
+        return baseVersion;
+    }
+
+    /**
+     * Daftar transaksi pada versi tertentu.
+     * - Versi di jurnal aktif: entri yang lebih baru dibatalkan mundur dari state saat ini.
+     * - Versi lebih lama: snapshot arsip terdekat diputar maju dengan jurnal-jurnal
+     *   arsip berikutnya sampai versi tersebut. Versi harus bersambung; bila ada
+     *   segmen yang hilang, riwayat dianggap tidak tersedia.
+     */
+    synchronized List<Transaction> transactionsAsOf(long asOf, Collection<Transaction> current) {
+        if (asOf < 0 || asOf > version)
+            throw new IllegalArgumentException("Versi data tidak valid: " + asOf);
+
+        if (asOf >= baseVersion) {
+            Map<String, Transaction> state = index(current);
+            for (int i = entries.size() - 1; i >= 0 && entries.get(i).getVersion() > asOf; i--) {
+                JournalEntry entry = entries.get(i);
+                apply(state, entry.getAdded(), entry.getRemoved());
+            }
+            return new ArrayList<>(state.values());
+        }
+
+        long archived = -1;
+        for (long candidate : storageManager.listHistoryVersions()) {
+            if (candidate <= asOf) archived = candidate;
+        }
+        if (archived < 0)
+            throw new IllegalArgumentException("Riwayat untuk versi " + asOf + " tidak tersedia.");
+
+        Map<String, Transaction> state = index(storageManager.loadHistorySnapshot(archived));
+        long reached = archived;
+        for (long segment : storageManager.listHistoryJournalVersions()) {
+            if (reached == asOf) break;
+            if (segment < archived) continue;
+            for (JournalEntry entry : storageManager.loadHistoryJournal(segment)) {
+                if (entry.getKind() == JournalEntry.Kind.SNAPSHOT || entry.getVersion() <= reached) continue;
+                if (entry.getVersion() > asOf || entry.getVersion() != reached + 1) break;
+                apply(state, entry.getRemoved(), entry.getAdded());
+                reached = entry.getVersion();
+            }
+        }
+        if (reached != asOf)
+            throw new IllegalArgumentException("Riwayat untuk versi " + asOf + " tidak lengkap.");
+        return new ArrayList<>(state.values());
+    }
+
+    private static Map<String, Transaction> index(Collection<Transaction> transactions) {
+        Map<String, Transaction> state = new LinkedHashMap<>();
+        for (Transaction tx : transactions) state.put(tx.getId(), tx);
+        return state;
+    }
+
+    /**
+     * Menerapkan satu entri (atau kebalikannya, dengan kedua daftar ditukar).
+     */
+    private static void apply(Map<String, Transaction> state, List<Transaction> removed, List<Transaction> added) {
+        for (Transaction tx : removed) state.remove(tx.getId());
+        for (Transaction tx : added) state.putIfAbsent(tx.getId(), tx);
+    }
+
+    private JournalEntry header(long snapshotVersion) {
+        return new JournalEntry(snapshotVersion, JournalEntry.Kind.SNAPSHOT, Instant.now(clock).toString(), List.of());
+    }
+}
@@ -1,44 +1,175 @@
 package com.financetracker.service;
 
+import com.financetracker.aggregate.DuplicateIndex;
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.aggregate.MonthEndForecaster;
+import com.financetracker.aggregate.SketchSnapshot;
+import com.financetracker.aggregate.SpendingAnomaly;
+import com.financetracker.aggregate.SpendingAnomalyDetector;
+import com.financetracker.aggregate.SpendingForecast;
+import com.financetracker.event.DuplicateTransactionEvent;
+import com.financetracker.event.EventBus;
+import com.financetracker.event.ForecastWarningEvent;
+import com.financetracker.event.MessageEvent;
+import com.financetracker.event.NotificationEvent;
+import com.financetracker.event.SnapshotSavedEvent;
+import com.financetracker.event.SpendingAnomalyEvent;
+import com.financetracker.event.TransactionsDeletedEvent;
+import com.financetracker.event.TransactionsAddedEvent;
+import com.financetracker.factory.TransactionFactory;
 import com.financetracker.model.Category;
+import com.financetracker.model.CategoryBudget;
+import com.financetracker.model.JournalEntry;
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFilter;
 import com.financetracker.model.TransactionType;
 import com.financetracker.patterns.observer.BudgetObserver;
 import com.financetracker.patterns.observer.BudgetSubject;
+import com.financetracker.patterns.observer.DataChangeObserver;
 import com.financetracker.storage.StorageManager;
 
+import java.io.UncheckedIOException;
+import java.time.Clock;
 import java.time.LocalDate;
-import java.time.Month;
+import java.time.YearMonth;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.EnumSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.List;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * TransactionService — versi final dan ditingkatkan.
  * 
- * - Mengelola operasi CRUD transaksi.
- * - Mengelola budget bulanan (dengan persistence).
- * - Memberikan notifikasi budget via Observer Pattern.
+ * - Mengelola operasi CRUD transaksi, termasuk impor batch dengan satu kali simpan.
+ * - Memartisi data per akun (AccountShard: penyimpanan, indeks, agregat,
+ *   saldo); agregat gabungan lintas akun dipelihara bersama setiap mutasi
+ *   shard dan tidak menghitung transfer antar akun. Transfer bersifat atomik.
+ * - Setiap mutasi dicatat sebagai entri jurnal (event sourcing) yang sekaligus
+ *   menjadi jurnal persistensi; mendukung undo/redo dan kueri data per versi.
+ * - Mendeteksi transaksi duplikat (sidik jari hash) sesuai DuplicatePolicy.
+ * - Mengelola budget total dan per kategori dengan ambang bertingkat
+ *   (persist di data/budgets.json) serta proyeksi akhir bulan.
+ * - Mengirim event bertipe (transaksi, ambang budget, snapshot tersimpan)
+ *   lewat EventBus asinkron; BudgetObserver tetap didukung sebagai subscriber
+ *   NotificationEvent sehingga I/O observer tidak pernah berjalan di EDT.
+ * - Mendeteksi pengeluaran tidak wajar dan melaporkannya lewat observer yang sama.
  * - Memastikan filter, perhitungan, dan penyimpanan stabil dan aman.
+ *
+ * Mutasi dilakukan dari satu thread (thread ledger-io UI); pembaca lain
+ * (mis. precompute laporan) memakai read-lock lewat readAggregates().
  */
 public class TransactionService implements BudgetSubject {
 
-    private List<Transaction> transactions;
+    /** Indeks global semua transaksi sesuai urutan input, dengan akses O(1) per ID */
+    private final Map<String, Transaction> transactions = new LinkedHashMap<>();
+
+    /** Partisi per akun (urut nama akun) */
+    private final Map<String, AccountShard> shards = new TreeMap<>();
     private final StorageManager storageManager;
-    private final List<BudgetObserver> observers;
+    private final EventBus eventBus;
+    private final Map<BudgetObserver, EventBus.Subscription> observerSubscriptions = new IdentityHashMap<>();
+    private final List<DataChangeObserver> dataObservers = new CopyOnWriteArrayList<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Clock clock;
+
+    /** Agregat gabungan semua akun (tanpa transfer) yang diperbarui di setiap mutasi */
+    private final LedgerAggregates aggregates;
+
+    /** Baseline pengeluaran per kategori untuk deteksi anomali (O(1) per transaksi) */
+    private final SpendingAnomalyDetector anomalyDetector;
+
+    /** Jurnal mutasi + snapshot berkala (persistensi dan riwayat versi) */
+    private final TransactionJournal journal;
+
+    /** Batas kedalaman undo per sesi */
+    private static final int MAX_UNDO = 100;
+
+    /** Entri jurnal yang bisa di-undo/redo (hanya sesi berjalan); elemen pertama = terbaru */
+    private final Deque<JournalEntry> undoStack = new ArrayDeque<>();
+    private final Deque<JournalEntry> redoStack = new ArrayDeque<>();
+
+    /** Indeks sidik jari untuk deteksi duplikat O(1) */
+    private final DuplicateIndex duplicateIndex;
+    private volatile DuplicatePolicy duplicatePolicy = DuplicatePolicy.FLAG;
+
+    /** Proyeksi pengeluaran akhir bulan, diperbarui inkremental */
+    private final MonthEndForecaster forecaster = new MonthEndForecaster();
 
-    /** Budget bulanan dalam rupiah */
-    private double monthlyBudget = 0.0;
-    private boolean budgetNotificationSent = false;
+    /** Budget total dan per kategori beserta status ambangnya */
+    private final BudgetMonitor budgetMonitor;
+    private boolean forecastNotificationSent = false;
+
+    /**
+     * Versi data: versi entri jurnal terakhir, naik setiap kali ada mutasi. dayVersions menyimpan versi
+     * terakhir yang menyentuh tiap tanggal, sehingga cache laporan hanya
+     * dianggap basi bila periode laporannya benar-benar tersentuh.
+     */
+    private volatile long dataVersion = 0;
+    private final NavigableMap<LocalDate, Long> dayVersions = new TreeMap<>();
+
+    /** Snapshot baca-saja bersama; dibangun ulang hanya bila versi data berubah */
+    private List<Transaction> sharedSnapshot;
+    private long sharedSnapshotVersion = -1;
 
     public TransactionService() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public TransactionService(Clock clock) {
+        this(clock, new EventBus());
+    }
+
+    public TransactionService(Clock clock, EventBus eventBus) {
+        this.clock = clock;
+        this.eventBus = eventBus;
         this.storageManager = StorageManager.getInstance();
-        this.transactions = storageManager.loadTransactions();
-        this.observers = new ArrayList<>();
+        this.journal = new TransactionJournal(storageManager, clock);
 
-        // Load budget dari storage jika sistem Anda mendukung
-        Double savedBudget = storageManager.loadMonthlyBudget();
-        this.monthlyBudget = savedBudget != null ? savedBudget : 2000000.0; // default 2 juta
+        List<Transaction> snapshot = storageManager.loadTransactions();
+        List<Transaction> ledger = new ArrayList<>();
+        for (Transaction tx : snapshot) {
+            if (transactions.putIfAbsent(tx.getId(), tx) != null) continue;
+            shard(tx.getAccount()).add(tx);
+            if (!tx.isTransfer()) ledger.add(tx);
+        }
+        // Sketsa distribusi dipakai ulang dari snapshot bila masih cocok
+        this.aggregates = LedgerAggregates.of(ledger, storageManager.loadSketches());
+
+        if (storageManager.hasAccountShards()) {
+            for (AccountShard shard : shards.values()) shard.markClean();
+        }
+        // else: data lama dari transactions.json, semua shard ditulis di snapshot berikutnya
+
+        // Mutasi setelah snapshot terakhir diputar ulang dari jurnal
+        for (JournalEntry entry : journal.load()) {
+            for (Transaction tx : entry.getRemoved()) removeFromLedger(tx.getId());
+            for (Transaction tx : entry.getAdded()) addToLedger(tx);
+        }
+        this.dataVersion = journal.getVersion();
+
+        ledger = new ArrayList<>(transactions.values());
+        ledger.removeIf(Transaction::isTransfer);
+        this.anomalyDetector = SpendingAnomalyDetector.warmedUp(ledger);
+        this.duplicateIndex = DuplicateIndex.of(ledger);
+
+        // Load budget dari storage (budget.txt lama dimigrasikan otomatis)
+        this.budgetMonitor = new BudgetMonitor(storageManager, storageManager.loadBudgetSettings());
     }
 
     // ============================================================
@@ -47,44 +178,654 @@ public class TransactionService implements BudgetSubject {
 
     /**
      * Tambah transaksi baru.
+     * Bila transaksi duplikat dan kebijakannya REJECT, IllegalArgumentException dilempar.
      */
-    public void addTransaction(Transaction transaction) {
-        this.transactions.add(transaction);
-        saveAndRecalculate();
+    public IngestResult addTransaction(Transaction transaction) {
+        IngestResult result = addTransactions(List.of(transaction));
+        if (!result.getRejected().isEmpty()) {
+            throw new IllegalArgumentException("Transaksi duplikat: transaksi yang sama sudah tercatat.");
+        }
+        return result;
+    }
+
+    /**
+     * Tambah banyak transaksi sekaligus (mis. impor): satu kali write-lock,
+     * satu entri jurnal (satu undo), satu kali notifikasi perubahan data.
+     * Transaksi yang ID-nya sudah tercatat dilewati (dihitung sebagai merged),
+     * sehingga impor ulang dan transaksi rutin aman dijalankan berkali-kali.
+     * Duplikat sidik jari — terhadap data tercatat maupun di dalam batch itu
+     * sendiri — diperlakukan sesuai DuplicatePolicy dan dilaporkan di IngestResult.
+     * Anomali pengeluaran (bila ada) dikirim ke observer setelah data disimpan.
+     */
+    public IngestResult addTransactions(Collection<Transaction> batch) {
+        IngestResult result = new IngestResult();
+        List<SpendingAnomaly> anomalies = new ArrayList<>();
+        List<Transaction> accepted = new ArrayList<>();
+        long version;
+        DuplicatePolicy policy = duplicatePolicy;
+        Set<Category> touched = EnumSet.noneOf(Category.class);
+
+        lock.writeLock().lock();
+        try {
+            for (Transaction transaction : batch) {
+                if (transactions.containsKey(transaction.getId())) {
+                    result.recordMerged();
+                    continue;
+                }
+                if (!transaction.isTransfer() && duplicateIndex.contains(transaction)) {
+                    if (policy == DuplicatePolicy.REJECT) {
+                        result.recordRejected(transaction);
+                        continue;
+                    }
+                    if (policy == DuplicatePolicy.MERGE) {
+                        result.recordMerged();
+                        continue;
+                    }
+                    result.recordFlagged(transaction);
+                } else {
+                    result.recordAdded(transaction);
+                }
+
+                addLocked(transaction);
+                accepted.add(transaction);
+            }
+            if (accepted.isEmpty()) return result;
+
+            record(JournalEntry.Kind.ADD, accepted, touched);
+            version = dataVersion;
+            // Detektor anomali baru belajar setelah batch tercatat di jurnal
+            for (Transaction transaction : accepted) {
+                if (!transaction.isTransfer()) {
+                    anomalies.addAll(anomalyDetector.observe(transaction));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        eventBus.publish(new TransactionsAddedEvent(result.getAdded(), version));
+        saveAndRecalculate(touched);
+        if (!result.getFlagged().isEmpty()) {
+            eventBus.publish(new DuplicateTransactionEvent(result.getFlagged()));
+        }
+        for (SpendingAnomaly anomaly : anomalies) {
+            eventBus.publish(new SpendingAnomalyEvent(anomaly));
+        }
+        return result;
+    }
+
+    public DuplicatePolicy getDuplicatePolicy() {
+        return duplicatePolicy;
+    }
+
+    public void setDuplicatePolicy(DuplicatePolicy duplicatePolicy) {
+        if (duplicatePolicy == null)
+            throw new IllegalArgumentException("Kebijakan duplikat tidak boleh kosong.");
+        this.duplicatePolicy = duplicatePolicy;
     }
 
     /**
      * Hapus transaksi berdasarkan ID unik.
+     * Menghapus satu kaki transfer ikut menghapus kaki pasangannya.
      */
     public void deleteTransaction(String id) {
-        transactions.removeIf(tx -> tx.getId().equals(id));
-        saveAndRecalculate();
+        deleteTransactions(List.of(id));
+    }
+
+    /**
+     * Hapus banyak transaksi sekaligus (mis. membersihkan hasil impor yang
+     * salah): satu kali write-lock, satu entri jurnal (satu undo), satu event,
+     * dan satu kali refresh budget. Kaki transfer selalu ikut terhapus
+     * berpasangan; ID yang tidak ada dilewati.
+     *
+     * @return jumlah transaksi yang terhapus (termasuk kaki transfer pasangannya)
+     */
+    public int deleteTransactions(Collection<String> ids) {
+        Set<Category> touched = EnumSet.noneOf(Category.class);
+        List<Transaction> removed = new ArrayList<>();
+        long version;
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                Transaction target = removeLocked(id);
+                if (target == null) continue;
+                removed.add(target);
+                if (target.isTransfer()) {
+                    for (String legId : TransactionFactory.transferLegIds(target.getTransferId())) {
+                        Transaction leg = removeLocked(legId);
+                        if (leg != null) removed.add(leg);
+                    }
+                }
+            }
+            if (removed.isEmpty()) return 0;
+
+            record(JournalEntry.Kind.DELETE, removed, touched);
+            version = dataVersion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventBus.publish(new TransactionsDeletedEvent(removed, version));
+        saveAndRecalculate(touched);
+        return removed.size();
+    }
+
+    /**
+     * Ubah kategori banyak transaksi sekaligus. Transaksi tidak berubah isinya,
+     * sehingga setiap transaksi diganti salinannya (ID sama) dalam satu entri
+     * jurnal REPLACE: satu kali write-lock, satu undo, satu pasang event
+     * (hapus versi lama, tambah versi baru), dan satu kali refresh budget.
+     * Kaki transfer dan transaksi yang kategorinya sudah sama dilewati.
+     *
+     * @return jumlah transaksi yang kategorinya berubah
+     */
+    public int recategorizeTransactions(Collection<String> ids, Category category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Kategori tidak boleh kosong.");
+        }
+        Set<Category> touched = EnumSet.noneOf(Category.class);
+        List<Transaction> previous = new ArrayList<>();
+        List<Transaction> replaced = new ArrayList<>();
+        long version;
+        lock.writeLock().lock();
+        try {
+            for (String id : ids) {
+                Transaction current = transactions.get(id);
+                if (current == null || current.isTransfer() || current.getCategory() == category) continue;
+                Transaction updated = current.withCategory(category);
+                removeLocked(id);
+                addLocked(updated);
+                previous.add(current);
+                replaced.add(updated);
+            }
+            if (replaced.isEmpty()) return 0;
+
+            record(JournalEntry.Kind.REPLACE, replaced, previous, touched);
+            version = dataVersion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventBus.publish(new TransactionsDeletedEvent(previous, version));
+        eventBus.publish(new TransactionsAddedEvent(replaced, version));
+        saveAndRecalculate(touched);
+        return replaced.size();
+    }
+
+    // ============================================================
+    //                      AKUN & TRANSFER
+    // ============================================================
+
+    /**
+     * Transfer antar akun. Kedua kaki (keluar dari akun asal, masuk ke akun
+     * tujuan) ditambahkan di bawah satu write-lock dan dicatat dalam satu
+     * entri jurnal, sehingga selalu tersimpan, di-undo, dan dipulihkan bersama.
+     * Transfer tidak memengaruhi total gabungan, budget, maupun proyeksi.
+     *
+     * @return [kaki keluar, kaki masuk]
+     */
+    public List<Transaction> transfer(String fromAccount, String toAccount, double amount,
+                                      LocalDate date, String description) {
+        List<Transaction> legs = TransactionFactory.createTransfer(date, description, amount, fromAccount, toAccount);
+        Set<Category> touched = EnumSet.noneOf(Category.class);
+        long version;
+        lock.writeLock().lock();
+        try {
+            for (Transaction leg : legs) addLocked(leg);
+            record(JournalEntry.Kind.ADD, legs, touched);
+            version = dataVersion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        eventBus.publish(new TransactionsAddedEvent(legs, version));
+        saveAndRecalculate(touched);
+        return legs;
+    }
+
+    /**
+     * Nama semua akun (urut nama); akun default selalu ada.
+     */
+    public List<String> getAccounts() {
+        lock.readLock().lock();
+        try {
+            List<String> accounts = new ArrayList<>(shards.keySet());
+            if (!shards.containsKey(Transaction.DEFAULT_ACCOUNT)) accounts.add(0, Transaction.DEFAULT_ACCOUNT);
+            return accounts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Transaksi satu akun (termasuk kaki transfer), hanya membaca shard akun tersebut.
+     */
+    public List<Transaction> getTransactions(String account) {
+        lock.readLock().lock();
+        try {
+            AccountShard shard = shards.get(account);
+            return shard != null ? shard.copyTransactions() : new ArrayList<>();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saldo akun: seluruh pemasukan dikurangi pengeluaran, termasuk transfer.
+     */
+    public double getAccountBalance(String account) {
+        lock.readLock().lock();
+        try {
+            AccountShard shard = shards.get(account);
+            return shard != null ? shard.getBalance() : 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Membaca agregat satu akun di bawah read-lock (agregat kosong untuk akun tak dikenal).
+     */
+    public <T> T readAccountAggregates(String account, Function<LedgerAggregates, T> reader) {
+        lock.readLock().lock();
+        try {
+            AccountShard shard = shards.get(account);
+            return reader.apply(shard != null ? shard.getAggregates() : new LedgerAggregates());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ============================================================
+    //                      UNDO / REDO
+    // ============================================================
+
+    /**
+     * Membatalkan mutasi terakhir (tambah/hapus/batch) dengan mencatat
+     * kebalikannya sebagai entri jurnal baru. O(ukuran mutasi).
+     * @return false jika tidak ada yang bisa di-undo
+     */
+    public boolean undo() {
+        return replayStep(undoStack, redoStack, true);
+    }
+
+    /**
+     * Mengulang mutasi yang terakhir di-undo.
+     * @return false jika tidak ada yang bisa di-redo
+     */
+    public boolean redo() {
+        return replayStep(redoStack, undoStack, false);
+    }
+
+    public boolean canUndo() {
+        lock.readLock().lock();
+        try {
+            return !undoStack.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean canRedo() {
+        lock.readLock().lock();
+        try {
+            return !redoStack.isEmpty();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Undo/redo tidak melewati deteksi duplikat maupun anomali: data hanya
+     * dikembalikan ke state yang pernah ada. Agregat, proyeksi, budget, dan
+     * event tetap diperbarui seperti mutasi biasa.
+     */
+    private boolean replayStep(Deque<JournalEntry> from, Deque<JournalEntry> to, boolean inverse) {
+        Set<Category> touched = EnumSet.noneOf(Category.class);
+        List<Transaction> removed = new ArrayList<>();
+        List<Transaction> added = new ArrayList<>();
+        long version;
+
+        lock.writeLock().lock();
+        try {
+            // Entri baru dipindah ke stack lawan setelah kebalikannya tercatat di jurnal
+            JournalEntry entry = from.peekFirst();
+            if (entry == null) return false;
+
+            // Kebalikan sebuah entri = daftar hapus dan tambah ditukar
+            for (Transaction tx : inverse ? entry.getAdded() : entry.getRemoved()) {
+                Transaction current = removeLocked(tx.getId());
+                if (current != null) removed.add(current);
+            }
+            for (Transaction tx : inverse ? entry.getRemoved() : entry.getAdded()) {
+                if (addLocked(tx)) added.add(tx);
+            }
+            if (removed.isEmpty() && added.isEmpty()) {
+                push(to, from.pollFirst());
+                return true;
+            }
+
+            JournalEntry.Kind kind = inverse ? entry.inverseKind() : entry.getKind();
+            if (kind == JournalEntry.Kind.DELETE) {
+                journalAppend(kind, removed, List.of(), touched);
+            } else {
+                journalAppend(kind, added, removed, touched);
+            }
+            push(to, from.pollFirst());
+            version = dataVersion;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        if (!removed.isEmpty()) eventBus.publish(new TransactionsDeletedEvent(removed, version));
+        if (!added.isEmpty()) eventBus.publish(new TransactionsAddedEvent(added, version));
+        saveAndRecalculate(touched);
+        return true;
+    }
+
+    // ============================================================
+    //                      RIWAYAT VERSI
+    // ============================================================
+
+    /**
+     * Daftar transaksi seperti pada versi data tertentu (lihat getDataVersion()).
+     * Versi sejak snapshot terakhir dihitung mundur dari state saat ini; versi
+     * yang lebih lama diputar maju dari snapshot arsip terdekat di data/history.
+     */
+    public List<Transaction> getTransactionsAsOf(long version) {
+        lock.readLock().lock();
+        try {
+            return journal.transactionsAsOf(version, transactions.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Apakah transaksi dengan ID ini sudah tercatat.
+     */
+    public boolean containsTransaction(String id) {
+        lock.readLock().lock();
+        try {
+            return transactions.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     /**
      * Mengembalikan seluruh transaksi dalam bentuk list baru (safe-copy).
      */
     public List<Transaction> getAllTransactions() {
-        return new ArrayList<>(transactions);
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(transactions.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Daftar transaksi baca-saja (urut input) yang dipakai bersama oleh
+     * pembaca, misalnya tabel UI. Disalin paling banyak sekali per versi data,
+     * sehingga pemanggil tidak perlu menyalin lagi.
+     */
+    public List<Transaction> getTransactionSnapshot() {
+        lock.readLock().lock();
+        try {
+            synchronized (this) {
+                if (sharedSnapshotVersion != dataVersion || sharedSnapshot == null) {
+                    sharedSnapshot = Collections.unmodifiableList(Arrays.asList(transactions.values().toArray(new Transaction[0])));
+                    sharedSnapshotVersion = dataVersion;
+                }
+                return sharedSnapshot;
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Agregat transaksi yang selalu up-to-date (hanya untuk dibaca).
+     * Akses langsung hanya aman dari thread penulis (ledger-io); thread lain
+     * harus memakai readAggregates().
+     */
+    public LedgerAggregates getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Menjalankan pembacaan agregat di bawah read-lock, aman dari thread mana pun.
+     */
+    public <T> T readAggregates(Function<LedgerAggregates, T> reader) {
+        lock.readLock().lock();
+        try {
+            return reader.apply(aggregates);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Clock getClock() {
+        return clock;
     }
 
     /**
      * Filter transaksi berdasarkan kategori dan/atau rentang tanggal.
      */
     public List<Transaction> filterTransactions(Category category, LocalDate startDate, LocalDate endDate) {
-        return transactions.stream()
-                .filter(tx -> category == null || tx.getCategory() == category)
-                .filter(tx -> startDate == null || !tx.getDate().isBefore(startDate))
-                .filter(tx -> endDate == null || !tx.getDate().isAfter(endDate))
-                .collect(Collectors.toList());
+        return filterTransactions(null, category, startDate, endDate);
     }
 
     /**
-     * Menyimpan, refresh data budget, dan memberi notifikasi bila perlu.
+     * Filter transaksi satu akun (null = semua akun); hanya shard akun itu yang dipindai.
      */
-    private void saveAndRecalculate() {
-        storageManager.saveTransactions(transactions);
-        checkBudgetStatus();
+    public List<Transaction> filterTransactions(String account, Category category, LocalDate startDate, LocalDate endDate) {
+        return filterTransactions(new TransactionFilter(account, category, startDate, endDate));
+    }
+
+    public List<Transaction> filterTransactions(TransactionFilter filter) {
+        lock.readLock().lock();
+        try {
+            Collection<Transaction> source;
+            if (filter.getAccount() == null) {
+                source = transactions.values();
+            } else {
+                AccountShard shard = shards.get(filter.getAccount());
+                source = shard != null ? shard.values() : List.of();
+            }
+            return source.stream()
+                    .filter(filter::matches)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Versi data global; naik di setiap mutasi.
+     */
+    public long getDataVersion() {
+        return dataVersion;
+    }
+
+    /**
+     * Versi terakhir yang menyentuh periode tertentu (0 jika belum pernah diubah).
+     * Nilainya hanya berubah jika ada mutasi pada tanggal di dalam periode.
+     */
+    public long getVersionForPeriod(ReportPeriod period) {
+        lock.readLock().lock();
+        try {
+            long version = 0;
+            for (long v : dayVersions.subMap(period.getStart(), true, period.getEnd(), true).values()) {
+                if (v > version) version = v;
+            }
+            return version;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Helper di bawah ini dipanggil dengan write-lock dipegang.
+
+    /**
+     * Menambahkan transaksi ke state dan struktur turunannya; false jika ID sudah ada.
+     */
+    private boolean addLocked(Transaction tx) {
+        if (!addToLedger(tx)) return false;
+        if (!tx.isTransfer()) {
+            duplicateIndex.add(tx);
+            forecaster.added(tx);
+        }
+        return true;
+    }
+
+    private Transaction removeLocked(String id) {
+        Transaction removed = removeFromLedger(id);
+        if (removed != null && !removed.isTransfer()) {
+            duplicateIndex.remove(removed);
+            forecaster.removed(removed);
+        }
+        return removed;
+    }
+
+    /**
+     * Indeks global, shard akun, dan agregat gabungan (juga dipakai saat replay jurnal).
+     */
+    private boolean addToLedger(Transaction tx) {
+        if (transactions.putIfAbsent(tx.getId(), tx) != null) return false;
+        shard(tx.getAccount()).add(tx);
+        if (!tx.isTransfer()) aggregates.add(tx);
+        return true;
+    }
+
+    private Transaction removeFromLedger(String id) {
+        Transaction removed = transactions.remove(id);
+        if (removed == null) return null;
+        shards.get(removed.getAccount()).remove(id);
+        if (!removed.isTransfer()) aggregates.remove(removed);
+        return removed;
+    }
+
+    private AccountShard shard(String account) {
+        return shards.computeIfAbsent(account, AccountShard::new);
+    }
+
+    /**
+     * Mencatat mutasi baru: entri jurnal, riwayat undo (redo dikosongkan).
+     */
+    private void record(JournalEntry.Kind kind, List<Transaction> changed, Set<Category> touched) {
+        record(kind, changed, List.of(), touched);
+    }
+
+    /**
+     * @param previous versi lama transaksi yang diganti (hanya REPLACE)
+     */
+    private void record(JournalEntry.Kind kind, List<Transaction> changed, List<Transaction> previous,
+                        Set<Category> touched) {
+        push(undoStack, journalAppend(kind, changed, previous, touched));
+        redoStack.clear();
+    }
+
+    /**
+     * Satu entri jurnal = satu versi data; tanggal yang tersentuh ditandai dengan versi ini.
+     * Mutasi sudah diterapkan di memori oleh pemanggil; bila entri gagal
+     * ditulis, mutasi itu dibatalkan dan error diteruskan (versi, undo, dan
+     * event tidak berubah).
+     */
+    private JournalEntry journalAppend(JournalEntry.Kind kind, List<Transaction> changed,
+                                       List<Transaction> previous, Set<Category> touched) {
+        JournalEntry entry;
+        try {
+            entry = journal.append(kind, changed, kind == JournalEntry.Kind.REPLACE ? previous : null);
+        } catch (UncheckedIOException e) {
+            if (kind == JournalEntry.Kind.DELETE) {
+                rollback(List.of(), changed);
+            } else {
+                rollback(changed, previous);
+            }
+            throw e;
+        }
+        dataVersion = entry.getVersion();
+        YearMonth currentMonth = YearMonth.now(clock);
+        for (Transaction tx : changed) {
+            dayVersions.put(tx.getDate(), dataVersion);
+            touch(touched, tx, currentMonth);
+        }
+        // Kategori lama dari transaksi yang diganti juga berubah totalnya
+        for (Transaction tx : previous) touch(touched, tx, currentMonth);
+        return entry;
+    }
+
+    /**
+     * Mengembalikan state memori ke sebelum mutasi yang gagal dicatat.
+     */
+    private void rollback(List<Transaction> added, List<Transaction> removed) {
+        for (Transaction tx : added) removeLocked(tx.getId());
+        for (Transaction tx : removed) addLocked(tx);
+    }
+
+    private static void push(Deque<JournalEntry> stack, JournalEntry entry) {
+        stack.addFirst(entry);
+        if (stack.size() > MAX_UNDO) stack.removeLast();
+    }
+
+    /**
+     * Mencatat kategori pengeluaran bulan berjalan yang tersentuh mutasi;
+     * hanya kategori ini yang budget-nya perlu diperiksa ulang.
+     */
+    private static void touch(Set<Category> touched, Transaction tx, YearMonth currentMonth) {
+        if (!tx.isTransfer() && tx.getType() == TransactionType.EXPENSE
+                && YearMonth.from(tx.getDate()).equals(currentMonth)) {
+            touched.add(tx.getCategory());
+        }
+    }
+
+    /**
+     * Menulis snapshot bila jatuh tempo, refresh data budget, dan memberi
+     * notifikasi bila perlu. Mutasi sendiri sudah tersimpan di jurnal.
+     */
+    private void saveAndRecalculate(Set<Category> touched) {
+        if (journal.isSnapshotDue()) {
+            writeSnapshot();
+        }
+        if (!touched.isEmpty()) {
+            checkBudgetStatus(touched);
+        }
+        notifyDataChanged();
+    }
+
+    /**
+     * State disalin di bawah read-lock; penulisan file berjalan tanpa menahan
+     * pembaca. Aman karena hanya thread penulis yang memanggil method ini.
+     */
+    private void writeSnapshot() {
+        Map<String, List<Transaction>> changed = new TreeMap<>();
+        SketchSnapshot sketches;
+        int count;
+        long version;
+        lock.readLock().lock();
+        try {
+            // Hanya shard yang berubah yang ditulis ulang
+            for (AccountShard shard : shards.values()) {
+                if (shard.isDirty()) {
+                    changed.put(shard.getAccount(), shard.copyTransactions());
+                    shard.markClean();
+                }
+            }
+            sketches = aggregates.snapshotSketches();
+            count = transactions.size();
+            version = dataVersion;
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!journal.snapshot(changed, sketches)) {
+            lock.readLock().lock();
+            try {
+                for (String account : changed.keySet()) shards.get(account).markDirty();
+            } finally {
+                lock.readLock().unlock();
+            }
+            return;
+        }
+        eventBus.publish(new SnapshotSavedEvent(version, count));
     }
 
     // ============================================================
@@ -92,74 +833,117 @@ public class TransactionService implements BudgetSubject {
     // ============================================================
 
     /**
-     * Mendapatkan budget bulanan dalam rupiah.
+     * Mendapatkan budget total bulanan dalam rupiah.
      */
     public double getMonthlyBudget() {
-        return monthlyBudget;
+        return budgetMonitor.getOverallLimit();
     }
 
     /**
-     * Meng-set budget baru (disimpan permanen di StorageManager).
+     * Meng-set budget total baru (disimpan permanen di StorageManager).
      */
     public void setMonthlyBudget(double monthlyBudget) {
         if (monthlyBudget < 0)
             throw new IllegalArgumentException("Budget tidak boleh negatif.");
 
-        this.monthlyBudget = monthlyBudget;
-
-        // persist budget
-        storageManager.saveMonthlyBudget(monthlyBudget);
+        budgetMonitor.setOverallLimit(monthlyBudget);
+        forecastNotificationSent = false;
 
         // setelah ubah budget lakukan pengecekan ulang
         checkBudgetStatus();
     }
 
+    /**
+     * Budget bulanan satu kategori (0 jika kategori tidak dibatasi).
+     */
+    public double getCategoryBudget(Category category) {
+        return budgetMonitor.getCategoryLimit(category);
+    }
+
+    /**
+     * Meng-set budget kategori dengan ambang default (50/80/100%).
+     * Limit 0 menghapus budget kategori tersebut.
+     */
+    public void setCategoryBudget(Category category, double limit) {
+        setCategoryBudget(category, limit, CategoryBudget.DEFAULT_THRESHOLDS);
+    }
+
+    /**
+     * Meng-set budget kategori dengan ambang (persen) tertentu.
+     */
+    public void setCategoryBudget(Category category, double limit, int[] thresholds) {
+        if (category == null)
+            throw new IllegalArgumentException("Kategori tidak boleh kosong.");
+        if (limit < 0)
+            throw new IllegalArgumentException("Budget tidak boleh negatif.");
+
+        budgetMonitor.setCategoryLimit(category, limit, thresholds);
+        checkBudgetStatus(EnumSet.of(category));
+    }
+
+    /**
+     * Mengganti ambang (persen) budget total.
+     */
+    public void setMonthlyBudgetThresholds(int[] thresholds) {
+        budgetMonitor.setOverallThresholds(thresholds);
+        checkBudgetStatus();
+    }
+
     /**
      * Menghitung total pengeluaran bulan berjalan.
      */
     public double getCurrentMonthSpending() {
-        LocalDate today = LocalDate.now();
-        Month currentMonth = today.getMonth();
-        int currentYear = today.getYear();
+        YearMonth currentMonth = YearMonth.now(clock);
+        return readAggregates(agg -> agg.monthTotals(currentMonth).getExpense());
+    }
 
-        return transactions.stream()
-                .filter(tx -> tx.getType() == TransactionType.EXPENSE)
-                .filter(tx -> tx.getDate().getMonth() == currentMonth &&
-                              tx.getDate().getYear() == currentYear)
-                .mapToDouble(Transaction::getAmount)
-                .sum();
+    /**
+     * Proyeksi pengeluaran sampai akhir bulan berjalan.
+     */
+    public SpendingForecast getMonthEndForecast() {
+        LocalDate today = LocalDate.now(clock);
+        return readAggregates(agg -> forecaster.forecast(agg, today));
     }
 
     /**
-     * Memeriksa apakah pengeluaran melewati budget.
-     * - Notifikasi hanya dikirim 1 kali.
-     * - Jika transaksi dihapus sehingga pengeluaran turun, notifikasi di-reset.
+     * Memeriksa budget total dan seluruh budget kategori.
      */
     public void checkBudgetStatus() {
-        if (monthlyBudget <= 0) {
-            budgetNotificationSent = false;
-            return;
-        }
+        checkBudgetStatus(null);
+    }
 
-        double spending = getCurrentMonthSpending();
-        double percentage = (spending / monthlyBudget) * 100;
+    /**
+     * Memeriksa budget total dan budget kategori yang tersentuh (null = semua).
+     * - Tiap ambang (mis. 50/80/100%) memicu notifikasi 1 kali.
+     * - Ambang siap memicu lagi setelah pemakaian turun cukup jauh di bawahnya
+     *   (misal karena penghapusan transaksi).
+     * - Peringatan dini dikirim 1 kali bila proyeksi akhir bulan melampaui budget total.
+     */
+    private void checkBudgetStatus(Set<Category> touched) {
+        YearMonth currentMonth = YearMonth.now(clock);
+        List<NotificationEvent> events = new ArrayList<>(readAggregates(agg ->
+                budgetMonitor.evaluate(currentMonth, agg.monthTotals(currentMonth), touched)));
 
-        // Kirim notifikasi 1 kali ketika melewati budget
-        if (percentage >= 100 && !budgetNotificationSent) {
-            String message = String.format(
-                    "⚠️ BUDGET WARNING!\n\n" +
-                    "Pengeluaran bulan ini: Rp %,.2f\n" +
-                    "Budget Anda: Rp %,.2f\n\n" +
-                    "Pengeluaran telah melampaui batas!",
-                    spending, monthlyBudget
-            );
-            notifyObservers(message);
-            budgetNotificationSent = true;
+        double monthlyBudget = budgetMonitor.getOverallLimit();
+        if (monthlyBudget <= 0) {
+            forecastNotificationSent = false;
+        } else {
+            SpendingForecast forecast = getMonthEndForecast();
+            double spending = forecast.getSpentSoFar();
+            boolean projectedOver = forecast.getProjectedTotal() >= monthlyBudget;
+
+            // Peringatan dini berdasarkan proyeksi, sebelum budget benar-benar terlampaui
+            if (projectedOver && spending < monthlyBudget && !forecastNotificationSent) {
+                events.add(new ForecastWarningEvent(forecast, monthlyBudget));
+                forecastNotificationSent = true;
+            }
+            if (!projectedOver) {
+                forecastNotificationSent = false;
+            }
         }
 
-        // Reset flag jika kembali di bawah budget (misal karena penghapusan transaksi)
-        if (percentage < 100) {
-            budgetNotificationSent = false;
+        for (NotificationEvent event : events) {
+            eventBus.publish(event);
         }
     }
 
@@ -167,20 +951,49 @@ public class TransactionService implements BudgetSubject {
     //                      OBSERVER PATTERN
     // ============================================================
 
+    /**
+     * BudgetObserver menerima pesan semua NotificationEvent, dijalankan di thread EventBus.
+     */
     @Override
     public void addObserver(BudgetObserver observer) {
-        observers.add(observer);
+        synchronized (observerSubscriptions) {
+            if (observerSubscriptions.containsKey(observer)) return;
+            observerSubscriptions.put(observer,
+                    eventBus.subscribe(NotificationEvent.class, event -> observer.update(event.getMessage())));
+        }
     }
 
     @Override
     public void removeObserver(BudgetObserver observer) {
-        observers.remove(observer);
+        synchronized (observerSubscriptions) {
+            EventBus.Subscription subscription = observerSubscriptions.remove(observer);
+            if (subscription != null) subscription.cancel();
+        }
     }
 
+    /**
+     * Mengirim pesan bebas ke semua BudgetObserver (asinkron).
+     */
     @Override
     public void notifyObservers(String message) {
-        for (BudgetObserver observer : observers) {
-            observer.update(message);
+        eventBus.publish(new MessageEvent(message));
+    }
+
+    public EventBus getEventBus() {
+        return eventBus;
+    }
+
+    public void addDataChangeObserver(DataChangeObserver observer) {
+        dataObservers.add(observer);
+    }
+
+    public void removeDataChangeObserver(DataChangeObserver observer) {
+        dataObservers.remove(observer);
+    }
+
+    private void notifyDataChanged() {
+        for (DataChangeObserver observer : dataObservers) {
+            observer.dataChanged(dataVersion);
         }
     }
 }
@@ -1,5 +1,9 @@
 package com.financetracker.storage;
 
+import com.financetracker.aggregate.SketchSnapshot;
+import com.financetracker.model.BudgetSettings;
+import com.financetracker.model.JournalEntry;
+import com.financetracker.model.RecurringRule;
 import com.financetracker.model.Transaction;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
@@ -7,38 +11,62 @@ import com.google.gson.reflect.TypeToken;
 
 import java.io.*;
 import java.lang.reflect.Type;
+import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 /**
  * StorageManager — versi final, aman, lengkap.
  * - Auto create folder / file
- * - Menyimpan transaksi
+ * - Menyimpan transaksi (satu file per akun) dan aturan transaksi rutin
  * - Menyimpan log
- * - Persistensi budget (save/load)
+ * - Persistensi budget total & per kategori beserta status ambang (save/load)
+ * - Menyimpan sketsa distribusi bersama snapshot transaksi
+ * - Jurnal mutasi append-only (satu baris JSON per entri) dan arsip
+ *   jurnal lama (plus satu snapshot dasar) untuk kueri riwayat
  * - Aman dari error Path
  */
 public class StorageManager {
 
     private static volatile StorageManager instance;
     private final Gson gson;
+    /** Tanpa pretty printing: sketsa berisi array angka panjang */
+    private final Gson compactGson = new Gson();
+    /** Satu entri jurnal per baris: tanpa pretty printing, dengan adapter tanggal */
+    private final Gson journalGson;
 
     // Directories & files
     private static final String DATA_DIR = "data";
+    /** Format lama: semua transaksi dalam satu file; dibaca sampai shard akun pertama ditulis */
     private static final String TRANSACTIONS_FILE = DATA_DIR + "/transactions.json";
+    /** Satu file snapshot per akun: data/accounts/<nama akun ter-encode>.json */
+    private static final String ACCOUNTS_DIR = DATA_DIR + "/accounts";
     private static final String NOTIFICATIONS_FILE = DATA_DIR + "/notifications.log";
-    private static final String BUDGET_FILE = DATA_DIR + "/budget.txt";
+    /** Format lama: satu angka budget bulanan; hanya dibaca untuk migrasi */
+    private static final String LEGACY_BUDGET_FILE = DATA_DIR + "/budget.txt";
+    private static final String BUDGETS_FILE = DATA_DIR + "/budgets.json";
+    private static final double DEFAULT_MONTHLY_BUDGET = 2000000.0; // default 2 jt
+    private static final String SKETCHES_FILE = DATA_DIR + "/sketches.json";
+    private static final String RECURRING_FILE = DATA_DIR + "/recurring.json";
+    private static final String JOURNAL_FILE = DATA_DIR + "/journal.jsonl";
+    private static final String HISTORY_DIR = DATA_DIR + "/history";
 
     private StorageManager() {
         gson = new GsonBuilder()
                 .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
                 .setPrettyPrinting()
                 .create();
+        journalGson = new GsonBuilder()
+                .registerTypeAdapter(LocalDate.class, new LocalDateAdapter())
+                .create();
 
         ensureStorage();
     }
@@ -56,11 +84,6 @@ public class StorageManager {
                 Files.write(Paths.get(TRANSACTIONS_FILE), "[]".getBytes(StandardCharsets.UTF_8));
             }
 
-            // Jika file budget tidak ada → buat budget default
-            if (!Files.exists(Paths.get(BUDGET_FILE))) {
-                Files.write(Paths.get(BUDGET_FILE), "2000000".getBytes(StandardCharsets.UTF_8)); // default 2 jt
-            }
-
             // Jika log tidak ada, buat kosong
             if (!Files.exists(Paths.get(NOTIFICATIONS_FILE))) {
                 Files.write(Paths.get(NOTIFICATIONS_FILE),
@@ -87,16 +110,64 @@ public class StorageManager {
     //                  TRANSACTION STORAGE
     // ============================================================
 
-    public void saveTransactions(List<Transaction> transactions) {
-        try (Writer writer = new FileWriter(TRANSACTIONS_FILE, StandardCharsets.UTF_8)) {
-            gson.toJson(transactions, writer);
+    /**
+     * Menulis snapshot akun-akun yang berubah, masing-masing lewat file
+     * sementara lalu atomic move. Saat migrasi dari transactions.json, semua
+     * shard ditulis ke direktori sementara yang lalu dipindah sekaligus,
+     * sehingga data lama tidak pernah tertutup shard yang belum lengkap.
+     *
+     * @return false bila ada shard yang gagal ditulis
+     */
+    public boolean saveAccountTransactions(Map<String, ? extends Collection<Transaction>> accounts) {
+        Path dir = Paths.get(ACCOUNTS_DIR);
+        boolean migrating = !Files.isDirectory(dir);
+        Path target = migrating ? Paths.get(ACCOUNTS_DIR + ".tmp") : dir;
+        try {
+            Files.createDirectories(target);
+            for (Map.Entry<String, ? extends Collection<Transaction>> entry : accounts.entrySet()) {
+                Path file = target.resolve(accountFileName(entry.getKey()));
+                Path temp = target.resolve(accountFileName(entry.getKey()) + ".tmp");
+                try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+                    gson.toJson(entry.getValue(), writer);
+                }
+                if (!replace(temp, file, "transaksi akun " + entry.getKey())) return false;
+            }
+            return !migrating || replace(target, dir, "transaksi akun");
         } catch (IOException e) {
             System.err.println("Gagal menyimpan transaksi: " + e.getMessage());
+            return false;
         }
     }
 
+    /**
+     * Apakah snapshot sudah dipartisi per akun (false = masih transactions.json).
+     */
+    public boolean hasAccountShards() {
+        return Files.isDirectory(Paths.get(ACCOUNTS_DIR));
+    }
+
+    /**
+     * Memuat snapshot semua akun (atau transactions.json lama bila belum dipartisi).
+     */
     public List<Transaction> loadTransactions() {
-        try (Reader reader = new FileReader(TRANSACTIONS_FILE, StandardCharsets.UTF_8)) {
+        Path dir = Paths.get(ACCOUNTS_DIR);
+        return Files.isDirectory(dir) ? loadAccountDir(dir) : loadTransactions(Paths.get(TRANSACTIONS_FILE));
+    }
+
+    private List<Transaction> loadAccountDir(Path dir) {
+        List<Transaction> transactions = new ArrayList<>();
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(path -> path.getFileName().toString().endsWith(".json"))
+                    .sorted()
+                    .forEach(path -> transactions.addAll(loadTransactions(path)));
+        } catch (IOException e) {
+            System.err.println("Gagal memuat transaksi: " + e.getMessage());
+        }
+        return transactions;
+    }
+
+    private List<Transaction> loadTransactions(Path file) {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
             Type listType = new TypeToken<ArrayList<Transaction>>() {}.getType();
             List<Transaction> transactions = gson.fromJson(reader, listType);
             return (transactions != null) ? transactions : new ArrayList<>();
@@ -106,6 +177,265 @@ public class StorageManager {
         }
     }
 
+    /**
+     * Nama file shard: nama akun di-encode agar aman sebagai nama file.
+     */
+    private static String accountFileName(String account) {
+        return URLEncoder.encode(account, StandardCharsets.UTF_8) + ".json";
+    }
+
+    // ============================================================
+    //                  JOURNAL (EVENT LOG)
+    // ============================================================
+
+    /**
+     * Menambahkan satu entri di akhir jurnal (satu baris, tanpa menulis ulang file).
+     * Jurnal adalah satu-satunya catatan permanen mutasi sejak snapshot
+     * terakhir, jadi kegagalan menulis diteruskan ke pemanggil.
+     *
+     * @throws UncheckedIOException bila entri gagal ditulis
+     */
+    public void appendJournal(JournalEntry entry) {
+        String line = journalGson.toJson(entry) + "\n";
+        try {
+            Files.write(Paths.get(JOURNAL_FILE),
+                    line.getBytes(StandardCharsets.UTF_8),
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Jurnal transaksi tidak bisa ditulis: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Memuat jurnal aktif; list kosong jika belum ada.
+     */
+    public List<JournalEntry> loadJournal() {
+        return loadJournal(Paths.get(JOURNAL_FILE));
+    }
+
+    /**
+     * Membaca jurnal baris per baris. Baris rusak (mis. baris terakhir yang
+     * terpotong karena aplikasi mati saat menulis) dilewati.
+     */
+    private List<JournalEntry> loadJournal(Path file) {
+        List<JournalEntry> entries = new ArrayList<>();
+        if (!Files.exists(file)) return entries;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                try {
+                    JournalEntry entry = journalGson.fromJson(line, JournalEntry.class);
+                    if (entry != null && entry.getKind() != null) entries.add(entry);
+                } catch (Exception e) {
+                    System.err.println("Baris jurnal rusak dilewati: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Gagal memuat jurnal transaksi: " + e.getMessage());
+        }
+        return entries;
+    }
+
+    /**
+     * Memulai jurnal baru yang hanya berisi entri pembuka (SNAPSHOT).
+     *
+     * @return false bila jurnal lama tidak bisa diganti (tetap dipakai)
+     */
+    public boolean resetJournal(JournalEntry header) {
+        Path temp = Paths.get(JOURNAL_FILE + ".tmp");
+        try {
+            Files.write(temp, (journalGson.toJson(header) + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.err.println("Gagal menulis jurnal transaksi: " + e.getMessage());
+            return false;
+        }
+        return replace(temp, Paths.get(JOURNAL_FILE), "jurnal transaksi");
+    }
+
+    /**
+     * Mengarsipkan jurnal aktif ke data/history sebelum diganti, dengan nama
+     * berdasarkan versi snapshot (baseVersion). Snapshot hanya diarsipkan
+     * sekali, saat arsip masih kosong, sebagai dasar kueri riwayat: versi
+     * lain diperoleh dengan memutar maju jurnal-jurnal arsip dari dasar itu,
+     * sehingga arsip tumbuh sebanding jumlah mutasi, bukan ukuran ledger.
+     *
+     * @return false bila arsip gagal ditulis (jurnal aktif tidak boleh diganti)
+     */
+    public boolean archiveLedger(long baseVersion) {
+        try {
+            Files.createDirectories(Paths.get(HISTORY_DIR));
+            if (listHistoryVersions().isEmpty()) {
+                Path accounts = Paths.get(ACCOUNTS_DIR);
+                if (Files.isDirectory(accounts)) {
+                    Path archive = historySnapshotDir(baseVersion);
+                    Path temp = Paths.get(archive + ".tmp");
+                    Files.createDirectories(temp);
+                    List<Path> shards;
+                    try (Stream<Path> files = Files.list(accounts)) {
+                        shards = files.filter(path -> path.toString().endsWith(".json")).toList();
+                    }
+                    for (Path file : shards) {
+                        Files.copy(file, temp.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+                    }
+                    // Direktori dasar baru terlihat setelah lengkap
+                    if (!replace(temp, archive, "arsip snapshot")) return false;
+                } else {
+                    Files.copy(Paths.get(TRANSACTIONS_FILE), historySnapshot(baseVersion));
+                }
+            }
+            if (Files.exists(Paths.get(JOURNAL_FILE))) {
+                Files.copy(Paths.get(JOURNAL_FILE), historyJournal(baseVersion), StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Gagal mengarsipkan riwayat transaksi: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Versi snapshot yang tersedia di arsip, terurut naik.
+     */
+    public List<Long> listHistoryVersions() {
+        return listHistory("snapshot-");
+    }
+
+    /**
+     * Versi dasar jurnal-jurnal arsip, terurut naik.
+     */
+    public List<Long> listHistoryJournalVersions() {
+        return listHistory("journal-");
+    }
+
+    private List<Long> listHistory(String prefix) {
+        List<Long> versions = new ArrayList<>();
+        Path dir = Paths.get(HISTORY_DIR);
+        if (!Files.isDirectory(dir)) return versions;
+        try (Stream<Path> files = Files.list(dir)) {
+            files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(prefix) && !name.endsWith(".tmp"))
+                    .forEach(name -> {
+                        String version = name.substring(prefix.length());
+                        int dot = version.indexOf('.');
+                        if (dot >= 0) version = version.substring(0, dot);
+                        try {
+                            versions.add(Long.parseLong(version));
+                        } catch (NumberFormatException ignored) {
+                            // bukan file arsip
+                        }
+                    });
+        } catch (IOException e) {
+            System.err.println("Gagal membaca arsip riwayat: " + e.getMessage());
+        }
+        versions.sort(null);
+        return versions;
+    }
+
+    public List<Transaction> loadHistorySnapshot(long baseVersion) {
+        Path dir = historySnapshotDir(baseVersion);
+        return Files.isDirectory(dir) ? loadAccountDir(dir) : loadTransactions(historySnapshot(baseVersion));
+    }
+
+    public List<JournalEntry> loadHistoryJournal(long baseVersion) {
+        return loadJournal(historyJournal(baseVersion));
+    }
+
+    private static Path historySnapshot(long baseVersion) {
+        return Paths.get(HISTORY_DIR, "snapshot-" + baseVersion + ".json");
+    }
+
+    private static Path historySnapshotDir(long baseVersion) {
+        return Paths.get(HISTORY_DIR, "snapshot-" + baseVersion);
+    }
+
+    private static Path historyJournal(long baseVersion) {
+        return Paths.get(HISTORY_DIR, "journal-" + baseVersion + ".jsonl");
+    }
+
+    private static boolean replace(Path temp, Path target, String label) {
+        try {
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return true;
+        } catch (IOException e) {
+            System.err.println("Gagal menyimpan " + label + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    // ============================================================
+    //                  RECURRING RULE STORAGE
+    // ============================================================
+
+    public void saveRecurringRules(List<RecurringRule> rules) {
+        try (Writer writer = new FileWriter(RECURRING_FILE, StandardCharsets.UTF_8)) {
+            gson.toJson(rules, writer);
+        } catch (IOException e) {
+            System.err.println("Gagal menyimpan transaksi rutin: " + e.getMessage());
+        }
+    }
+
+    public List<RecurringRule> loadRecurringRules() {
+        if (!Files.exists(Paths.get(RECURRING_FILE))) return new ArrayList<>();
+        try (Reader reader = new FileReader(RECURRING_FILE, StandardCharsets.UTF_8)) {
+            Type listType = new TypeToken<ArrayList<RecurringRule>>() {}.getType();
+            List<RecurringRule> rules = gson.fromJson(reader, listType);
+            return (rules != null) ? rules : new ArrayList<>();
+        } catch (Exception e) {
+            System.err.println("Gagal memuat transaksi rutin: " + e.getMessage());
+            return new ArrayList<>();
+        }
+    }
+
+    // ============================================================
+    //                  SKETCH STORAGE
+    // ============================================================
+
+    /**
+     * Menulis sketsa lewat file sementara lalu atomic move. Bila gagal, file
+     * sketsa lama dihapus agar tidak dipakai bersama snapshot yang lebih baru.
+     *
+     * @return false bila sketsa gagal ditulis
+     */
+    public boolean saveSketches(SketchSnapshot snapshot) {
+        Path file = Paths.get(SKETCHES_FILE);
+        Path temp = Paths.get(SKETCHES_FILE + ".tmp");
+        boolean saved;
+        try (Writer writer = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            compactGson.toJson(snapshot, writer);
+            saved = true;
+        } catch (IOException e) {
+            System.err.println("Gagal menyimpan sketsa distribusi: " + e.getMessage());
+            saved = false;
+        }
+        if (saved && replace(temp, file, "sketsa distribusi")) return true;
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            System.err.println("Gagal menghapus sketsa distribusi lama: " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Memuat sketsa yang dipersist; null jika belum ada atau rusak
+     * (TransactionService lalu membangunnya ulang dari transaksi).
+     */
+    public SketchSnapshot loadSketches() {
+        if (!Files.exists(Paths.get(SKETCHES_FILE))) return null;
+        try (Reader reader = new FileReader(SKETCHES_FILE, StandardCharsets.UTF_8)) {
+            return compactGson.fromJson(reader, SketchSnapshot.class);
+        } catch (Exception e) {
+            System.err.println("Gagal memuat sketsa distribusi: " + e.getMessage());
+            return null;
+        }
+    }
+
     // ============================================================
     //                  NOTIFICATION LOGGING
     // ============================================================
@@ -128,22 +458,40 @@ public class StorageManager {
     //                  BUDGET PERSISTENCE
     // ============================================================
 
-    public void saveMonthlyBudget(double amount) {
-        try {
-            Files.write(
-                    Paths.get(BUDGET_FILE),
-                    String.valueOf(amount).getBytes(StandardCharsets.UTF_8),
-                    StandardOpenOption.CREATE,
-                    StandardOpenOption.TRUNCATE_EXISTING
-            );
-        } catch (Exception e) {
+    public void saveBudgetSettings(BudgetSettings settings) {
+        try (Writer writer = new FileWriter(BUDGETS_FILE, StandardCharsets.UTF_8)) {
+            gson.toJson(settings, writer);
+        } catch (IOException e) {
             System.err.println("Gagal menyimpan budget: " + e.getMessage());
         }
     }
 
-    public Double loadMonthlyBudget() {
+    /**
+     * Memuat pengaturan budget. Bila budgets.json belum ada, budget total
+     * diambil dari budget.txt lama (atau default 2 juta).
+     */
+    public BudgetSettings loadBudgetSettings() {
+        if (Files.exists(Paths.get(BUDGETS_FILE))) {
+            try (Reader reader = new FileReader(BUDGETS_FILE, StandardCharsets.UTF_8)) {
+                BudgetSettings settings = gson.fromJson(reader, BudgetSettings.class);
+                if (settings != null) {
+                    settings.normalize();
+                    return settings;
+                }
+            } catch (Exception e) {
+                System.err.println("Gagal memuat budget: " + e.getMessage());
+            }
+        }
+
+        Double legacy = loadLegacyMonthlyBudget();
+        BudgetSettings settings = new BudgetSettings(legacy != null ? legacy : DEFAULT_MONTHLY_BUDGET);
+        saveBudgetSettings(settings);
+        return settings;
+    }
+
+    private Double loadLegacyMonthlyBudget() {
         try {
-            String text = Files.readString(Paths.get(BUDGET_FILE));
+            String text = Files.readString(Paths.get(LEGACY_BUDGET_FILE));
             return Double.parseDouble(text.trim());
         } catch (Exception e) {
             return null;
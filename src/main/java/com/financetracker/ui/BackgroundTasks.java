@@ -0,0 +1,183 @@
+package com.financetracker.ui;
+
+import javax.swing.JComponent;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Lapisan eksekusi latar untuk UI.
+ *
+ * - io(): satu thread "ledger-io" untuk semua mutasi TransactionService
+ *   beserta persistensinya. Karena hanya satu thread, urutan mutasi sama
+ *   dengan urutan aksi pengguna dan aturan satu-penulis tetap terjaga.
+ * - compute(): satu thread "ui-compute" untuk agregasi/laporan yang berat.
+ * - Hasil diterapkan di EDT lewat onSuccess. Error dilaporkan seragam:
+ *   IllegalArgumentException dianggap pesan validasi untuk pengguna, error
+ *   lain dicatat ke System.err dan ditampilkan dengan label tugasnya.
+ * - Tugas yang berjalan lebih lama dari PROGRESS_DELAY_MS menampilkan
+ *   progress bar di status bar (tanpa kedip untuk tugas singkat).
+ *
+ * Semua method publik dipanggil dari EDT.
+ */
+class BackgroundTasks {
+
+    private static final int PROGRESS_DELAY_MS = 250;
+    private static final int SHUTDOWN_TIMEOUT_SECONDS = 5;
+
+    private final Component owner;
+    private final ExecutorService ioExecutor = newExecutor("ledger-io");
+    private final ExecutorService computeExecutor = newExecutor("ui-compute");
+
+    private final JPanel statusBar = new JPanel(new BorderLayout(8, 0));
+    private final JLabel statusLabel = new JLabel(" ");
+    private final JProgressBar progressBar = new JProgressBar();
+    private final Timer progressDelay;
+    private int running;
+    private String currentLabel;
+
+    BackgroundTasks(Component owner) {
+        this.owner = owner;
+        progressBar.setIndeterminate(true);
+        progressBar.setPreferredSize(new Dimension(160, 14));
+        progressBar.setVisible(false);
+        statusBar.setOpaque(false);
+        statusBar.add(statusLabel, BorderLayout.CENTER);
+        statusBar.add(progressBar, BorderLayout.EAST);
+
+        progressDelay = new Timer(PROGRESS_DELAY_MS, e -> showProgress());
+        progressDelay.setRepeats(false);
+    }
+
+    private static ExecutorService newExecutor(String name) {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Status bar berisi label tugas aktif dan progress bar.
+     */
+    JComponent getStatusBar() {
+        return statusBar;
+    }
+
+    /**
+     * Executor thread penulis ledger, untuk komponen lain yang memutasi
+     * TransactionService (mis. RecurringTransactionScheduler).
+     */
+    Executor ledgerExecutor() {
+        return ioExecutor;
+    }
+
+    /**
+     * Executor ui-compute untuk komponen yang mengelola sendiri hasil
+     * query-nya (mis. grafik yang di-zoom), tanpa status bar.
+     */
+    Executor computeExecutor() {
+        return computeExecutor;
+    }
+
+    /**
+     * Mutasi ledger / I/O di thread ledger-io.
+     */
+    <T> void io(String label, Callable<T> work, Consumer<T> onSuccess) {
+        submit(ioExecutor, label, work, onSuccess);
+    }
+
+    /**
+     * Perhitungan berat (laporan, data grafik) di thread ui-compute.
+     */
+    <T> void compute(String label, Callable<T> work, Consumer<T> onSuccess) {
+        submit(computeExecutor, label, work, onSuccess);
+    }
+
+    private <T> void submit(ExecutorService executor, String label, Callable<T> work, Consumer<T> onSuccess) {
+        started(label);
+        executor.execute(() -> {
+            T result;
+            try {
+                result = work.call();
+            } catch (Throwable t) {
+                SwingUtilities.invokeLater(() -> {
+                    finished();
+                    reportError(label, t);
+                });
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                finished();
+                try {
+                    onSuccess.accept(result);
+                } catch (RuntimeException e) {
+                    reportError(label, e);
+                }
+            });
+        });
+    }
+
+    private void started(String label) {
+        running++;
+        currentLabel = label;
+        if (!progressBar.isVisible()) progressDelay.restart();
+    }
+
+    private void finished() {
+        running--;
+        if (running > 0) return;
+        progressDelay.stop();
+        progressBar.setVisible(false);
+        statusLabel.setText(" ");
+    }
+
+    private void showProgress() {
+        if (running == 0) return;
+        statusLabel.setText(currentLabel + "...");
+        progressBar.setVisible(true);
+    }
+
+    /**
+     * Pelaporan error yang seragam untuk semua tugas latar.
+     */
+    void reportError(String label, Throwable error) {
+        Throwable cause = error instanceof ExecutionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof IllegalArgumentException) {
+            JOptionPane.showMessageDialog(owner, cause.getMessage(), label, JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        System.err.println("Gagal " + label + ": " + cause);
+        cause.printStackTrace();
+        JOptionPane.showMessageDialog(owner, "Gagal " + label + ": " + cause.getMessage(), "Error",
+                JOptionPane.ERROR_MESSAGE);
+    }
+
+    /**
+     * Menolak tugas baru dan menunggu mutasi yang masih antre selesai tersimpan.
+     */
+    void shutdown() {
+        computeExecutor.shutdownNow();
+        ioExecutor.shutdown();
+        try {
+            if (!ioExecutor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                System.err.println("Mutasi ledger belum selesai saat aplikasi ditutup.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package com.financetracker.ui;
+
+import com.financetracker.aggregate.SpendingForecast;
+import com.financetracker.aggregate.Totals;
+import com.financetracker.event.EventBus;
+import com.financetracker.event.LedgerChangeEvent;
+import com.financetracker.model.Category;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+import com.financetracker.service.TransactionService;
+
+import javax.swing.*;
+import javax.swing.border.TitledBorder;
+import java.awt.*;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Dashboard ringkas bulan berjalan: total pemasukan/pengeluaran/saldo,
+ * gauge budget per kategori, kategori teratas, dan transaksi terbaru.
+ *
+ * - Diperbarui dari LedgerChangeEvent, bukan hanya setelah aksi pengguna
+ *   (mis. transaksi rutin yang dibuat saat pergantian hari ikut tampil).
+ * - Pembaruan dibatasi paling sering sekali per UPDATE_INTERVAL_MS: event
+ *   beruntun (impor massal, undo batch) digabung menjadi satu snapshot.
+ * - Snapshot dibaca dari agregat di executor latar; EDT hanya memasang hasil.
+ */
+public class DashboardPanel extends JPanel {
+
+    /** Jeda minimum antar pembaruan dashboard */
+    static final int UPDATE_INTERVAL_MS = 250;
+    private static final int TOP_CATEGORIES = 3;
+    private static final int RECENT_TRANSACTIONS = 5;
+
+    private final TransactionService transactionService;
+    private final Executor executor;
+    private final Timer updateTimer;
+    private final AtomicBoolean eventPending = new AtomicBoolean();
+    private EventBus.Subscription subscription;
+    private boolean loading;
+    private boolean dirtyWhileLoading;
+
+    private final JLabel incomeLabel = new JLabel();
+    private final JLabel expenseLabel = new JLabel();
+    private final JLabel netLabel = new JLabel();
+    private final JLabel forecastLabel = new JLabel();
+    private final Map<Category, JProgressBar> gauges = new EnumMap<>(Category.class);
+    private final JLabel noBudgetLabel = new JLabel("Belum ada budget kategori.");
+    private final JLabel[] topLabels = new JLabel[TOP_CATEGORIES];
+    private final JLabel[] recentLabels = new JLabel[RECENT_TRANSACTIONS];
+
+    public DashboardPanel(TransactionService transactionService, Executor executor) {
+        this.transactionService = transactionService;
+        this.executor = executor;
+        setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
+        setBorder(new TitledBorder("Dashboard Bulan Ini"));
+        setOpaque(false);
+
+        JPanel totals = section("Ringkasan");
+        totals.add(incomeLabel);
+        totals.add(expenseLabel);
+        totals.add(netLabel);
+        totals.add(forecastLabel);
+
+        JPanel budgets = section("Budget per Kategori");
+        budgets.add(noBudgetLabel);
+        for (Category category : Category.values()) {
+            JProgressBar gauge = new JProgressBar(0, 100);
+            gauge.setStringPainted(true);
+            gauge.setVisible(false);
+            gauges.put(category, gauge);
+            budgets.add(gauge);
+        }
+
+        JPanel top = section("Kategori Teratas");
+        for (int i = 0; i < topLabels.length; i++) {
+            topLabels[i] = new JLabel(" ");
+            top.add(topLabels[i]);
+        }
+
+        JPanel recent = section("Transaksi Terbaru");
+        for (int i = 0; i < recentLabels.length; i++) {
+            recentLabels[i] = new JLabel(" ");
+            recent.add(recentLabels[i]);
+        }
+
+        updateTimer = new Timer(UPDATE_INTERVAL_MS, e -> startUpdate());
+        updateTimer.setRepeats(false);
+        setPreferredSize(new Dimension(280, 400));
+    }
+
+    private JPanel section(String title) {
+        JPanel panel = new JPanel(new GridLayout(0, 1, 2, 2));
+        panel.setBorder(BorderFactory.createTitledBorder(title));
+        panel.setOpaque(false);
+        panel.setAlignmentX(LEFT_ALIGNMENT);
+        add(panel);
+        return panel;
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // Isi event tidak dipakai, cukup sinyal; event lama boleh dibuang
+        subscription = transactionService.getEventBus().subscribeDropOldest(LedgerChangeEvent.class, event -> {
+            // Satu invokeLater per burst event; penggabungan lanjutan oleh updateTimer
+            if (eventPending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    eventPending.set(false);
+                    requestUpdate();
+                });
+            }
+        }, EventBus.SIGNAL_MAILBOX_CAPACITY);
+        startUpdate();
+    }
+
+    @Override
+    public void removeNotify() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+        updateTimer.stop();
+        super.removeNotify();
+    }
+
+    /**
+     * Meminta pembaruan (mis. setelah budget diubah). Permintaan selama jeda
+     * yang sama digabung; dipanggil dari EDT.
+     */
+    public void requestUpdate() {
+        if (!updateTimer.isRunning()) updateTimer.start();
+    }
+
+    private void startUpdate() {
+        if (loading) {
+            dirtyWhileLoading = true;
+            return;
+        }
+        loading = true;
+        executor.execute(() -> {
+            Snapshot snapshot = null;
+            try {
+                snapshot = new Snapshot(transactionService);
+            } catch (RuntimeException e) {
+                System.err.println("Dashboard: gagal membaca ringkasan: " + e.getMessage());
+            } finally {
+                // loading harus direset walau snapshot gagal, agar pembaruan berikutnya tetap jalan
+                Snapshot result = snapshot;
+                SwingUtilities.invokeLater(() -> finishUpdate(result));
+            }
+        });
+    }
+
+    /**
+     * @param snapshot null bila pembacaan gagal; tampilan lama dipertahankan
+     */
+    private void finishUpdate(Snapshot snapshot) {
+        loading = false;
+        if (snapshot != null) apply(snapshot);
+        if (dirtyWhileLoading) {
+            dirtyWhileLoading = false;
+            requestUpdate();
+        }
+    }
+
+    private void apply(Snapshot snapshot) {
+        incomeLabel.setText(String.format("Pemasukan: Rp %,.2f", snapshot.month.getIncome()));
+        expenseLabel.setText(String.format("Pengeluaran: Rp %,.2f", snapshot.month.getExpense()));
+        netLabel.setText(String.format("Selisih: Rp %,.2f", snapshot.month.getNet()));
+        netLabel.setForeground(snapshot.month.getNet() < 0 ? Color.RED : UIManager.getColor("Label.foreground"));
+        forecastLabel.setText(String.format("Proyeksi: Rp %,.2f", snapshot.forecast.getProjectedTotal()));
+
+        boolean anyBudget = false;
+        for (Category category : Category.values()) {
+            JProgressBar gauge = gauges.get(category);
+            double limit = snapshot.limits.get(category);
+            gauge.setVisible(limit > 0);
+            if (limit <= 0) continue;
+            anyBudget = true;
+
+            double spent = snapshot.month.getExpense(category);
+            int percent = (int) (spent / limit * 100);
+            gauge.setValue(Math.min(100, percent));
+            gauge.setString(String.format("%s %d%%", category, percent));
+            gauge.setForeground(percent > 90 ? Color.RED : percent > 70 ? Color.ORANGE : new Color(40, 170, 80));
+        }
+        noBudgetLabel.setVisible(!anyBudget);
+
+        for (int i = 0; i < topLabels.length; i++) {
+            Category category = i < snapshot.topCategories.size() ? snapshot.topCategories.get(i) : null;
+            topLabels[i].setText(category == null ? " "
+                    : String.format("%d. %s  Rp %,.2f", i + 1, category, snapshot.month.getExpense(category)));
+        }
+
+        for (int i = 0; i < recentLabels.length; i++) {
+            Transaction tx = i < snapshot.recent.size() ? snapshot.recent.get(i) : null;
+            recentLabels[i].setText(tx == null ? " " : String.format("%s  %s  %sRp %,.2f", tx.getDate(),
+                    tx.getDescription(), tx.getType() == TransactionType.EXPENSE ? "-" : "+", tx.getAmount()));
+        }
+    }
+
+    /**
+     * Data dashboard yang dibaca sekaligus di thread latar.
+     */
+    private static final class Snapshot {
+        final Totals month = new Totals();
+        final SpendingForecast forecast;
+        final Map<Category, Double> limits = new EnumMap<>(Category.class);
+        final List<Category> topCategories = new ArrayList<>();
+        final List<Transaction> recent;
+
+        Snapshot(TransactionService transactionService) {
+            YearMonth current = YearMonth.now(transactionService.getClock());
+            recent = transactionService.readAggregates(agg -> {
+                month.merge(agg.monthTotals(current));
+                return agg.latestTransactions(RECENT_TRANSACTIONS);
+            });
+            forecast = transactionService.getMonthEndForecast();
+
+            for (Category category : Category.values()) {
+                limits.put(category, transactionService.getCategoryBudget(category));
+                if (month.getExpense(category) > 0) topCategories.add(category);
+            }
+            topCategories.sort((a, b) -> Double.compare(month.getExpense(b), month.getExpense(a)));
+            if (topCategories.size() > TOP_CATEGORIES) topCategories.subList(TOP_CATEGORIES, topCategories.size()).clear();
+        }
+    }
+}
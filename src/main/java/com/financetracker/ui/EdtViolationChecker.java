@@ -0,0 +1,126 @@
+package com.financetracker.ui;
+
+import javax.swing.JComponent;
+import javax.swing.RepaintManager;
+import javax.swing.SwingUtilities;
+import java.awt.AWTEvent;
+import java.awt.EventQueue;
+import java.awt.Toolkit;
+
+/**
+ * Pemeriksa pelanggaran aturan thread Swing, hanya aktif dalam mode debug
+ * (-Dfinancetracker.debug=true).
+ *
+ * - Komponen Swing yang di-repaint/di-invalidate dari luar EDT dicatat
+ *   beserta stack trace pemanggilnya.
+ * - Event EDT yang berjalan lebih lama dari SLOW_EVENT_MS (tanda ada I/O
+ *   atau agregasi berat di EDT) dicatat beserta stack trace EDT saat itu,
+ *   diambil oleh thread pengawas.
+ */
+final class EdtViolationChecker {
+
+    static final String DEBUG_PROPERTY = "financetracker.debug";
+    private static final long SLOW_EVENT_MS = 200;
+
+    private EdtViolationChecker() {
+    }
+
+    static boolean isDebugEnabled() {
+        return Boolean.getBoolean(DEBUG_PROPERTY);
+    }
+
+    /**
+     * Memasang pemeriksa bila mode debug aktif; dipanggil dari EDT.
+     */
+    static void installIfDebug() {
+        if (!isDebugEnabled()) return;
+        RepaintManager.setCurrentManager(new CheckingRepaintManager());
+        TimedEventQueue queue = new TimedEventQueue();
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(queue);
+        queue.startWatchdog();
+        System.err.println("[EDT] Pemeriksa thread Swing aktif (mode debug).");
+    }
+
+    private static final class CheckingRepaintManager extends RepaintManager {
+        @Override
+        public synchronized void addInvalidComponent(JComponent component) {
+            check(component);
+            super.addInvalidComponent(component);
+        }
+
+        @Override
+        public void addDirtyRegion(JComponent component, int x, int y, int w, int h) {
+            check(component);
+            super.addDirtyRegion(component, x, y, w, h);
+        }
+
+        private void check(JComponent component) {
+            if (SwingUtilities.isEventDispatchThread()) return;
+            // repaint() yang dipanggil langsung oleh kode aplikasi aman dari thread mana pun;
+            // repaint dari dalam Swing (mis. setText) berarti komponen diubah di luar EDT
+            boolean repaint = false;
+            boolean fromSwing = false;
+            for (StackTraceElement frame : Thread.currentThread().getStackTrace()) {
+                if (repaint && frame.getClassName().startsWith("javax.swing.")) fromSwing = true;
+                if ("repaint".equals(frame.getMethodName())) {
+                    repaint = true;
+                    fromSwing = false;
+                }
+            }
+            if (repaint && !fromSwing) return;
+            Exception trace = new IllegalStateException("Akses Swing di luar EDT: "
+                    + component.getClass().getName() + " dari thread " + Thread.currentThread().getName());
+            System.err.println("[EDT] " + trace.getMessage());
+            trace.printStackTrace();
+        }
+    }
+
+    /**
+     * EventQueue yang mencatat waktu mulai setiap event untuk thread pengawas.
+     */
+    private static final class TimedEventQueue extends EventQueue {
+        private volatile long eventStart;
+        private volatile Thread dispatchThread;
+        private long reportedStart;
+
+        @Override
+        protected void dispatchEvent(AWTEvent event) {
+            dispatchThread = Thread.currentThread();
+            eventStart = System.nanoTime();
+            try {
+                super.dispatchEvent(event);
+            } finally {
+                eventStart = 0;
+            }
+        }
+
+        void startWatchdog() {
+            Thread watchdog = new Thread(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    try {
+                        Thread.sleep(SLOW_EVENT_MS / 2);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    checkSlowEvent();
+                }
+            }, "edt-watchdog");
+            watchdog.setDaemon(true);
+            watchdog.start();
+        }
+
+        private void checkSlowEvent() {
+            long start = eventStart;
+            Thread edt = dispatchThread;
+            if (start == 0 || edt == null || start == reportedStart) return;
+            long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+            if (elapsedMs < SLOW_EVENT_MS) return;
+
+            reportedStart = start;
+            Exception trace = new IllegalStateException("Event EDT berjalan " + elapsedMs + " ms");
+            trace.setStackTrace(edt.getStackTrace());
+            System.err.println("[EDT] " + trace.getMessage() + " (kemungkinan I/O atau komputasi berat di EDT)");
+            trace.printStackTrace();
+        }
+    }
+}
@@ -1,119 +1,193 @@
 package com.financetracker.ui;
 
+import com.financetracker.aggregate.LedgerAggregates;
+import com.financetracker.aggregate.Totals;
+import com.financetracker.event.EventBus;
+import com.financetracker.event.LedgerChangeEvent;
 import com.financetracker.model.Category;
-import com.financetracker.model.Transaction;
-import com.financetracker.model.TransactionType;
+import com.financetracker.service.TransactionService;
 
 import javax.swing.*;
 import java.awt.*;
 import java.awt.geom.Arc2D;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-
+import java.awt.image.BufferedImage;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pie chart pengeluaran per kategori.
+ *
+ * - Total per kategori dibaca dari agregat ledger yang sudah dipelihara
+ *   (LedgerAggregates.overallTotals), bukan dengan memindai transaksi.
+ * - Selama tampil, panel berlangganan LedgerChangeEvent; event beruntun
+ *   digabung menjadi satu pembaruan di EDT.
+ * - Pie digambar ke BufferedImage dan hanya digambar ulang bila ukuran
+ *   panel atau datanya berubah; paintComponent cukup menyalin gambar.
+ */
 public class ExpensePieChartPanel extends JPanel {
 
-    private Map<Category, Double> categoryTotals;
+    // Warna untuk kategori (palet sederhana), tetap per ordinal kategori
+    private static final Color[] COLORS = {
+        new Color(255, 99, 132),   // Merah
+        new Color(54, 162, 235),   // Biru
+        new Color(255, 206, 86),   // Kuning
+        new Color(75, 192, 192),   // Hijau Teal
+        new Color(153, 102, 255),  // Ungu
+        new Color(255, 159, 64),   // Orange
+        new Color(201, 203, 207)   // Abu
+    };
+    private static final Font LEGEND_FONT = new Font("Arial", Font.PLAIN, 12);
+
+    private final TransactionService transactionService;
+    private final double[] categoryTotals = new double[Category.values().length];
     private double totalExpense;
 
-    public ExpensePieChartPanel(List<Transaction> transactions) {
-        calculateData(transactions);
+    /** Gambar pie terakhir; null bila data berubah dan perlu digambar ulang */
+    private BufferedImage cache;
+    private final Arc2D.Double arc = new Arc2D.Double();
+
+    private EventBus.Subscription subscription;
+    private final AtomicReference<Totals> latest = new AtomicReference<>();
+    private final AtomicBoolean updatePending = new AtomicBoolean();
+
+    /**
+     * @param initial total awal (mis. dibaca di thread latar sebelum dialog dibuka)
+     */
+    public ExpensePieChartPanel(TransactionService transactionService, Totals initial) {
+        this.transactionService = transactionService;
+        setTotals(initial);
         setPreferredSize(new Dimension(500, 400));
         setBackground(Color.WHITE);
     }
 
-    private void calculateData(List<Transaction> transactions) {
-        categoryTotals = new HashMap<>();
-        totalExpense = 0;
+    /**
+     * Membaca total per kategori dari agregat; aman dipanggil di luar EDT.
+     */
+    public static Totals readTotals(TransactionService transactionService) {
+        return transactionService.readAggregates(LedgerAggregates::overallTotals);
+    }
 
-        for (Transaction t : transactions) {
-            if (t.getType() == TransactionType.EXPENSE) {
-                categoryTotals.put(t.getCategory(),
-                        categoryTotals.getOrDefault(t.getCategory(), 0.0) + t.getAmount());
-                totalExpense += t.getAmount();
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // Total dibaca ulang dari agregat, jadi event yang terlewat tidak masalah
+        subscription = transactionService.getEventBus().subscribeDropOldest(LedgerChangeEvent.class, event -> {
+            // Dibaca di thread event bus; EDT hanya menerima hasil terbaru
+            latest.set(readTotals(transactionService));
+            if (updatePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    updatePending.set(false);
+                    setTotals(latest.get());
+                });
             }
+        }, EventBus.SIGNAL_MAILBOX_CAPACITY);
+    }
+
+    @Override
+    public void removeNotify() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
         }
+        super.removeNotify();
+    }
+
+    private void setTotals(Totals totals) {
+        double[] next = new double[categoryTotals.length];
+        double sum = 0;
+        for (Category category : Category.values()) {
+            // Sisa pembulatan double dari penghapusan dianggap nol
+            double value = Math.max(0, totals.getExpense(category));
+            next[category.ordinal()] = value;
+            sum += value;
+        }
+        if (Arrays.equals(next, categoryTotals)) return;
+
+        System.arraycopy(next, 0, categoryTotals, 0, next.length);
+        totalExpense = sum;
+        cache = null;
+        repaint();
     }
 
     @Override
     protected void paintComponent(Graphics g) {
         super.paintComponent(g);
+        int width = getWidth();
+        int height = getHeight();
+        if (width <= 0 || height <= 0) return;
 
-        if (totalExpense == 0) {
-            g.drawString("Belum ada data pengeluaran.", getWidth() / 2 - 80, getHeight() / 2);
-            return;
+        if (cache == null || cache.getWidth() != width || cache.getHeight() != height) {
+            cache = render(width, height);
         }
+        g.drawImage(cache, 0, 0, null);
+    }
 
-        Graphics2D g2d = (Graphics2D) g;
-        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+    private BufferedImage render(int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g2d = image.createGraphics();
+        try {
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+            g2d.setFont(LEGEND_FONT);
+
+            if (totalExpense <= 0) {
+                g2d.setColor(Color.BLACK);
+                g2d.drawString("Belum ada data pengeluaran.", width / 2 - 80, height / 2);
+                return image;
+            }
 
-        int width = getWidth();
-        int height = getHeight();
-        
-        // Area untuk chart
-        int chartDiameter = Math.min(width, height) - 100;
-        int chartX = (width - chartDiameter) / 2;
-        int chartY = (height - chartDiameter) / 2 - 20;
-
-        // Area untuk legenda
-        int legendX = 20;
-        int legendY = height - 60;
-
-        double currentAngle = 90; // Mulai dari atas
-
-        // Warna untuk kategori (hardcoded simple palette)
-        Color[] colors = {
-            new Color(255, 99, 132),   // Merah
-            new Color(54, 162, 235),   // Biru
-            new Color(255, 206, 86),   // Kuning
-            new Color(75, 192, 192),   // Hijau Teal
-            new Color(153, 102, 255),  // Ungu
-            new Color(255, 159, 64),   // Orange
-            new Color(201, 203, 207)   // Abu
-        };
-
-        int colorIndex = 0;
-        int legendCol = 0;
-        int legendRow = 0;
-
-        for (Map.Entry<Category, Double> entry : categoryTotals.entrySet()) {
-            Category cat = entry.getKey();
-            Double amount = entry.getValue();
-            
-            // Hitung sudut slice
-            double angle = (amount / totalExpense) * 360;
-
-            // Gambar Slice
-            g2d.setColor(colors[colorIndex % colors.length]);
-            g2d.fill(new Arc2D.Double(chartX, chartY, chartDiameter, chartDiameter, currentAngle, angle, Arc2D.PIE));
-
-            // Gambar Legenda
-            drawLegend(g2d, cat.name(), amount, colors[colorIndex % colors.length], legendX + (legendCol * 150), legendY + (legendRow * 20));
-            
-            // Update posisi
-            currentAngle += angle;
-            colorIndex++;
-            
-            // Grid layout sederhana untuk legenda
-            legendCol++;
-            if (legendCol > 2) {
-                legendCol = 0;
-                legendRow++;
+            // Area untuk chart
+            int chartDiameter = Math.min(width, height) - 100;
+            int chartX = (width - chartDiameter) / 2;
+            int chartY = (height - chartDiameter) / 2 - 20;
+
+            // Area untuk legenda
+            int legendX = 20;
+            int legendY = height - 60;
+
+            double currentAngle = 90; // Mulai dari atas
+            int legendCol = 0;
+            int legendRow = 0;
+
+            for (Category cat : Category.values()) {
+                double amount = categoryTotals[cat.ordinal()];
+                if (amount <= 0) continue;
+                Color color = COLORS[cat.ordinal() % COLORS.length];
+
+                // Hitung sudut slice
+                double angle = (amount / totalExpense) * 360;
+
+                // Gambar Slice
+                g2d.setColor(color);
+                arc.setArc(chartX, chartY, chartDiameter, chartDiameter, currentAngle, angle, Arc2D.PIE);
+                g2d.fill(arc);
+
+                // Gambar Legenda
+                drawLegend(g2d, cat.name(), amount, color, legendX + (legendCol * 150), legendY + (legendRow * 20));
+
+                // Update posisi
+                currentAngle += angle;
+
+                // Grid layout sederhana untuk legenda
+                legendCol++;
+                if (legendCol > 2) {
+                    legendCol = 0;
+                    legendRow++;
+                }
             }
+        } finally {
+            g2d.dispose();
         }
-        
-        // Gambar Total di tengah (opsional, buat donut chart)
-        // g2d.setColor(Color.WHITE);
-        // g2d.fillOval(chartX + chartDiameter/4, chartY + chartDiameter/4, chartDiameter/2, chartDiameter/2);
+        return image;
     }
 
     private void drawLegend(Graphics2D g2, String category, double amount, Color color, int x, int y) {
         g2.setColor(color);
         g2.fillRect(x, y, 15, 15);
-        
+
         g2.setColor(Color.BLACK);
-        g2.setFont(new Font("Arial", Font.PLAIN, 12));
-        
+
         double percent = (amount / totalExpense) * 100;
         String text = String.format("%s (%.1f%%)", category, percent);
         g2.drawString(text, x + 20, y + 12);
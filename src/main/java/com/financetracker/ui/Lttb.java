@@ -0,0 +1,69 @@
+package com.financetracker.ui;
+
+/**
+ * Downsampling Largest-Triangle-Three-Buckets untuk grafik garis.
+ *
+ * Titik pertama dan terakhir selalu dipertahankan; titik di antaranya dibagi
+ * ke (threshold − 2) bucket dan dari tiap bucket dipilih satu titik yang
+ * membentuk segitiga terbesar dengan titik terpilih sebelumnya dan rata-rata
+ * bucket berikutnya. Bentuk puncak/lembah tetap terlihat walau jumlah titik
+ * dipangkas ke lebar piksel. O(n).
+ */
+final class Lttb {
+
+    private Lttb() {
+    }
+
+    /**
+     * Indeks titik terpilih (urut naik) dari x/y sepanjang n.
+     * Jika n ≤ threshold atau threshold &lt; 3, semua indeks dikembalikan.
+     */
+    static int[] downsample(double[] x, double[] y, int n, int threshold) {
+        if (threshold >= n || threshold < 3) {
+            int[] all = new int[n];
+            for (int i = 0; i < n; i++) all[i] = i;
+            return all;
+        }
+
+        int[] sampled = new int[threshold];
+        int count = 0;
+        double every = (double) (n - 2) / (threshold - 2);
+        int a = 0;
+        sampled[count++] = a;
+
+        for (int i = 0; i < threshold - 2; i++) {
+            // Rata-rata bucket berikutnya (titik ketiga segitiga)
+            int avgStart = (int) Math.floor((i + 1) * every) + 1;
+            int avgEnd = Math.min((int) Math.floor((i + 2) * every) + 1, n);
+            double avgX = 0;
+            double avgY = 0;
+            for (int j = avgStart; j < avgEnd; j++) {
+                avgX += x[j];
+                avgY += y[j];
+            }
+            int avgLength = avgEnd - avgStart;
+            avgX /= avgLength;
+            avgY /= avgLength;
+
+            // Titik bucket saat ini dengan luas segitiga terbesar
+            int rangeStart = (int) Math.floor(i * every) + 1;
+            int rangeEnd = (int) Math.floor((i + 1) * every) + 1;
+            double ax = x[a];
+            double ay = y[a];
+            double maxArea = -1;
+            int next = rangeStart;
+            for (int j = rangeStart; j < rangeEnd; j++) {
+                double area = Math.abs((ax - avgX) * (y[j] - ay) - (ax - x[j]) * (avgY - ay));
+                if (area > maxArea) {
+                    maxArea = area;
+                    next = j;
+                }
+            }
+            sampled[count++] = next;
+            a = next;
+        }
+
+        sampled[count] = n - 1;
+        return sampled;
+    }
+}
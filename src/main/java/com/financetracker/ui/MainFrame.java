@@ -1,42 +1,74 @@
 package com.financetracker.ui;
 
+import com.financetracker.aggregate.SpendingForecast;
+import com.financetracker.event.EventBus;
 import com.financetracker.factory.TransactionFactory;
 import com.financetracker.model.Category;
+import com.financetracker.model.RecurrenceFrequency;
+import com.financetracker.model.RecurringRule;
+import com.financetracker.model.ReportPeriod;
 import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFilter;
 import com.financetracker.model.TransactionType;
 import com.financetracker.patterns.strategy.*;
+import com.financetracker.report.PromptReportRenderer;
 import com.financetracker.service.NotificationService;
 import com.financetracker.service.OpenAIService;
+import com.financetracker.service.RecurringTransactionScheduler;
+import com.financetracker.service.ReportPrecomputeScheduler;
 import com.financetracker.service.ReportService;
 import com.financetracker.service.TransactionService;
 
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import javax.swing.table.TableColumn;
 import java.awt.*;
 import java.awt.event.ActionListener;
 import java.text.SimpleDateFormat;
+import java.time.Clock;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.UUID;
 import javax.swing.SpinnerDateModel;
 
 public class MainFrame extends JFrame {
 
     // Services
     private TransactionService transactionService;
+    /** Dibaca oleh shutdown hook; null selama service belum dimuat */
+    private volatile EventBus eventBus;
     private ReportService reportService;
+    /** Dibuat saat fitur AI pertama kali dipakai (butuh OPENAI_API_KEY) */
     private OpenAIService openAIService;
+    private final Object openAILock = new Object();
+    private ReportPrecomputeScheduler precomputeScheduler;
+    private RecurringTransactionScheduler recurringScheduler;
+
+    /** Eksekusi latar: mutasi/I-O di thread ledger-io, perhitungan berat di ui-compute */
+    private BackgroundTasks tasks;
+
+    /** Waktu frame pertama dan siap dipakai, dicetak setelah startup */
+    private final StartupMetrics startupMetrics = new StartupMetrics();
 
     // Table & Models
     private JTable transactionTable;
     private TransactionTableModel tableModel;
+    private TransactionQueryRunner queryRunner;
+
+    // Dashboard (diperbarui dari event ledger); placeholder selama data dimuat
+    private DashboardPanel dashboardPanel;
+    private JLabel loadingLabel;
 
     // Budget UI
     private JLabel budgetLabel;
+    private JLabel forecastLabel;
     private JProgressBar budgetProgressBar;
     private JButton setBudgetButton;
 
@@ -47,35 +79,93 @@ public class MainFrame extends JFrame {
     private JTextField amountField;
     private JComboBox<TransactionType> typeComboBox;
     private JComboBox<Category> categoryComboBox;
+    private JComboBox<Object> recurrenceComboBox;
+    private JComboBox<String> accountComboBox;
     private JButton addButton;
 
     // Filter panel components
+    private JComboBox<String> filterAccountComboBox;
     private JComboBox<Category> filterCategoryComboBox;
     private JTextField filterStartDateField;
     private JTextField filterEndDateField;
     private JButton filterButton;
+    /** Menunda filter otomatis sampai pengguna berhenti mengetik */
+    private Timer filterDebounce;
+    /** true selama pilihan akun diisi ulang, agar tidak memicu filter */
+    private boolean refreshingAccounts;
     private JButton deleteButton;
+    private JButton recategorizeButton;
+    private JButton transferButton;
+    private JButton undoButton;
+    private JButton redoButton;
 
     // Report & AI
     private JComboBox<ReportStrategy> reportComboBox;
+    private JTextField reportPeriodField;
     private JButton reportButton;
+    private JButton chartButton;
     private JButton aiAdviceButton;
 
     private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    private static final int FILTER_DEBOUNCE_MS = 300;
+
+    /**
+     * Startup bertahap: jendela langsung tampil dengan kontrol nonaktif,
+     * service dan data ledger dimuat di thread ledger-io, lalu panel yang
+     * butuh data dipasang di EDT (onServicesReady). Transaksi rutin dan
+     * precompute laporan baru dimulai setelah aplikasi siap dipakai.
+     */
     public MainFrame() {
-        initServices();
+        EdtViolationChecker.installIfDebug();
+        tasks = new BackgroundTasks(this);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown));
         initUI();
-        loadInitialData();
+        setDataControlsEnabled(false);
+        startupMetrics.trackFirstFrame(this);
+
+        startupMetrics.dataLoadStarted();
+        tasks.io("Memuat data", () -> {
+            initServices();
+            return null;
+        }, done -> onServicesReady());
     }
 
+    /**
+     * Shutdown hook: mutasi yang masih antre di thread ledger-io diselesaikan
+     * dulu, baru event bus ditutup agar event dari mutasi itu ikut terkirim
+     * (notifikasi budget dikirim asinkron).
+     */
+    private void shutdown() {
+        tasks.shutdown();
+        EventBus bus = eventBus;
+        if (bus != null) bus.shutdown();
+    }
+
+    /**
+     * Dijalankan di thread ledger-io (memuat snapshot dan memutar ulang jurnal).
+     * Field service ditulis di sini sebelum onServicesReady berjalan di EDT.
+     */
     private void initServices() {
         transactionService = new TransactionService();
-        reportService = new ReportService();
-        openAIService = new OpenAIService();
+        reportService = new ReportService(transactionService);
 
         NotificationService logger = new NotificationService();
         transactionService.addObserver(logger);
+
+        eventBus = transactionService.getEventBus();
+
+        // Laporan periode berjalan dihitung di latar belakang agar dialog laporan/AI tidak membeku
+        Clock clock = transactionService.getClock();
+        precomputeScheduler = new ReportPrecomputeScheduler(reportService, List.of(
+                new DailyReportStrategy(clock),
+                new MonthlyReportStrategy(clock),
+                new YearlyReportStrategy(clock)
+        ), clock);
+        transactionService.addDataChangeObserver(precomputeScheduler);
+
+        // Transaksi rutin dibuat saat startup dan pergantian hari; mutasi tetap di thread ledger-io
+        recurringScheduler = new RecurringTransactionScheduler(transactionService, clock, tasks.ledgerExecutor());
     }
 
     private void initUI() {
@@ -96,7 +186,14 @@ public class MainFrame extends JFrame {
 
         add(topPanel, BorderLayout.NORTH);
         add(createTablePanel(), BorderLayout.CENTER);
-        add(createBottomPanel(), BorderLayout.SOUTH);
+        loadingLabel = new JLabel("Memuat data...", SwingConstants.CENTER);
+        loadingLabel.setPreferredSize(new Dimension(280, 400));
+        add(loadingLabel, BorderLayout.EAST);
+        JPanel southPanel = new JPanel(new BorderLayout(0, 4));
+        southPanel.setOpaque(false);
+        southPanel.add(createBottomPanel(), BorderLayout.CENTER);
+        southPanel.add(tasks.getStatusBar(), BorderLayout.SOUTH);
+        add(southPanel, BorderLayout.SOUTH);
 
         pack();
         setLocationRelativeTo(null);
@@ -164,6 +261,29 @@ public class MainFrame extends JFrame {
         categoryComboBox = new JComboBox<>(Category.values());
         panel.add(categoryComboBox, g);
 
+        // Akun (bisa diketik untuk membuat akun baru)
+        y++;
+        g.gridx = 0; g.gridy = y;
+        panel.add(new JLabel("Akun:"), g);
+
+        accountComboBox = new JComboBox<>();
+        accountComboBox.setEditable(true);
+        g.gridx = 1; g.gridwidth = 2;
+        panel.add(accountComboBox, g);
+        g.gridwidth = 1;
+
+        // Pengulangan (transaksi rutin)
+        y++;
+        g.gridx = 0; g.gridy = y;
+        panel.add(new JLabel("Ulangi:"), g);
+
+        recurrenceComboBox = new JComboBox<>();
+        recurrenceComboBox.addItem("Tidak");
+        for (RecurrenceFrequency f : RecurrenceFrequency.values()) recurrenceComboBox.addItem(f);
+        g.gridx = 1; g.gridwidth = 2;
+        panel.add(recurrenceComboBox, g);
+        g.gridwidth = 1;
+
         // Tombol Tambah
         y++;
         addButton = new JButton("Tambah");
@@ -199,18 +319,66 @@ public class MainFrame extends JFrame {
             }
         });
 
+        filterAccountComboBox = new JComboBox<>();
+        filterAccountComboBox.setRenderer(new DefaultListCellRenderer() {
+            public Component getListCellRendererComponent(JList<?> list, Object value,
+                int index, boolean isSelected, boolean cellHasFocus) {
+
+                super.getListCellRendererComponent(list, value, index, isSelected, cellHasFocus);
+                if (value == null) setText("Semua Akun");
+                return this;
+            }
+        });
+
         filterStartDateField = new JTextField(10);
         filterEndDateField = new JTextField(10);
 
         filterButton = new JButton("Filter");
         filterButton.addActionListener(e -> filterTransactions());
 
+        // Filter langsung saat isian berubah, setelah jeda mengetik
+        filterDebounce = new Timer(FILTER_DEBOUNCE_MS, e -> applyLiveFilter());
+        filterDebounce.setRepeats(false);
+        filterCategoryComboBox.addActionListener(e -> scheduleFilter());
+        filterAccountComboBox.addActionListener(e -> scheduleFilter());
+        DocumentListener onEdit = new DocumentListener() {
+            public void insertUpdate(DocumentEvent e) { scheduleFilter(); }
+            public void removeUpdate(DocumentEvent e) { scheduleFilter(); }
+            public void changedUpdate(DocumentEvent e) { scheduleFilter(); }
+        };
+        filterStartDateField.getDocument().addDocumentListener(onEdit);
+        filterEndDateField.getDocument().addDocumentListener(onEdit);
+
         deleteButton = new JButton("Hapus Terpilih");
         deleteButton.setBackground(new Color(220, 50, 50));
         deleteButton.setForeground(Color.WHITE);
         deleteButton.setEnabled(false);
         deleteButton.addActionListener(e -> deleteTransaction());
 
+        recategorizeButton = new JButton("Ubah Kategori");
+        recategorizeButton.setToolTipText("Ubah kategori semua transaksi terpilih");
+        recategorizeButton.setEnabled(false);
+        recategorizeButton.addActionListener(e -> recategorizeTransactions());
+
+        transferButton = new JButton("Transfer");
+        transferButton.setToolTipText("Pindahkan dana antar akun");
+        transferButton.addActionListener(e -> showTransferDialog());
+
+        undoButton = new JButton("Undo");
+        undoButton.setToolTipText("Batalkan perubahan terakhir (Ctrl+Z)");
+        undoButton.addActionListener(e -> undo());
+
+        redoButton = new JButton("Redo");
+        redoButton.setToolTipText("Ulangi perubahan yang dibatalkan (Ctrl+Y)");
+        redoButton.addActionListener(e -> redo());
+
+        // Lewat tombol agar shortcut ikut nonaktif selama memuat / tanpa riwayat
+        bindShortcut(panel, "control Z", "undo", undoButton::doClick);
+        bindShortcut(panel, "control Y", "redo", redoButton::doClick);
+
+        panel.add(new JLabel("Akun:"));
+        panel.add(filterAccountComboBox);
+
         panel.add(new JLabel("Kategori:"));
         panel.add(filterCategoryComboBox);
 
@@ -222,17 +390,34 @@ public class MainFrame extends JFrame {
 
         panel.add(filterButton);
         panel.add(deleteButton);
+        panel.add(recategorizeButton);
+        panel.add(transferButton);
+        panel.add(undoButton);
+        panel.add(redoButton);
 
         return panel;
     }
 
+    private static void bindShortcut(JComponent component, String keyStroke, String name, Runnable action) {
+        component.getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(KeyStroke.getKeyStroke(keyStroke), name);
+        component.getActionMap().put(name, new AbstractAction() {
+            @Override
+            public void actionPerformed(java.awt.event.ActionEvent e) {
+                action.run();
+            }
+        });
+    }
+
     // ============================================================
     // TABLE PANEL
     // ============================================================
 
     private JScrollPane createTablePanel() {
+        // Event ledger dan query runner dipasang di onServicesReady
         tableModel = new TransactionTableModel();
         transactionTable = new JTable(tableModel);
+        // Urut per kolom lewat kunci bertipe, bukan teks terformat
+        transactionTable.setRowSorter(new TransactionRowSorter(tableModel));
 
         transactionTable.setRowHeight(26);
 
@@ -240,9 +425,18 @@ public class MainFrame extends JFrame {
         TableColumn idCol = transactionTable.getColumnModel().getColumn(0);
         transactionTable.removeColumn(idCol);
 
-        transactionTable.getSelectionModel().addListSelectionListener(
-            e -> deleteButton.setEnabled(transactionTable.getSelectedRow() >= 0)
-        );
+        TransactionCellRenderer renderer = new TransactionCellRenderer(tableModel);
+        for (int i = 0; i < transactionTable.getColumnCount(); i++) {
+            transactionTable.getColumnModel().getColumn(i).setCellRenderer(renderer);
+        }
+
+        // Banyak baris bisa dipilih (Shift/Ctrl/Ctrl+A) untuk hapus dan ubah kategori massal
+        transactionTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        transactionTable.getSelectionModel().addListSelectionListener(e -> {
+            boolean selected = transactionTable.getSelectedRow() >= 0;
+            deleteButton.setEnabled(selected);
+            recategorizeButton.setEnabled(selected);
+        });
 
         JScrollPane scroll = new JScrollPane(transactionTable);
         scroll.setBorder(new TitledBorder("Daftar Transaksi"));
@@ -268,6 +462,9 @@ public class MainFrame extends JFrame {
         budgetLabel = new JLabel("Pengeluaran: Rp 0 / Rp 0", SwingConstants.CENTER);
         budgetLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
 
+        forecastLabel = new JLabel("Proyeksi akhir bulan: Rp 0", SwingConstants.CENTER);
+        forecastLabel.setAlignmentX(Component.CENTER_ALIGNMENT);
+
         budgetProgressBar = new JProgressBar(0,100);
         budgetProgressBar.setStringPainted(true);
 
@@ -276,6 +473,7 @@ public class MainFrame extends JFrame {
         setBudgetButton.addActionListener(e -> setBudget());
 
         budgetPanel.add(budgetLabel);
+        budgetPanel.add(forecastLabel);
         budgetPanel.add(Box.createVerticalStrut(5));
         budgetPanel.add(budgetProgressBar);
         budgetPanel.add(Box.createVerticalStrut(5));
@@ -288,7 +486,9 @@ public class MainFrame extends JFrame {
         ReportStrategy[] options = {
             new DailyReportStrategy(),
             new MonthlyReportStrategy(),
-            new YearlyReportStrategy()
+            new YearlyReportStrategy(),
+            new MonthlyComparisonReportStrategy(),
+            new YearlyComparisonReportStrategy()
         };
 
         reportComboBox = new JComboBox<>(options);
@@ -301,6 +501,10 @@ public class MainFrame extends JFrame {
             }
         });
 
+        // Kosong = periode berjalan; bisa diisi yyyy, yyyy-MM, yyyy-MM-dd, atau awal..akhir
+        reportPeriodField = new JTextField(10);
+        reportPeriodField.setToolTipText("Kosongkan untuk periode berjalan. Format: yyyy, yyyy-MM, yyyy-MM-dd, atau yyyy-MM-dd..yyyy-MM-dd");
+
         reportButton = new JButton("Buat Laporan");
         reportButton.addActionListener(e -> generateReport());
 
@@ -311,9 +515,11 @@ public class MainFrame extends JFrame {
 
         actionPanel.add(new JLabel("Jenis Laporan:"));
         actionPanel.add(reportComboBox);
+        actionPanel.add(new JLabel("Periode:"));
+        actionPanel.add(reportPeriodField);
         actionPanel.add(reportButton);
         
-        JButton chartButton = new JButton("Lihat Grafik");
+        chartButton = new JButton("Lihat Grafik");
         chartButton.addActionListener(e -> showChartDialog());
         actionPanel.add(chartButton);
 
@@ -329,20 +535,103 @@ public class MainFrame extends JFrame {
     // LOGIC METHODS
     // ============================================================
 
-    private void loadInitialData() {
-        refreshTable(transactionService.getAllTransactions());
+    /**
+     * Service sudah dimuat: pasang panel yang butuh data lalu aktifkan kontrol.
+     */
+    private void onServicesReady() {
+        // Tambah/hapus berikutnya diterapkan per baris, filter aktif tetap berlaku;
+        // bila ada event yang terlewat, filter yang sama dijalankan ulang
+        tableModel.listenTo(transactionService.getEventBus(), () -> runFilter(tableModel.getFilter()));
+        queryRunner = new TransactionQueryRunner(transactionService, tableModel);
+
+        remove(loadingLabel);
+        loadingLabel = null;
+        dashboardPanel = new DashboardPanel(transactionService, tasks.computeExecutor());
+        add(dashboardPanel, BorderLayout.EAST);
+        revalidate();
+
+        refreshAccounts();
         refreshBudget();
+        setDataControlsEnabled(true);
+        updateUndoButtons();
+        startupMetrics.interactive();
+
+        // Snapshot dan versinya dibaca konsisten di thread latar, lalu dimuat bertahap
+        queryRunner.submit(TransactionFilter.ALL, () -> {
+            startupMetrics.tableLoaded(tableModel.getRowCount());
+            // Pekerjaan latar yang tidak dibutuhkan untuk tampilan awal
+            tasks.io("Memproses transaksi rutin", () -> {
+                recurringScheduler.start();
+                return null;
+            }, done -> refreshAfterChange());
+            precomputeScheduler.start();
+        });
     }
 
-    private void refreshTable(List<Transaction> list) {
-        tableModel.setTransactions(list);
-        deleteButton.setEnabled(false);
+    /**
+     * Kontrol yang membaca/mengubah data; nonaktif selama data dimuat.
+     * Tombol hapus/ubah kategori mengikuti pilihan baris, undo/redo mengikuti riwayat.
+     */
+    private void setDataControlsEnabled(boolean enabled) {
+        JComponent[] controls = {
+                addButton, accountComboBox, filterAccountComboBox, filterCategoryComboBox,
+                filterStartDateField, filterEndDateField, filterButton, transferButton,
+                undoButton, redoButton, setBudgetButton, reportButton, chartButton, aiAdviceButton
+        };
+        for (JComponent control : controls) control.setEnabled(enabled);
     }
 
+    /**
+     * Setelah mutasi: tabel sudah diperbarui lewat event, cukup segarkan panel lain.
+     */
+    private void refreshAfterChange() {
+        refreshAccounts();
+        refreshBudget();
+        updateUndoButtons();
+    }
+
+    /**
+     * Mengisi ulang pilihan akun (akun baru muncul setelah transaksi pertamanya).
+     */
+    private void refreshAccounts() {
+        List<String> accounts = transactionService.getAccounts();
+
+        Object selected = accountComboBox.getSelectedItem();
+        accountComboBox.removeAllItems();
+        for (String account : accounts) accountComboBox.addItem(account);
+        accountComboBox.setSelectedItem(selected != null ? selected : Transaction.DEFAULT_ACCOUNT);
+
+        refreshingAccounts = true;
+        try {
+            Object filterSelected = filterAccountComboBox.getSelectedItem();
+            filterAccountComboBox.removeAllItems();
+            filterAccountComboBox.addItem(null);
+            for (String account : accounts) filterAccountComboBox.addItem(account);
+            filterAccountComboBox.setSelectedItem(filterSelected);
+        } finally {
+            refreshingAccounts = false;
+        }
+    }
+
+    private void updateUndoButtons() {
+        undoButton.setEnabled(transactionService.canUndo());
+        redoButton.setEnabled(transactionService.canRedo());
+    }
+
+    /**
+     * Proyeksi akhir bulan bisa membangun ulang profil bulan-bulan sebelumnya,
+     * jadi dihitung di ui-compute; label diperbarui di EDT setelah selesai.
+     */
     private void refreshBudget() {
+        tasks.compute("Menghitung proyeksi",
+                () -> new BudgetStatus(transactionService.getMonthlyBudget(), transactionService.getMonthEndForecast()),
+                this::showBudget);
+    }
 
-        double budget = transactionService.getMonthlyBudget();
-        double spending = transactionService.getCurrentMonthSpending();
+    private void showBudget(BudgetStatus status) {
+        double budget = status.budget;
+        SpendingForecast forecast = status.forecast;
+        double spending = forecast.getSpentSoFar();
 
         int percent = (budget > 0) ? (int)((spending / budget)*100) : 0;
 
@@ -350,6 +639,11 @@ public class MainFrame extends JFrame {
             "Pengeluaran: Rp %,.2f / Rp %,.2f",
             spending, budget
         ));
+        forecastLabel.setText(String.format(
+            "Proyeksi akhir bulan: Rp %,.2f", forecast.getProjectedTotal()
+        ));
+        forecastLabel.setForeground(forecast.getProjectedTotal() >= budget && budget > 0
+            ? Color.RED : UIManager.getColor("Label.foreground"));
 
         budgetProgressBar.setValue(Math.min(100, percent));
         budgetProgressBar.setString(percent + "%");
@@ -369,13 +663,26 @@ public class MainFrame extends JFrame {
             double amount = Double.parseDouble(amountField.getText());
             TransactionType type = (TransactionType) typeComboBox.getSelectedItem();
             Category category = (Category) categoryComboBox.getSelectedItem();
-
-            Transaction t = TransactionFactory.createTransaction(
-                    date, desc, amount, type, category
-            );
-
-            transactionService.addTransaction(t);
-            loadInitialData();
+            Object accountItem = accountComboBox.getSelectedItem();
+            String account = accountItem == null || accountItem.toString().isBlank()
+                    ? Transaction.DEFAULT_ACCOUNT : accountItem.toString().trim();
+
+            Object recurrence = recurrenceComboBox.getSelectedItem();
+            if (recurrence instanceof RecurrenceFrequency) {
+                // Aturan rutin: kemunculan yang sudah jatuh tempo (termasuk tanggal ini) langsung dibuat
+                RecurringRule rule = new RecurringRule(UUID.randomUUID().toString(), desc, amount,
+                        type, category, (RecurrenceFrequency) recurrence, date, null, account);
+                tasks.io("Menyimpan transaksi rutin", () -> recurringScheduler.addRule(rule),
+                        result -> refreshAfterChange());
+            } else {
+                Transaction t = TransactionFactory.createTransaction(
+                        date, desc, amount, type, category, account
+                );
+                tasks.io("Menyimpan transaksi", () -> {
+                    transactionService.addTransaction(t);
+                    return null;
+                }, done -> refreshAfterChange());
+            }
 
             descriptionField.setText("");
             amountField.setText("");
@@ -389,66 +696,236 @@ public class MainFrame extends JFrame {
         }
     }
 
+    /**
+     * ID transaksi pada semua baris terpilih (indeks view dikonversi ke model).
+     */
+    private List<String> selectedTransactionIds() {
+        int[] viewRows = transactionTable.getSelectedRows();
+        List<String> ids = new ArrayList<>(viewRows.length);
+        for (int row : viewRows) {
+            int modelRow = transactionTable.convertRowIndexToModel(row);
+            ids.add(tableModel.getTransactionAt(modelRow).getId());
+        }
+        return ids;
+    }
+
+    /**
+     * Menghapus semua transaksi terpilih sebagai satu mutasi (satu konfirmasi,
+     * satu entri jurnal, satu undo).
+     */
     private void deleteTransaction() {
-        int row = transactionTable.getSelectedRow();
-        if (row < 0) {
+        List<String> ids = selectedTransactionIds();
+        if (ids.isEmpty()) {
             JOptionPane.showMessageDialog(this, "Tidak ada transaksi yang dipilih.");
             return;
         }
 
-        int modelRow = transactionTable.convertRowIndexToModel(row);
-        String id = (String) tableModel.getValueAt(modelRow, 0);
-
         int confirm = JOptionPane.showConfirmDialog(
                 this,
-                "Yakin ingin menghapus transaksi ini?",
+                ids.size() == 1 ? "Yakin ingin menghapus transaksi ini?"
+                        : String.format("Yakin ingin menghapus %,d transaksi terpilih?", ids.size()),
                 "Konfirmasi",
                 JOptionPane.YES_NO_OPTION
         );
 
         if (confirm == JOptionPane.YES_OPTION) {
-            transactionService.deleteTransaction(id);
-            loadInitialData();
+            tasks.io("Menghapus transaksi", () -> transactionService.deleteTransactions(ids),
+                    removed -> refreshAfterChange());
         }
     }
 
+    /**
+     * Mengubah kategori semua transaksi terpilih sebagai satu mutasi.
+     */
+    private void recategorizeTransactions() {
+        List<String> ids = selectedTransactionIds();
+        if (ids.isEmpty()) {
+            JOptionPane.showMessageDialog(this, "Tidak ada transaksi yang dipilih.");
+            return;
+        }
+
+        Category category = (Category) JOptionPane.showInputDialog(
+                this,
+                String.format("Kategori baru untuk %,d transaksi terpilih:", ids.size()),
+                "Ubah Kategori",
+                JOptionPane.QUESTION_MESSAGE,
+                null,
+                Category.values(),
+                categoryComboBox.getSelectedItem()
+        );
+        if (category == null) return;
+
+        tasks.io("Mengubah kategori", () -> transactionService.recategorizeTransactions(ids, category),
+                changed -> refreshAfterChange());
+    }
+
+    private void undo() {
+        tasks.io("Undo", transactionService::undo, changed -> {
+            if (changed) refreshAfterChange();
+        });
+    }
+
+    private void redo() {
+        tasks.io("Redo", transactionService::redo, changed -> {
+            if (changed) refreshAfterChange();
+        });
+    }
+
     private void filterTransactions() {
+        filterDebounce.stop();
         try {
-            Category cat = (Category) filterCategoryComboBox.getSelectedItem();
-            LocalDate start = filterStartDateField.getText().isBlank() ? null :
-                    LocalDate.parse(filterStartDateField.getText(), dateFormatter);
-            LocalDate end = filterEndDateField.getText().isBlank() ? null :
-                    LocalDate.parse(filterEndDateField.getText(), dateFormatter);
+            runFilter(readFilter());
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Format tanggal salah.");
+        }
+    }
 
-            List<Transaction> list = transactionService.filterTransactions(cat, start, end);
-            refreshTable(list);
+    private void scheduleFilter() {
+        if (!refreshingAccounts && queryRunner != null) filterDebounce.restart();
+    }
 
-        } catch (Exception e) {
-            JOptionPane.showMessageDialog(this, "Format tanggal salah.");
+    /**
+     * Filter otomatis: tanggal yang belum lengkap ditandai, tanpa dialog.
+     */
+    private void applyLiveFilter() {
+        try {
+            TransactionFilter filter = readFilter();
+            markDateField(filterStartDateField, true);
+            markDateField(filterEndDateField, true);
+            runFilter(filter);
+        } catch (DateTimeParseException e) {
+            markDateField(filterStartDateField, isValidDate(filterStartDateField.getText()));
+            markDateField(filterEndDateField, isValidDate(filterEndDateField.getText()));
         }
     }
 
-    private void setBudget() {
-        String current = String.valueOf(transactionService.getMonthlyBudget());
+    private TransactionFilter readFilter() {
+        Category cat = (Category) filterCategoryComboBox.getSelectedItem();
+        LocalDate start = filterStartDateField.getText().isBlank() ? null :
+                LocalDate.parse(filterStartDateField.getText().trim(), dateFormatter);
+        LocalDate end = filterEndDateField.getText().isBlank() ? null :
+                LocalDate.parse(filterEndDateField.getText().trim(), dateFormatter);
+        String account = (String) filterAccountComboBox.getSelectedItem();
+        return new TransactionFilter(account, cat, start, end);
+    }
 
-        String input = JOptionPane.showInputDialog(
-                this,
-                "Masukkan budget bulanan:",
-                current
-        );
+    /**
+     * Query berjalan di latar; hasil tampil bertahap dan query sebelumnya dibatalkan.
+     */
+    private void runFilter(TransactionFilter filter) {
+        deleteButton.setEnabled(false);
+        recategorizeButton.setEnabled(false);
+        queryRunner.submit(filter, this::updateUndoButtons);
+    }
+
+    private boolean isValidDate(String text) {
+        if (text.isBlank()) return true;
+        try {
+            LocalDate.parse(text.trim(), dateFormatter);
+            return true;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
 
-        if (input == null) return;
+    private static void markDateField(JTextField field, boolean valid) {
+        field.setBackground(valid ? UIManager.getColor("TextField.background") : new Color(255, 220, 220));
+    }
 
+    private void showTransferDialog() {
+        List<String> accounts = transactionService.getAccounts();
+        JComboBox<String> fromBox = new JComboBox<>(accounts.toArray(new String[0]));
+        JComboBox<String> toBox = new JComboBox<>(accounts.toArray(new String[0]));
+        fromBox.setEditable(true);
+        toBox.setEditable(true);
+        if (accounts.size() > 1) toBox.setSelectedIndex(1);
+
+        JTextField amountInput = new JTextField(12);
+        JTextField dateInput = new JTextField(LocalDate.now().format(dateFormatter), 12);
+        JTextField descInput = new JTextField(20);
+
+        JPanel panel = new JPanel(new GridLayout(0, 2, 4, 4));
+        panel.add(new JLabel("Dari akun:"));
+        panel.add(fromBox);
+        panel.add(new JLabel("Ke akun:"));
+        panel.add(toBox);
+        panel.add(new JLabel("Jumlah (Rp):"));
+        panel.add(amountInput);
+        panel.add(new JLabel("Tanggal:"));
+        panel.add(dateInput);
+        panel.add(new JLabel("Keterangan:"));
+        panel.add(descInput);
+
+        int option = JOptionPane.showConfirmDialog(
+                this, panel, "Transfer Antar Akun", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) return;
+
+        double amount;
+        LocalDate date;
         try {
-            double value = Double.parseDouble(input);
-            if (value < 0) throw new Exception("Budget harus ≥ 0");
+            amount = Double.parseDouble(amountInput.getText().trim());
+            date = LocalDate.parse(dateInput.getText().trim(), dateFormatter);
+        } catch (NumberFormatException | DateTimeParseException ex) {
+            JOptionPane.showMessageDialog(this, "Input transfer tidak valid.");
+            return;
+        }
+        String from = String.valueOf(fromBox.getSelectedItem());
+        String to = String.valueOf(toBox.getSelectedItem());
+        String description = descInput.getText();
+        // Validasi akun/jumlah dari service muncul sebagai pesan lewat BackgroundTasks
+        tasks.io("Transfer", () -> {
+            transactionService.transfer(from, to, amount, date, description);
+            return null;
+        }, done -> refreshAfterChange());
+    }
 
-            transactionService.setMonthlyBudget(value);
-            refreshBudget();
+    private void setBudget() {
+        final String overall = "Total (semua kategori)";
+        JComboBox<Object> scopeBox = new JComboBox<>();
+        scopeBox.addItem(overall);
+        for (Category c : Category.values()) scopeBox.addItem(c);
+
+        JTextField amountInput = new JTextField(String.valueOf(transactionService.getMonthlyBudget()), 12);
+        scopeBox.addActionListener(e -> {
+            Object scope = scopeBox.getSelectedItem();
+            double current = scope instanceof Category
+                    ? transactionService.getCategoryBudget((Category) scope)
+                    : transactionService.getMonthlyBudget();
+            amountInput.setText(String.valueOf(current));
+        });
+
+        JPanel panel = new JPanel(new GridLayout(0, 1, 4, 4));
+        panel.add(new JLabel("Budget untuk:"));
+        panel.add(scopeBox);
+        panel.add(new JLabel("Budget bulanan (0 = tanpa budget kategori):"));
+        panel.add(amountInput);
+
+        int option = JOptionPane.showConfirmDialog(
+                this, panel, "Set Budget", JOptionPane.OK_CANCEL_OPTION, JOptionPane.PLAIN_MESSAGE);
+        if (option != JOptionPane.OK_OPTION) return;
 
+        double value;
+        try {
+            value = Double.parseDouble(amountInput.getText().trim());
+            if (value < 0) throw new Exception("Budget harus ≥ 0");
         } catch (Exception e) {
             JOptionPane.showMessageDialog(this, "Input budget tidak valid.");
+            return;
         }
+
+        // Budget disimpan ke disk dan dievaluasi ulang di thread ledger-io
+        Object scope = scopeBox.getSelectedItem();
+        tasks.io("Menyimpan budget", () -> {
+            if (scope instanceof Category) {
+                transactionService.setCategoryBudget((Category) scope, value);
+            } else {
+                transactionService.setMonthlyBudget(value);
+            }
+            return null;
+        }, done -> {
+            refreshBudget();
+            dashboardPanel.requestUpdate();
+        });
     }
 
     // ============================================================
@@ -457,10 +934,16 @@ public class MainFrame extends JFrame {
 
     private void generateReport() {
         ReportStrategy strategy = (ReportStrategy) reportComboBox.getSelectedItem();
-        reportService.setStrategy(strategy);
+        String periodText = reportPeriodField.getText();
 
-        String content = reportService.generateReport(transactionService.getAllTransactions());
+        // Strategi dan pembuatan laporan berjalan berurutan di thread ui-compute
+        tasks.compute("Membuat laporan", () -> {
+            reportService.setStrategy(strategy);
+            return reportService.generateReport(selectedReportPeriod(strategy, periodText));
+        }, content -> showReportDialog(strategy, content));
+    }
 
+    private void showReportDialog(ReportStrategy strategy, String content) {
         JTextArea area = new JTextArea(content);
         area.setEditable(false);
         area.setFont(new Font("Monospaced", Font.PLAIN, 12));
@@ -471,9 +954,34 @@ public class MainFrame extends JFrame {
         JOptionPane.showMessageDialog(this, scroll, strategy.getReportName(), JOptionPane.INFORMATION_MESSAGE);
     }
 
+    /**
+     * Periode dari field "Periode", atau periode berjalan strategi jika kosong.
+     */
+    private static ReportPeriod selectedReportPeriod(ReportStrategy strategy, String text) {
+        return text.isBlank() ? strategy.getPeriod() : ReportPeriod.parse(text);
+    }
+
     private void openAIChatDialog() {
-        String summary = reportService.generateReport(transactionService.getAllTransactions());
+        // Konteks AI memakai format ringkas agar token yang dikirim minimal.
+        // Service AI dibuat saat pertama dipakai; API key yang belum diset dilaporkan di sini.
+        tasks.compute("Menyiapkan sesi AI", () -> {
+            aiService();
+            return reportService.generateReport(new PromptReportRenderer());
+        }, this::startAIChat);
+    }
+
+    /**
+     * OpenAIService dibuat sekali, saat fitur AI pertama kali dipakai
+     * (dipanggil dari thread ui-compute dan worker chat).
+     */
+    private OpenAIService aiService() {
+        synchronized (openAILock) {
+            if (openAIService == null) openAIService = new OpenAIService();
+            return openAIService;
+        }
+    }
 
+    private void startAIChat(String summary) {
         JDialog loading = new JDialog(this, "Menghubungi AI...", true);
         JProgressBar pb = new JProgressBar();
         pb.setIndeterminate(true);
@@ -483,7 +991,7 @@ public class MainFrame extends JFrame {
 
         SwingWorker<String,Void> worker = new SwingWorker<>() {
             protected String doInBackground() {
-                return openAIService.startFinancialAdviceSession(summary);
+                return aiService().startFinancialAdviceSession(summary);
             }
             protected void done() {
                 loading.dispose();
@@ -528,7 +1036,7 @@ public class MainFrame extends JFrame {
 
             SwingWorker<String,Void> talk = new SwingWorker<>() {
                 protected String doInBackground() {
-                    return openAIService.continueChat(msg);
+                    return aiService().continueChat(msg);
                 }
                 protected void done() {
                     try {
@@ -555,14 +1063,43 @@ public class MainFrame extends JFrame {
 
     private void showChartDialog() {
         JDialog dialog = new JDialog(this, "Visualisasi Pengeluaran", true);
-        dialog.setSize(600, 500);
+        dialog.setSize(1150, 520);
         dialog.setLayout(new BorderLayout());
         dialog.setLocationRelativeTo(this);
 
-        ExpensePieChartPanel chartPanel = new ExpensePieChartPanel(transactionService.getAllTransactions());
-        dialog.add(chartPanel, BorderLayout.CENTER);
-
-        dialog.setVisible(true);
+        // Tren waktu memuat sendiri rentang yang terlihat di thread ui-compute
+        TimeSeriesChartPanel trendPanel = new TimeSeriesChartPanel(transactionService, tasks.computeExecutor());
+        JComboBox<TimeSeriesChartPanel.Granularity> granularityBox =
+                new JComboBox<>(TimeSeriesChartPanel.Granularity.values());
+        granularityBox.addActionListener(e -> trendPanel.setGranularity(
+                (TimeSeriesChartPanel.Granularity) granularityBox.getSelectedItem()));
+        JButton resetZoomButton = new JButton("Semua Data");
+        resetZoomButton.addActionListener(e -> trendPanel.resetZoom());
+
+        JPanel trendControls = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        trendControls.setOpaque(false);
+        trendControls.add(new JLabel("Periode:"));
+        trendControls.add(granularityBox);
+        trendControls.add(resetZoomButton);
+
+        JPanel trend = new JPanel(new BorderLayout());
+        trend.setBorder(new TitledBorder("Tren Pengeluaran & Saldo"));
+        trend.add(trendControls, BorderLayout.NORTH);
+        trend.add(trendPanel, BorderLayout.CENTER);
+
+        // Total awal dibaca dari agregat di latar; selanjutnya grafik mengikuti event ledger
+        tasks.compute("Menghitung grafik",
+                () -> ExpensePieChartPanel.readTotals(transactionService),
+                totals -> {
+                    JPanel charts = new JPanel(new GridLayout(1, 2, 10, 0));
+                    JPanel pie = new JPanel(new BorderLayout());
+                    pie.setBorder(new TitledBorder("Per Kategori"));
+                    pie.add(new ExpensePieChartPanel(transactionService, totals), BorderLayout.CENTER);
+                    charts.add(pie);
+                    charts.add(trend);
+                    dialog.add(charts, BorderLayout.CENTER);
+                    dialog.setVisible(true);
+                });
     }
 
     // ============================================================
@@ -609,4 +1146,17 @@ public class MainFrame extends JFrame {
     public static void main(String[] args) {
         SwingUtilities.invokeLater(() -> new MainFrame().setVisible(true));
     }
+
+    /**
+     * Budget bulanan dan proyeksi yang dibaca bersama di thread latar.
+     */
+    private static final class BudgetStatus {
+        final double budget;
+        final SpendingForecast forecast;
+
+        BudgetStatus(double budget, SpendingForecast forecast) {
+            this.budget = budget;
+            this.forecast = forecast;
+        }
+    }
 }
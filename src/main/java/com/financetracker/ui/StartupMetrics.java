@@ -0,0 +1,71 @@
+package com.financetracker.ui;
+
+import javax.swing.JFrame;
+import javax.swing.SwingUtilities;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.time.Instant;
+
+/**
+ * Pengukuran waktu startup, dihitung sejak proses JVM dimulai:
+ *
+ * - time-to-first-frame: jendela utama pertama kali tampil (masih memuat).
+ * - time-to-interactive: data ledger selesai dimuat dan kontrol aktif.
+ * - tabel lengkap: query awal selesai ditampilkan di tabel.
+ *
+ * Ringkasan dicetak ke System.out setelah tabel lengkap. Hanya diakses dari EDT.
+ */
+final class StartupMetrics {
+
+    /** Waktu mulai proses (epoch ms); waktu pembuatan objek ini bila tidak tersedia */
+    private final long originMillis = ProcessHandle.current().info().startInstant()
+            .map(Instant::toEpochMilli)
+            .orElseGet(System::currentTimeMillis);
+
+    private long firstFrameMs = -1;
+    private long interactiveMs = -1;
+    private long dataLoadMs = -1;
+    private long loadStartedMs = -1;
+    private boolean reported;
+
+    /**
+     * Mencatat saat frame pertama tampil. Dipanggil sebelum frame ditampilkan.
+     */
+    void trackFirstFrame(JFrame frame) {
+        frame.addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowOpened(WindowEvent e) {
+                frame.removeWindowListener(this);
+                // Setelah event paint pertama yang sudah antre di EDT
+                SwingUtilities.invokeLater(() -> firstFrameMs = elapsedMs());
+            }
+        });
+    }
+
+    void dataLoadStarted() {
+        loadStartedMs = elapsedMs();
+    }
+
+    /**
+     * Data ledger sudah dimuat dan kontrol aktif.
+     */
+    void interactive() {
+        interactiveMs = elapsedMs();
+        if (loadStartedMs >= 0) dataLoadMs = interactiveMs - loadStartedMs;
+    }
+
+    /**
+     * Query awal selesai ditampilkan; ringkasan dicetak sekali.
+     */
+    void tableLoaded(int rows) {
+        if (reported) return;
+        reported = true;
+        System.out.printf("Startup: frame pertama %,d ms, siap dipakai %,d ms (muat data %,d ms), "
+                        + "tabel lengkap %,d ms (%,d transaksi)%n",
+                firstFrameMs, interactiveMs, dataLoadMs, elapsedMs(), rows);
+    }
+
+    private long elapsedMs() {
+        return System.currentTimeMillis() - originMillis;
+    }
+}
@@ -0,0 +1,510 @@
+package com.financetracker.ui;
+
+import com.financetracker.aggregate.DailySeries;
+import com.financetracker.event.EventBus;
+import com.financetracker.event.LedgerChangeEvent;
+import com.financetracker.service.TransactionService;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.geom.Line2D;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Grafik garis pengeluaran dan saldo per hari, minggu, atau bulan.
+ *
+ * - Data diambil dari bucket harian ledger (LedgerAggregates.dailySeries)
+ *   hanya untuk rentang yang sedang terlihat. Zoom (roda mouse) dan geser
+ *   (drag) langsung menggeser gambar lama, lalu meminta rentang baru
+ *   setelah jeda singkat. Klik ganda menampilkan seluruh data lagi.
+ * - Titik diturunkan dengan Largest-Triangle-Three-Buckets (Lttb) ke sekitar
+ *   satu titik per piksel lebar plot, sehingga 10 tahun data harian tetap
+ *   ringan digambar.
+ * - Query berjalan di executor latar; hanya hasil permintaan terbaru yang dipakai.
+ * - Selama tampil, panel mengikuti LedgerChangeEvent (digabung per burst).
+ */
+public class TimeSeriesChartPanel extends JPanel {
+
+    /**
+     * Ukuran bucket titik grafik.
+     */
+    public enum Granularity {
+        DAILY("Harian"),
+        WEEKLY("Mingguan"),
+        MONTHLY("Bulanan");
+
+        private final String displayName;
+
+        Granularity(String displayName) {
+            this.displayName = displayName;
+        }
+
+        LocalDate bucketStart(LocalDate date) {
+            switch (this) {
+                case WEEKLY: return date.with(DayOfWeek.MONDAY);
+                case MONTHLY: return date.withDayOfMonth(1);
+                default: return date;
+            }
+        }
+
+        LocalDate next(LocalDate bucketStart) {
+            switch (this) {
+                case WEEKLY: return bucketStart.plusWeeks(1);
+                case MONTHLY: return bucketStart.plusMonths(1);
+                default: return bucketStart.plusDays(1);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return displayName;
+        }
+    }
+
+    private static final int MARGIN_LEFT = 90;
+    private static final int MARGIN_RIGHT = 90;
+    private static final int MARGIN_TOP = 30;
+    private static final int MARGIN_BOTTOM = 40;
+    private static final int GRID_LINES = 4;
+    private static final int REQUEST_DELAY_MS = 80;
+    private static final int MIN_VISIBLE_DAYS = 7;
+    private static final double ZOOM_STEP = 1.25;
+
+    private static final Color EXPENSE_COLOR = new Color(220, 60, 60);
+    private static final Color BALANCE_COLOR = new Color(54, 120, 235);
+    private static final Color GRID_COLOR = new Color(230, 230, 230);
+    private static final Font LABEL_FONT = new Font("Arial", Font.PLAIN, 11);
+    private static final Stroke LINE_STROKE = new BasicStroke(1.5f);
+
+    private final TransactionService transactionService;
+    private final Executor executor;
+    private Granularity granularity = Granularity.DAILY;
+
+    /** true = rentang terlihat mengikuti seluruh data (belum di-zoom/geser) */
+    private boolean showAll = true;
+    /** Batas data ledger dan rentang terlihat, dalam epoch day (inklusif) */
+    private long dataFrom;
+    private long dataTo;
+    private long viewFrom;
+    private long viewTo;
+
+    /** Bucket rentang terakhir yang dimuat, sebelum downsampling */
+    private Buckets buckets = Buckets.EMPTY;
+    private int[] expensePoints = new int[0];
+    private int[] balancePoints = new int[0];
+    private int sampledWidth = -1;
+    private final Line2D.Double segment = new Line2D.Double();
+
+    /** Ditulis di EDT, dibaca worker untuk melewati permintaan usang */
+    private volatile long generation;
+    private final Timer requestTimer;
+    private EventBus.Subscription subscription;
+    private final AtomicBoolean changePending = new AtomicBoolean();
+
+    private int dragX = -1;
+    private long dragViewFrom;
+    private long dragViewTo;
+
+    public TimeSeriesChartPanel(TransactionService transactionService, Executor executor) {
+        this.transactionService = transactionService;
+        this.executor = executor;
+        setPreferredSize(new Dimension(560, 400));
+        setBackground(Color.WHITE);
+
+        requestTimer = new Timer(REQUEST_DELAY_MS, e -> requestData());
+        requestTimer.setRepeats(false);
+
+        MouseAdapter mouse = new MouseAdapter() {
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent e) {
+                zoom(e.getX(), Math.pow(ZOOM_STEP, e.getPreciseWheelRotation()));
+            }
+
+            @Override
+            public void mousePressed(MouseEvent e) {
+                dragX = e.getX();
+                dragViewFrom = viewFrom;
+                dragViewTo = viewTo;
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent e) {
+                if (dragX >= 0) pan(dragX - e.getX());
+            }
+
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                dragX = -1;
+            }
+
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) resetZoom();
+            }
+        };
+        addMouseListener(mouse);
+        addMouseMotionListener(mouse);
+        addMouseWheelListener(mouse);
+        setToolTipText("Roda mouse: zoom, drag: geser, klik ganda: semua data");
+
+        requestData();
+    }
+
+    public void setGranularity(Granularity granularity) {
+        if (this.granularity == granularity) return;
+        this.granularity = granularity;
+        requestData();
+    }
+
+    public Granularity getGranularity() {
+        return granularity;
+    }
+
+    /**
+     * Kembali menampilkan seluruh rentang data.
+     */
+    public void resetZoom() {
+        showAll = true;
+        requestData();
+    }
+
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        // requestData membaca ulang seluruh deret; event yang dibuang tidak mengubah hasil
+        subscription = transactionService.getEventBus().subscribeDropOldest(LedgerChangeEvent.class, event -> {
+            if (changePending.compareAndSet(false, true)) {
+                SwingUtilities.invokeLater(() -> {
+                    changePending.set(false);
+                    requestData();
+                });
+            }
+        }, EventBus.SIGNAL_MAILBOX_CAPACITY);
+    }
+
+    @Override
+    public void removeNotify() {
+        if (subscription != null) {
+            subscription.cancel();
+            subscription = null;
+        }
+        requestTimer.stop();
+        super.removeNotify();
+    }
+
+    // ============================================================
+    //                      ZOOM & GESER
+    // ============================================================
+
+    private void zoom(int mouseX, double factor) {
+        if (buckets.size() == 0) return;
+        long span = viewTo - viewFrom;
+        long dataSpan = dataTo - dataFrom;
+        long newSpan = Math.round(span * factor);
+        newSpan = Math.max(MIN_VISIBLE_DAYS, Math.min(newSpan, dataSpan));
+        if (newSpan == span) return;
+
+        // Tanggal di bawah kursor tetap di posisi yang sama
+        double center = xToDay(mouseX);
+        double ratio = (center - viewFrom) / Math.max(1, span);
+        long from = Math.round(center - ratio * newSpan);
+        setView(from, from + newSpan);
+        showAll = newSpan >= dataSpan;
+    }
+
+    private void pan(int dx) {
+        long span = dragViewTo - dragViewFrom;
+        int plotWidth = plotWidth();
+        if (plotWidth <= 0 || span <= 0) return;
+        long shift = Math.round((double) dx * span / plotWidth);
+        setView(dragViewFrom + shift, dragViewTo + shift);
+        showAll = false;
+    }
+
+    private void setView(long from, long to) {
+        long span = to - from;
+        if (from < dataFrom) {
+            from = dataFrom;
+            to = from + span;
+        }
+        if (to > dataTo) {
+            to = dataTo;
+            from = Math.max(dataFrom, to - span);
+        }
+        viewFrom = from;
+        viewTo = to;
+        // Gambar lama langsung digeser; data rentang baru menyusul
+        repaint();
+        requestTimer.restart();
+    }
+
+    // ============================================================
+    //                      QUERY DATA
+    // ============================================================
+
+    private void requestData() {
+        requestTimer.stop();
+        long current = ++generation;
+        boolean all = showAll;
+        long from = viewFrom;
+        long to = viewTo;
+        Granularity g = granularity;
+
+        executor.execute(() -> {
+            if (current != generation) return; // sudah ada permintaan lebih baru
+            Result result = transactionService.readAggregates(agg -> {
+                LocalDate first = agg.firstDate();
+                LocalDate last = agg.lastDate();
+                if (first == null) return Result.EMPTY;
+
+                long dataFirst = first.toEpochDay();
+                long dataLast = last.toEpochDay();
+                long viewFirst = all ? dataFirst : Math.max(dataFirst, from);
+                long viewLast = all ? dataLast : Math.min(dataLast, to);
+                if (viewLast < viewFirst) viewLast = viewFirst;
+
+                // Bucket di tepi rentang dibaca utuh agar totalnya tidak terpotong
+                LocalDate start = g.bucketStart(LocalDate.ofEpochDay(viewFirst));
+                LocalDate end = g.next(g.bucketStart(LocalDate.ofEpochDay(viewLast))).minusDays(1);
+                DailySeries series = agg.dailySeries(start, end);
+                return new Result(dataFirst, dataLast, viewFirst, viewLast, series);
+            });
+            Buckets built = result.series == null ? Buckets.EMPTY : Buckets.build(result.series, g);
+            SwingUtilities.invokeLater(() -> {
+                if (current == generation) apply(result, built);
+            });
+        });
+    }
+
+    private void apply(Result result, Buckets built) {
+        dataFrom = result.dataFrom;
+        dataTo = result.dataTo;
+        if (showAll || result.series == null) {
+            viewFrom = result.viewFrom;
+            viewTo = result.viewTo;
+        }
+        buckets = built;
+        sampledWidth = -1;
+        repaint();
+    }
+
+    /**
+     * Memilih titik yang digambar untuk lebar plot saat ini (sekali per data/ukuran).
+     */
+    private void downsample(int plotWidth) {
+        if (sampledWidth == plotWidth) return;
+        expensePoints = Lttb.downsample(buckets.x, buckets.expense, buckets.size(), plotWidth);
+        balancePoints = Lttb.downsample(buckets.x, buckets.balance, buckets.size(), plotWidth);
+        sampledWidth = plotWidth;
+    }
+
+    // ============================================================
+    //                      MENGGAMBAR
+    // ============================================================
+
+    private int plotWidth() {
+        return getWidth() - MARGIN_LEFT - MARGIN_RIGHT;
+    }
+
+    private double xToDay(int x) {
+        return viewFrom + (double) (x - MARGIN_LEFT) * Math.max(1, viewTo - viewFrom) / Math.max(1, plotWidth());
+    }
+
+    @Override
+    protected void paintComponent(Graphics g) {
+        super.paintComponent(g);
+        Graphics2D g2d = (Graphics2D) g;
+        g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g2d.setFont(LABEL_FONT);
+
+        int plotWidth = plotWidth();
+        int plotHeight = getHeight() - MARGIN_TOP - MARGIN_BOTTOM;
+        if (buckets.size() == 0 || plotWidth <= 0 || plotHeight <= 0) {
+            g2d.setColor(Color.BLACK);
+            g2d.drawString("Belum ada data transaksi.", getWidth() / 2 - 70, getHeight() / 2);
+            return;
+        }
+        downsample(plotWidth);
+
+        // Skala sumbu Y dari titik yang terlihat
+        double maxExpense = 0;
+        for (int i : expensePoints) {
+            if (visible(buckets.x[i])) maxExpense = Math.max(maxExpense, buckets.expense[i]);
+        }
+        double minBalance = Double.MAX_VALUE;
+        double maxBalance = -Double.MAX_VALUE;
+        for (int i : balancePoints) {
+            if (!visible(buckets.x[i])) continue;
+            minBalance = Math.min(minBalance, buckets.balance[i]);
+            maxBalance = Math.max(maxBalance, buckets.balance[i]);
+        }
+        if (minBalance > maxBalance) {
+            minBalance = 0;
+            maxBalance = 0;
+        }
+        if (maxExpense <= 0) maxExpense = 1;
+        if (maxBalance - minBalance < 1) maxBalance = minBalance + 1;
+
+        drawGrid(g2d, plotWidth, plotHeight, maxExpense, minBalance, maxBalance);
+
+        Shape oldClip = g2d.getClip();
+        g2d.clipRect(MARGIN_LEFT, MARGIN_TOP, plotWidth + 1, plotHeight + 1);
+        g2d.setStroke(LINE_STROKE);
+        drawLine(g2d, expensePoints, buckets.expense, 0, maxExpense, plotWidth, plotHeight, EXPENSE_COLOR);
+        drawLine(g2d, balancePoints, buckets.balance, minBalance, maxBalance, plotWidth, plotHeight, BALANCE_COLOR);
+        g2d.setClip(oldClip);
+
+        drawLegend(g2d);
+    }
+
+    private boolean visible(double day) {
+        return day >= granularity.bucketStart(LocalDate.ofEpochDay(viewFrom)).toEpochDay() && day <= viewTo;
+    }
+
+    private void drawLine(Graphics2D g2d, int[] points, double[] values, double min, double max,
+                          int plotWidth, int plotHeight, Color color) {
+        double span = Math.max(1, viewTo - viewFrom);
+        g2d.setColor(color);
+        // Digambar per segmen: satu path zig-zag panjang membuat rasterizer
+        // anti-alias memproses seluruh kotak pembatasnya
+        double lastX = 0;
+        double lastY = 0;
+        for (int k = 0; k < points.length; k++) {
+            int i = points[k];
+            double px = MARGIN_LEFT + (buckets.x[i] - viewFrom) / span * plotWidth;
+            double py = MARGIN_TOP + plotHeight - (values[i] - min) / (max - min) * plotHeight;
+            if (k > 0) {
+                segment.setLine(lastX, lastY, px, py);
+                g2d.draw(segment);
+            }
+            lastX = px;
+            lastY = py;
+        }
+    }
+
+    private void drawGrid(Graphics2D g2d, int plotWidth, int plotHeight,
+                          double maxExpense, double minBalance, double maxBalance) {
+        FontMetrics metrics = g2d.getFontMetrics();
+        for (int line = 0; line <= GRID_LINES; line++) {
+            int y = MARGIN_TOP + plotHeight - line * plotHeight / GRID_LINES;
+            g2d.setColor(GRID_COLOR);
+            g2d.drawLine(MARGIN_LEFT, y, MARGIN_LEFT + plotWidth, y);
+
+            String expenseLabel = String.format("%,.0f", maxExpense * line / GRID_LINES);
+            String balanceLabel = String.format("%,.0f", minBalance + (maxBalance - minBalance) * line / GRID_LINES);
+            g2d.setColor(EXPENSE_COLOR);
+            g2d.drawString(expenseLabel, MARGIN_LEFT - 6 - metrics.stringWidth(expenseLabel), y + 4);
+            g2d.setColor(BALANCE_COLOR);
+            g2d.drawString(balanceLabel, MARGIN_LEFT + plotWidth + 6, y + 4);
+        }
+
+        g2d.setColor(Color.GRAY);
+        g2d.drawRect(MARGIN_LEFT, MARGIN_TOP, plotWidth, plotHeight);
+
+        // Label tanggal: awal, tengah, akhir rentang terlihat
+        int baseline = MARGIN_TOP + plotHeight + 16;
+        g2d.setColor(Color.BLACK);
+        String first = LocalDate.ofEpochDay(viewFrom).toString();
+        String middle = LocalDate.ofEpochDay((viewFrom + viewTo) / 2).toString();
+        String last = LocalDate.ofEpochDay(viewTo).toString();
+        g2d.drawString(first, MARGIN_LEFT, baseline);
+        g2d.drawString(middle, MARGIN_LEFT + (plotWidth - metrics.stringWidth(middle)) / 2, baseline);
+        g2d.drawString(last, MARGIN_LEFT + plotWidth - metrics.stringWidth(last), baseline);
+    }
+
+    private void drawLegend(Graphics2D g2d) {
+        int x = MARGIN_LEFT;
+        int y = MARGIN_TOP - 18;
+        g2d.setColor(EXPENSE_COLOR);
+        g2d.fillRect(x, y, 12, 12);
+        g2d.setColor(Color.BLACK);
+        g2d.drawString("Pengeluaran (" + granularity + ")", x + 16, y + 10);
+        x += 170;
+        g2d.setColor(BALANCE_COLOR);
+        g2d.fillRect(x, y, 12, 12);
+        g2d.setColor(Color.BLACK);
+        g2d.drawString("Saldo", x + 16, y + 10);
+    }
+
+    // ============================================================
+    //                      DATA
+    // ============================================================
+
+    /**
+     * Hasil satu query: batas data, rentang terlihat, dan deret harian.
+     */
+    private static final class Result {
+        static final Result EMPTY = new Result(0, 0, 0, 0, null);
+
+        final long dataFrom;
+        final long dataTo;
+        final long viewFrom;
+        final long viewTo;
+        final DailySeries series;
+
+        Result(long dataFrom, long dataTo, long viewFrom, long viewTo, DailySeries series) {
+            this.dataFrom = dataFrom;
+            this.dataTo = dataTo;
+            this.viewFrom = viewFrom;
+            this.viewTo = viewTo;
+            this.series = series;
+        }
+    }
+
+    /**
+     * Titik per bucket (hari/minggu/bulan): tanggal awal bucket, total
+     * pengeluaran bucket, dan saldo pada akhir bucket.
+     */
+    private static final class Buckets {
+        static final Buckets EMPTY = new Buckets(new double[0], new double[0], new double[0]);
+
+        final double[] x;
+        final double[] expense;
+        final double[] balance;
+
+        Buckets(double[] x, double[] expense, double[] balance) {
+            this.x = x;
+            this.expense = expense;
+            this.balance = balance;
+        }
+
+        int size() {
+            return x.length;
+        }
+
+        /**
+         * Mengelompokkan deret harian; hari tanpa transaksi dihitung nol.
+         */
+        static Buckets build(DailySeries series, Granularity granularity) {
+            int n = 0;
+            for (LocalDate b = series.getFrom(); !b.isAfter(series.getTo()); b = granularity.next(b)) n++;
+
+            double[] x = new double[n];
+            double[] expense = new double[n];
+            double[] balance = new double[n];
+            double running = series.getOpeningBalance();
+            int j = 0;
+            LocalDate bucket = series.getFrom();
+            for (int k = 0; k < n; k++) {
+                long next = granularity.next(bucket).toEpochDay();
+                double spent = 0;
+                while (j < series.size() && series.getEpochDay(j) < next) {
+                    spent += series.getExpense(j);
+                    running += series.getNet(j);
+                    j++;
+                }
+                x[k] = bucket.toEpochDay();
+                expense[k] = spent;
+                balance[k] = running;
+                bucket = granularity.next(bucket);
+            }
+            return new Buckets(x, expense, balance);
+        }
+    }
+}
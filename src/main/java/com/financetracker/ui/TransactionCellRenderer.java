@@ -0,0 +1,32 @@
+package com.financetracker.ui;
+
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.table.DefaultTableCellRenderer;
+import java.awt.Component;
+
+/**
+ * Renderer sel tabel transaksi: nilai bertipe dari model ditampilkan
+ * memakai teks terformat yang di-cache TransactionTableModel.
+ * Kolom jumlah rata kanan.
+ */
+class TransactionCellRenderer extends DefaultTableCellRenderer {
+
+    private final TransactionTableModel model;
+
+    TransactionCellRenderer(TransactionTableModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                   boolean hasFocus, int row, int column) {
+        int modelRow = table.convertRowIndexToModel(row);
+        int modelColumn = table.convertColumnIndexToModel(column);
+        String text = model.getFormattedValue(modelRow, modelColumn);
+        super.getTableCellRendererComponent(table, text, isSelected, hasFocus, row, column);
+        setHorizontalAlignment(modelColumn == TransactionTableModel.COLUMN_AMOUNT
+                ? SwingConstants.RIGHT : SwingConstants.LEFT);
+        return this;
+    }
+}
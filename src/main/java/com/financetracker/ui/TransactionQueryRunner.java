@@ -0,0 +1,113 @@
+package com.financetracker.ui;
+
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFilter;
+import com.financetracker.service.TransactionService;
+
+import javax.swing.SwingUtilities;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Menjalankan query filter tabel di thread latar.
+ *
+ * - Hanya satu query aktif: query baru membatalkan yang sedang berjalan
+ *   (interrupt), dan hasil query lama yang terlanjur antre di EDT dibuang
+ *   berdasarkan nomor generasi.
+ * - Hasil dikirim ke TransactionTableModel per potongan yang ukurannya
+ *   berlipat (FIRST_CHUNK, 2x, 4x, ... hingga MAX_CHUNK): baris pertama
+ *   cepat tampil, total pekerjaan EDT tetap sebanding jumlah baris.
+ * - submit() dan cancel() dipanggil dari EDT.
+ */
+class TransactionQueryRunner {
+
+    private static final int FIRST_CHUNK = 500;
+    private static final int MAX_CHUNK = 50_000;
+    /** Frekuensi pengecekan pembatalan selama pemindaian */
+    private static final int CANCEL_CHECK_MASK = 1023;
+
+    private final TransactionService transactionService;
+    private final TransactionTableModel tableModel;
+    private final ExecutorService executor;
+
+    private Future<?> running;
+    private long generation;
+
+    TransactionQueryRunner(TransactionService transactionService, TransactionTableModel tableModel) {
+        this.transactionService = transactionService;
+        this.tableModel = tableModel;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "table-filter");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Menjalankan query baru; onDone dipanggil di EDT setelah potongan terakhir tampil.
+     */
+    void submit(TransactionFilter filter, Runnable onDone) {
+        cancel();
+        tableModel.holdEvents();
+        long current = generation;
+        running = executor.submit(() -> run(filter, current, onDone));
+    }
+
+    /**
+     * Membatalkan query yang sedang berjalan (jika ada).
+     */
+    void cancel() {
+        generation++;
+        if (running != null) {
+            running.cancel(true);
+            running = null;
+        }
+    }
+
+    private void run(TransactionFilter filter, long current, Runnable onDone) {
+        // Versi dibaca sebelum dan sesudah snapshot; bila sama, snapshot tepat pada versi itu
+        long version;
+        List<Transaction> source;
+        do {
+            version = transactionService.getDataVersion();
+            source = filter.getAccount() == null
+                    ? transactionService.getTransactionSnapshot()
+                    : transactionService.getTransactions(filter.getAccount());
+        } while (version != transactionService.getDataVersion());
+
+        long loadedVersion = version;
+        publish(current, () -> tableModel.beginLoad(loadedVersion, filter));
+
+        int chunkSize = FIRST_CHUNK;
+        List<Transaction> chunk = new ArrayList<>(chunkSize);
+        for (int i = 0; i < source.size(); i++) {
+            if ((i & CANCEL_CHECK_MASK) == 0 && Thread.currentThread().isInterrupted()) return;
+
+            Transaction tx = source.get(i);
+            if (!filter.matches(tx)) continue;
+            chunk.add(tx);
+            if (chunk.size() >= chunkSize) {
+                List<Transaction> ready = chunk;
+                publish(current, () -> tableModel.appendChunk(ready));
+                chunkSize = Math.min(MAX_CHUNK, chunkSize * 2);
+                chunk = new ArrayList<>(chunkSize);
+            }
+        }
+
+        List<Transaction> last = chunk;
+        publish(current, () -> {
+            tableModel.appendChunk(last);
+            tableModel.finishLoad();
+            onDone.run();
+        });
+    }
+
+    private void publish(long current, Runnable update) {
+        SwingUtilities.invokeLater(() -> {
+            if (current == generation) update.run();
+        });
+    }
+}
@@ -0,0 +1,332 @@
+package com.financetracker.ui;
+
+import com.financetracker.model.Transaction;
+
+import javax.swing.RowSorter;
+import javax.swing.SortOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * RowSorter untuk TransactionTableModel tanpa comparator pada kolom bertipe.
+ *
+ * - Tanggal, jumlah, tipe, dan kategori dipetakan ke kunci long (epoch day,
+ *   sen, ordinal) lalu diurutkan dengan radix sort stabil O(n), tanpa boxing
+ *   dan tanpa membandingkan teks terformat.
+ * - Baris baru (selalu di akhir model) disisipkan di posisinya lewat
+ *   pencarian biner atas kunci; baris terhapus dibuang dari urutan tanpa
+ *   mengurutkan ulang. Sisipan besar (mis. potongan hasil query) memicu
+ *   pengurutan ulang penuh yang tetap O(n).
+ * - Kolom teks (deskripsi, akun) diurutkan dengan perbandingan string biasa
+ *   dan diurutkan ulang penuh bila data berubah.
+ * - Hanya satu kunci urut (kolom terakhir yang diklik).
+ */
+public class TransactionRowSorter extends RowSorter<TransactionTableModel> {
+
+    /** Batas sisipan per baris; di atas ini lebih murah mengurutkan ulang */
+    private static final int INCREMENTAL_INSERT_LIMIT = 64;
+
+    private final TransactionTableModel model;
+    private List<SortKey> sortKeys = List.of();
+
+    /** null = tidak diurutkan (baris view = baris model) */
+    private int[] viewToModel;
+    private int[] modelToView;
+    /** Kunci per posisi view untuk kolom bertipe; null untuk kolom teks */
+    private long[] viewKeys;
+
+    public TransactionRowSorter(TransactionTableModel model) {
+        this.model = model;
+    }
+
+    @Override
+    public TransactionTableModel getModel() {
+        return model;
+    }
+
+    @Override
+    public void toggleSortOrder(int column) {
+        SortOrder next = SortOrder.ASCENDING;
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) {
+            next = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING ? SortOrder.DESCENDING : SortOrder.UNSORTED;
+        }
+        setSortKeys(next == SortOrder.UNSORTED ? List.of() : List.of(new SortKey(column, next)));
+    }
+
+    @Override
+    public void setSortKeys(List<? extends SortKey> keys) {
+        List<SortKey> next = new ArrayList<>();
+        if (keys != null && !keys.isEmpty() && keys.get(0).getSortOrder() != SortOrder.UNSORTED) {
+            next.add(keys.get(0));
+        }
+        if (next.equals(sortKeys)) return;
+
+        sortKeys = List.copyOf(next);
+        fireSortOrderChanged();
+        int[] previous = currentViewToModel();
+        sort();
+        fireRowSorterChanged(previous);
+    }
+
+    @Override
+    public List<? extends SortKey> getSortKeys() {
+        return sortKeys;
+    }
+
+    @Override
+    public int convertRowIndexToModel(int index) {
+        if (viewToModel == null) {
+            checkIndex(index);
+            return index;
+        }
+        return viewToModel[index];
+    }
+
+    @Override
+    public int convertRowIndexToView(int index) {
+        if (modelToView == null) {
+            checkIndex(index);
+            return index;
+        }
+        return modelToView[index];
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= model.getRowCount()) throw new IndexOutOfBoundsException("Baris tidak valid: " + index);
+    }
+
+    @Override
+    public int getViewRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public int getModelRowCount() {
+        return model.getRowCount();
+    }
+
+    @Override
+    public void modelStructureChanged() {
+        allRowsChanged();
+    }
+
+    @Override
+    public void allRowsChanged() {
+        int[] previous = currentViewToModel();
+        sort();
+        if (viewToModel != null || previous != null) fireRowSorterChanged(previous);
+    }
+
+    @Override
+    public void rowsInserted(int firstRow, int endRow) {
+        if (viewToModel == null) return;
+        int previousCount = viewToModel.length;
+        if (viewKeys == null || firstRow != previousCount || endRow - firstRow >= INCREMENTAL_INSERT_LIMIT) {
+            sort();
+            return;
+        }
+
+        boolean ascending = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING;
+        int column = sortKeys.get(0).getColumn();
+        int count = previousCount;
+        int[] rows = Arrays.copyOf(viewToModel, previousCount + endRow - firstRow + 1);
+        long[] keys = Arrays.copyOf(viewKeys, rows.length);
+        for (int modelRow = firstRow; modelRow <= endRow; modelRow++) {
+            long key = key(model.getTransactionAt(modelRow), column);
+            // Baris baru punya indeks model terbesar: paling belakang di antara kunci sama
+            // (ascending), paling depan pada urutan terbalik (descending)
+            int pos = ascending ? upperBound(keys, count, key) : lowerBoundDescending(keys, count, key);
+            System.arraycopy(rows, pos, rows, pos + 1, count - pos);
+            System.arraycopy(keys, pos, keys, pos + 1, count - pos);
+            rows[pos] = modelRow;
+            keys[pos] = key;
+            count++;
+        }
+        viewToModel = rows;
+        viewKeys = keys;
+        modelToView = invert(rows);
+    }
+
+    @Override
+    public void rowsDeleted(int firstRow, int endRow) {
+        if (viewToModel == null) return;
+        if (viewKeys == null) {
+            sort();
+            return;
+        }
+
+        int removed = endRow - firstRow + 1;
+        int[] rows = new int[viewToModel.length - removed];
+        long[] keys = new long[rows.length];
+        int n = 0;
+        for (int i = 0; i < viewToModel.length; i++) {
+            int modelRow = viewToModel[i];
+            if (modelRow >= firstRow && modelRow <= endRow) continue;
+            rows[n] = modelRow > endRow ? modelRow - removed : modelRow;
+            keys[n] = viewKeys[i];
+            n++;
+        }
+        viewToModel = rows;
+        viewKeys = keys;
+        modelToView = invert(rows);
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow) {
+        if (viewToModel != null) sort();
+    }
+
+    @Override
+    public void rowsUpdated(int firstRow, int endRow, int column) {
+        if (!sortKeys.isEmpty() && sortKeys.get(0).getColumn() == column) sort();
+    }
+
+    // ============================================================
+    //                      PENGURUTAN
+    // ============================================================
+
+    private void sort() {
+        if (sortKeys.isEmpty()) {
+            viewToModel = null;
+            modelToView = null;
+            viewKeys = null;
+            return;
+        }
+
+        int column = sortKeys.get(0).getColumn();
+        boolean ascending = sortKeys.get(0).getSortOrder() == SortOrder.ASCENDING;
+        int n = model.getRowCount();
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) rows[i] = i;
+
+        if (isKeyed(column)) {
+            long[] keys = new long[n];
+            for (int i = 0; i < n; i++) keys[i] = key(model.getTransactionAt(i), column);
+            radixSort(keys, rows);
+            if (!ascending) {
+                reverse(rows);
+                reverse(keys);
+            }
+            viewKeys = keys;
+        } else {
+            Integer[] boxed = new Integer[n];
+            for (int i = 0; i < n; i++) boxed[i] = i;
+            Comparator<Integer> byText = Comparator.comparing(row -> text(model.getTransactionAt(row), column),
+                    String.CASE_INSENSITIVE_ORDER);
+            Arrays.sort(boxed, ascending ? byText : byText.reversed());
+            for (int i = 0; i < n; i++) rows[i] = boxed[i];
+            viewKeys = null;
+        }
+        viewToModel = rows;
+        modelToView = invert(rows);
+    }
+
+    private static boolean isKeyed(int column) {
+        return column == TransactionTableModel.COLUMN_DATE || column == TransactionTableModel.COLUMN_TYPE
+                || column == TransactionTableModel.COLUMN_CATEGORY || column == TransactionTableModel.COLUMN_AMOUNT;
+    }
+
+    private static long key(Transaction tx, int column) {
+        switch (column) {
+            case TransactionTableModel.COLUMN_DATE: return tx.getDate().toEpochDay();
+            case TransactionTableModel.COLUMN_TYPE: return tx.getType().ordinal();
+            case TransactionTableModel.COLUMN_CATEGORY: return tx.getCategory().ordinal();
+            case TransactionTableModel.COLUMN_AMOUNT: return Math.round(tx.getAmount() * 100);
+            default: throw new IllegalArgumentException("Kolom tidak berkunci: " + column);
+        }
+    }
+
+    private static String text(Transaction tx, int column) {
+        String value = column == TransactionTableModel.COLUMN_ACCOUNT ? tx.getAccount()
+                : column == TransactionTableModel.COLUMN_DESCRIPTION ? tx.getDescription() : tx.getId();
+        return value != null ? value : "";
+    }
+
+    /**
+     * Radix sort LSD stabil (digit 16 bit) atas kunci bertanda; rows ikut dipindah.
+     * Digit yang sama untuk semua kunci dilewati, sehingga kunci kecil
+     * (ordinal, epoch day) cukup 1–2 lintasan.
+     */
+    static void radixSort(long[] keys, int[] rows) {
+        int n = keys.length;
+        long[] keyBuffer = new long[n];
+        int[] rowBuffer = new int[n];
+        int[] counts = new int[1 << 16];
+
+        for (int shift = 0; shift < 64; shift += 16) {
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; i++) counts[digit(keys[i], shift)]++;
+            if (n == 0 || counts[digit(keys[0], shift)] == n) continue;
+
+            int sum = 0;
+            for (int d = 0; d < counts.length; d++) {
+                int c = counts[d];
+                counts[d] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < n; i++) {
+                int pos = counts[digit(keys[i], shift)]++;
+                keyBuffer[pos] = keys[i];
+                rowBuffer[pos] = rows[i];
+            }
+            System.arraycopy(keyBuffer, 0, keys, 0, n);
+            System.arraycopy(rowBuffer, 0, rows, 0, n);
+        }
+    }
+
+    private static int digit(long key, int shift) {
+        // Bit tanda dibalik agar urutan unsigned sama dengan urutan bertanda
+        return (int) (((key ^ Long.MIN_VALUE) >>> shift) & 0xFFFF);
+    }
+
+    private static int upperBound(long[] keys, int count, long key) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] <= key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private static int lowerBoundDescending(long[] keys, int count, long key) {
+        int lo = 0;
+        int hi = count;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (keys[mid] > key) lo = mid + 1; else hi = mid;
+        }
+        return lo;
+    }
+
+    private int[] currentViewToModel() {
+        if (viewToModel != null) return viewToModel.clone();
+        int[] identity = new int[model.getRowCount()];
+        for (int i = 0; i < identity.length; i++) identity[i] = i;
+        return identity;
+    }
+
+    private static int[] invert(int[] viewToModel) {
+        int[] inverse = new int[viewToModel.length];
+        for (int i = 0; i < viewToModel.length; i++) inverse[viewToModel[i]] = i;
+        return inverse;
+    }
+
+    private static void reverse(int[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            int t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+
+    private static void reverse(long[] a) {
+        for (int i = 0, j = a.length - 1; i < j; i++, j--) {
+            long t = a[i];
+            a[i] = a[j];
+            a[j] = t;
+        }
+    }
+}
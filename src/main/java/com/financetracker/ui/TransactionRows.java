@@ -0,0 +1,142 @@
+package com.financetracker.ui;
+
+import com.financetracker.model.Transaction;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Baris tabel berurutan tetap (urut input) dengan sisip di akhir, hapus
+ * berdasarkan ID, dan akses baris ke-i, masing-masing O(log n).
+ *
+ * - List awal dipakai langsung tanpa disalin; baris baru ditampung terpisah.
+ * - Baris yang dihapus hanya ditandai (tombstone). Posisi baris hidup dihitung
+ *   lewat Fenwick tree atas status slot.
+ * - Indeks ID dan Fenwick tree baru dibangun (O(n), sekali) saat penghapusan
+ *   pertama; sebelum itu indeks baris = indeks slot.
+ *
+ * Hanya diakses dari EDT.
+ */
+final class TransactionRows {
+
+    private final List<Transaction> base;
+    private final List<Transaction> appended = new ArrayList<>();
+    private final BitSet removed = new BitSet();
+    private int removedCount;
+
+    private Map<String, Integer> slotById;
+    /** Fenwick tree 1-based atas status slot (1 = hidup); null sebelum ada penghapusan */
+    private int[] tree;
+
+    TransactionRows(List<Transaction> base) {
+        this.base = base;
+    }
+
+    int size() {
+        return slotCount() - removedCount;
+    }
+
+    Transaction get(int row) {
+        return slot(tree == null ? row : select(row));
+    }
+
+    /**
+     * @return indeks baris baru
+     */
+    int append(Transaction tx) {
+        int slot = slotCount();
+        appended.add(tx);
+        if (slotById != null) slotById.put(tx.getId(), slot);
+        if (tree != null) {
+            if (slot >= tree.length - 1) {
+                rebuildTree();
+            } else {
+                fenwickAdd(slot, 1);
+            }
+        }
+        return size() - 1;
+    }
+
+    /**
+     * @return indeks baris yang dihapus, atau -1 bila ID tidak ada di tabel
+     */
+    int remove(String id) {
+        if (slotById == null) buildIndex();
+        Integer slot = slotById.remove(id);
+        if (slot == null) return -1;
+
+        int row = prefix(slot) - 1;
+        removed.set(slot);
+        removedCount++;
+        fenwickAdd(slot, -1);
+        return row;
+    }
+
+    private int slotCount() {
+        return base.size() + appended.size();
+    }
+
+    private Transaction slot(int index) {
+        return index < base.size() ? base.get(index) : appended.get(index - base.size());
+    }
+
+    private void buildIndex() {
+        slotById = new HashMap<>(slotCount() * 4 / 3 + 1);
+        for (int i = 0; i < slotCount(); i++) {
+            if (!removed.get(i)) slotById.put(slot(i).getId(), i);
+        }
+        rebuildTree();
+    }
+
+    /**
+     * Membangun Fenwick tree dalam O(n) dengan ruang cadangan untuk sisipan.
+     */
+    private void rebuildTree() {
+        int capacity = Math.max(16, slotCount() * 2);
+        tree = new int[capacity + 1];
+        for (int i = 0; i < slotCount(); i++) {
+            if (!removed.get(i)) tree[i + 1] = 1;
+        }
+        for (int i = 1; i <= capacity; i++) {
+            int parent = i + (i & -i);
+            if (parent <= capacity) tree[parent] += tree[i];
+        }
+    }
+
+    private void fenwickAdd(int slot, int delta) {
+        for (int i = slot + 1; i < tree.length; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    /**
+     * Jumlah slot hidup pada indeks 0..slot (inklusif).
+     */
+    private int prefix(int slot) {
+        int sum = 0;
+        for (int i = slot + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Slot untuk baris hidup ke-row (0-based), lewat penurunan biner.
+     */
+    private int select(int row) {
+        int capacity = tree.length - 1;
+        int pos = 0;
+        int remaining = row + 1;
+        for (int step = Integer.highestOneBit(capacity); step > 0; step >>= 1) {
+            int next = pos + step;
+            if (next <= capacity && tree[next] < remaining) {
+                pos = next;
+                remaining -= tree[next];
+            }
+        }
+        return pos;
+    }
+}
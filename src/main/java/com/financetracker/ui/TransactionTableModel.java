@@ -1,46 +1,209 @@
 package com.financetracker.ui;
 
+import com.financetracker.event.EventBus;
+import com.financetracker.event.LedgerChangeEvent;
+import com.financetracker.event.TransactionsDeletedEvent;
+import com.financetracker.event.TransactionsAddedEvent;
+import com.financetracker.model.Category;
 import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionFilter;
+import com.financetracker.model.TransactionType;
+import com.financetracker.report.AmountFormat;
 
+import javax.swing.SwingUtilities;
 import javax.swing.table.AbstractTableModel;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Model tabel kustom untuk JTable, agar JTable bisa
  * menampilkan data dari List<Transaction> secara langsung.
+ *
+ * - List dibaca langsung tanpa disalin (mis. snapshot baca-saja dari
+ *   TransactionService.getTransactionSnapshot()).
+ * - getValueAt mengembalikan nilai bertipe (LocalDate, BigDecimal, enum)
+ *   sehingga pengurutan tidak membandingkan teks terformat.
+ * - Teks tampilan diformat TransactionCellRenderer lewat getFormattedValue,
+ *   hanya untuk baris yang terlihat; hasilnya disimpan di cache LRU per baris
+ *   yang dibatasi FORMAT_CACHE_ROWS sehingga scroll bolak-balik tidak
+ *   memformat ulang.
+ * - Setelah dimuat, tabel diperbarui dari LedgerChangeEvent dengan
+ *   fireTableRowsInserted/Deleted (O(log n) per baris) sesuai filter aktif;
+ *   event dengan versi data yang sudah tercakup snapshot dilewati. Hapus
+ *   massal di atas INCREMENTAL_DELETE_LIMIT baris cukup satu fireTableDataChanged.
+ * - Hasil query latar dimuat bertahap (beginLoad/appendChunk/finishLoad);
+ *   event yang datang selama pemuatan ditahan lalu diterapkan setelah
+ *   potongan terakhir, agar transaksi yang terhapus tidak muncul kembali.
  */
 public class TransactionTableModel extends AbstractTableModel {
 
-    private final List<Transaction> transactions;
-    private final String[] columnNames = {"ID", "Tanggal", "Deskripsi", "Tipe", "Kategori", "Jumlah (Rp)"};
-    private final DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    /** Jumlah baris terformat yang disimpan (beberapa layar penuh) */
+    private static final int FORMAT_CACHE_ROWS = 1024;
+    /** Hapus batch lebih besar dari ini diberitahukan sebagai satu perubahan data */
+    private static final int INCREMENTAL_DELETE_LIMIT = 64;
 
-    public TransactionTableModel() {
-        this.transactions = new ArrayList<>();
-    }
+    public static final int COLUMN_ID = 0;
+    public static final int COLUMN_DATE = 1;
+    public static final int COLUMN_DESCRIPTION = 2;
+    public static final int COLUMN_TYPE = 3;
+    public static final int COLUMN_CATEGORY = 4;
+    public static final int COLUMN_AMOUNT = 5;
+    public static final int COLUMN_ACCOUNT = 6;
+
+    private TransactionRows rows = new TransactionRows(List.of());
+    private TransactionFilter filter = TransactionFilter.ALL;
+    /** Versi data snapshot yang sedang tampil; event sebelum data pertama dimuat diabaikan */
+    private long loadedVersion = Long.MAX_VALUE;
+    /** Versi event terakhir yang diterapkan; event berikutnya harus versi ini atau +1 */
+    private long appliedVersion = Long.MAX_VALUE;
+    /** Dipanggil bila ada versi yang terlewat; dipasang oleh listenTo */
+    private Runnable reload = () -> { };
+    /** Event yang tertahan selama pemuatan bertahap; null jika tidak sedang memuat */
+    private List<LedgerChangeEvent> pendingEvents;
+    private final String[] columnNames = {"ID", "Tanggal", "Deskripsi", "Tipe", "Kategori", "Jumlah (Rp)", "Akun"};
+    private final Class<?>[] columnClasses = {String.class, LocalDate.class, String.class,
+            TransactionType.class, Category.class, BigDecimal.class, String.class};
+
+    /**
+     * Jumlah dan sel terformat per ID transaksi. Transaksi tidak pernah berubah
+     * isinya, sehingga cache tetap valid walau data tabel diganti; transaksi
+     * yang diganti salinannya (ubah kategori) dikenali dari objek sumbernya.
+     */
+    private final Map<String, CachedRow> formattedRows = new LinkedHashMap<>(FORMAT_CACHE_ROWS * 4 / 3, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedRow> eldest) {
+            return size() > FORMAT_CACHE_ROWS;
+        }
+    };
 
     /**
      * Mengatur ulang data di tabel dengan data baru.
+     * List dipakai langsung dan tidak boleh diubah lagi oleh pemanggil.
+     *
+     * @param version versi data tempat list diambil (TransactionService.getDataVersion())
+     * @param filter  filter yang menghasilkan list; dipakai untuk event berikutnya
      */
-    public void setTransactions(List<Transaction> transactions) {
-        this.transactions.clear();
-        this.transactions.addAll(transactions);
+    public void setTransactions(List<Transaction> transactions, long version, TransactionFilter filter) {
+        this.rows = new TransactionRows(transactions);
+        this.loadedVersion = version;
+        this.appliedVersion = version;
+        this.filter = filter;
+        this.pendingEvents = null;
         // Memberitahu JTable bahwa semua data telah berubah
         fireTableDataChanged();
     }
 
+    /**
+     * Menahan event sejak query baru dikirim hingga finishLoad, agar event
+     * yang tiba sebelum beginLoad tidak diterapkan ke data lama lalu hilang.
+     */
+    public void holdEvents() {
+        if (pendingEvents == null) pendingEvents = new ArrayList<>();
+    }
+
+    /**
+     * Memulai pemuatan bertahap: tabel dikosongkan, baris menyusul lewat appendChunk.
+     * Event yang sudah tertahan dipertahankan; yang sudah termasuk snapshot diabaikan di finishLoad.
+     */
+    public void beginLoad(long version, TransactionFilter filter) {
+        List<LedgerChangeEvent> held = pendingEvents;
+        setTransactions(List.of(), version, filter);
+        this.pendingEvents = held != null ? held : new ArrayList<>();
+    }
+
+    /**
+     * Menambahkan satu potongan hasil query di akhir tabel.
+     */
+    public void appendChunk(List<Transaction> chunk) {
+        if (chunk.isEmpty()) return;
+        int first = rows.size();
+        for (Transaction tx : chunk) rows.append(tx);
+        fireTableRowsInserted(first, rows.size() - 1);
+    }
+
+    /**
+     * Menyelesaikan pemuatan bertahap dan menerapkan event yang tertahan.
+     */
+    public void finishLoad() {
+        List<LedgerChangeEvent> pending = pendingEvents;
+        pendingEvents = null;
+        if (pending != null) pending.forEach(this::apply);
+    }
+
+    public TransactionFilter getFilter() {
+        return filter;
+    }
+
+    /**
+     * Berlangganan perubahan ledger; pembaruan diterapkan di EDT.
+     *
+     * @param reload dipanggil di EDT bila urutan versi event melompat (ada
+     *               event yang terlewat); harus memuat ulang tabel dari service
+     */
+    public EventBus.Subscription listenTo(EventBus eventBus, Runnable reload) {
+        this.reload = reload;
+        return eventBus.subscribe(LedgerChangeEvent.class,
+                event -> SwingUtilities.invokeLater(() -> apply(event)));
+    }
+
+    private void apply(LedgerChangeEvent event) {
+        long version = event.getDataVersion();
+        if (version <= loadedVersion) return;
+        if (pendingEvents != null) {
+            pendingEvents.add(event);
+            return;
+        }
+        // Satu entri jurnal = satu versi; REPLACE mengirim hapus + tambah dengan versi yang sama
+        if (version > appliedVersion + 1) {
+            System.err.println("Tabel transaksi: event setelah versi " + appliedVersion + " terlewat, memuat ulang.");
+            reload.run();
+            return;
+        }
+        appliedVersion = version;
+
+        if (event instanceof TransactionsAddedEvent) {
+            int first = -1;
+            int last = -1;
+            for (Transaction tx : ((TransactionsAddedEvent) event).getTransactions()) {
+                if (!filter.matches(tx)) continue;
+                last = rows.append(tx);
+                if (first < 0) first = last;
+            }
+            // Baris baru selalu bersebelahan di akhir: satu notifikasi per batch
+            if (first >= 0) fireTableRowsInserted(first, last);
+        } else if (event instanceof TransactionsDeletedEvent) {
+            List<Transaction> deleted = ((TransactionsDeletedEvent) event).getTransactions();
+            if (deleted.size() <= INCREMENTAL_DELETE_LIMIT) {
+                for (Transaction tx : deleted) {
+                    int row = rows.remove(tx.getId());
+                    if (row >= 0) fireTableRowsDeleted(row, row);
+                }
+                return;
+            }
+            // Hapus massal: satu notifikasi (satu pengurutan ulang) untuk seluruh batch
+            boolean changed = false;
+            for (Transaction tx : deleted) {
+                if (rows.remove(tx.getId()) >= 0) changed = true;
+            }
+            if (changed) fireTableDataChanged();
+        }
+    }
+
     /**
      * Mendapatkan objek Transaction pada baris tertentu.
      */
     public Transaction getTransactionAt(int rowIndex) {
-        return transactions.get(rowIndex);
+        return rows.get(rowIndex);
     }
 
     @Override
     public int getRowCount() {
-        return transactions.size();
+        return rows.size();
     }
 
     @Override
@@ -55,26 +218,74 @@ public class TransactionTableModel extends AbstractTableModel {
 
     @Override
     public Object getValueAt(int rowIndex, int columnIndex) {
-        Transaction tx = transactions.get(rowIndex);
+        Transaction tx = rows.get(rowIndex);
         switch (columnIndex) {
-            case 0: return tx.getId();
-            case 1: return tx.getDate().format(dateFormatter);
-            case 2: return tx.getDescription();
-            case 3: return tx.getType().toString();
-            case 4: return tx.getCategory().toString();
-            case 5: return String.format("%,.2f", tx.getAmount()); // Format mata uang
+            case COLUMN_ID: return tx.getId();
+            case COLUMN_DATE: return tx.getDate();
+            case COLUMN_DESCRIPTION: return tx.getDescription();
+            case COLUMN_TYPE: return tx.getType();
+            case COLUMN_CATEGORY: return tx.getCategory();
+            case COLUMN_AMOUNT: return cached(tx).amount;
+            case COLUMN_ACCOUNT: return tx.getAccount();
             default: return null;
         }
     }
 
+    /**
+     * Teks tampilan sebuah sel (dipakai TransactionCellRenderer).
+     */
+    public String getFormattedValue(int rowIndex, int columnIndex) {
+        Transaction tx = rows.get(rowIndex);
+        if (columnIndex == COLUMN_ID) return tx.getId();
+        if (columnIndex < 0 || columnIndex >= columnNames.length) return null;
+        return cached(tx).text[columnIndex];
+    }
+
+    private CachedRow cached(Transaction tx) {
+        CachedRow row = formattedRows.get(tx.getId());
+        if (row == null || row.source != tx) {
+            row = new CachedRow(tx);
+            formattedRows.put(tx.getId(), row);
+        }
+        return row;
+    }
+
+    /**
+     * Satu baris diformat sekaligus (sel lain di baris yang sama hampir pasti ikut dicat).
+     */
+    private static final class CachedRow {
+        final Transaction source;
+        final BigDecimal amount;
+        final String[] text;
+
+        CachedRow(Transaction tx) {
+            this.source = tx;
+            this.amount = BigDecimal.valueOf(Math.round(tx.getAmount() * 100), 2);
+            StringBuilder formatted = new StringBuilder(16);
+            try {
+                AmountFormat.appendGrouped(formatted, tx.getAmount()); // Format mata uang
+            } catch (IOException e) {
+                throw new IllegalStateException(e); // StringBuilder tidak pernah melempar IOException
+            }
+            this.text = new String[]{
+                    null,
+                    tx.getDate().toString(), // ISO yyyy-MM-dd
+                    tx.getDescription(),
+                    tx.getType().toString(),
+                    tx.getCategory().toString(),
+                    formatted.toString(),
+                    tx.getAccount()
+            };
+        }
+    }
+
     @Override
     public Class<?> getColumnClass(int columnIndex) {
-        // Kolom jumlah (Amount) diperlakukan sebagai String karena sudah diformat
-        return String.class;
+        return columnClasses[columnIndex];
     }
 
     @Override
     public boolean isCellEditable(int rowIndex, int columnIndex) {
         return false; // Tabel tidak bisa diedit
     }
-}
\ No newline at end of file
+}
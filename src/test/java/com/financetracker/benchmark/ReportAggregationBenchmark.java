@@ -0,0 +1,94 @@
+package com.financetracker.benchmark;
+
+import com.financetracker.aggregate.ParallelAggregator;
+import com.financetracker.aggregate.PeriodSummary;
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Benchmark agregasi laporan tahunan/multi-tahun pada data sintetis.
+ * Mengukur waktu ParallelAggregator dengan pool 1, 2, 4, ... N core.
+ *
+ * Data dibangkitkan dengan seed tetap sehingga hasil dapat diulang.
+ * Berada di source test agar tidak ikut jar aplikasi, dan bukan test JUnit
+ * sehingga tidak dijalankan surefire. Jalankan dengan heap cukup, contoh:
+ *   mvn -B test-compile
+ *   java -Xmx6g -cp target/classes:target/test-classes com.financetracker.benchmark.ReportAggregationBenchmark 10000000
+ */
+public class ReportAggregationBenchmark {
+
+    private static final long SEED = 42L;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    public static void main(String[] args) {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int years = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        LocalDate start = LocalDate.of(2016, 1, 1);
+        System.out.printf("Membangkitkan %,d transaksi sintetis (%d tahun)...%n", rows, years);
+        List<Transaction> transactions = generate(rows, start, years);
+        ReportPeriod period = ReportPeriod.of(start, start.plusYears(years).minusDays(1));
+
+        int maxCores = Runtime.getRuntime().availableProcessors();
+        double baseline = 0;
+        for (int cores = 1; cores <= maxCores; cores = nextCoreCount(cores, maxCores)) {
+            ForkJoinPool pool = new ForkJoinPool(cores);
+            try {
+                double millis = measure(transactions, period, pool);
+                if (cores == 1) baseline = millis;
+                System.out.printf("%2d core: %8.1f ms  (speedup %.2fx)%n", cores, millis, baseline / millis);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static double measure(List<Transaction> transactions, ReportPeriod period, ForkJoinPool pool) {
+        double checksum = 0;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            checksum += ParallelAggregator.summarize(transactions, period, pool).getTotals().getNet();
+        }
+
+        long total = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            long t0 = System.nanoTime();
+            PeriodSummary summary = ParallelAggregator.summarize(transactions, period, pool);
+            total += System.nanoTime() - t0;
+            checksum += summary.getTotals().getNet();
+        }
+        // checksum dicetak agar JIT tidak membuang hasil agregasi
+        if (checksum == Double.MIN_VALUE) System.out.println(checksum);
+        return total / 1e6 / MEASURED_ROUNDS;
+    }
+
+    private static int nextCoreCount(int cores, int maxCores) {
+        if (cores == maxCores) return maxCores + 1;
+        return Math.min(cores * 2, maxCores);
+    }
+
+    private static List<Transaction> generate(int rows, LocalDate start, int years) {
+        Random random = new Random(SEED);
+        Category[] categories = Category.values();
+        int days = (int) (start.plusYears(years).toEpochDay() - start.toEpochDay());
+
+        List<Transaction> list = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            LocalDate date = start.plusDays(random.nextInt(days));
+            boolean income = random.nextInt(10) == 0;
+            TransactionType type = income ? TransactionType.INCOME : TransactionType.EXPENSE;
+            Category category = income ? Category.GAJI : categories[2 + random.nextInt(categories.length - 2)];
+            double amount = 1_000 + random.nextInt(500_000);
+            list.add(new Transaction(Integer.toString(i), date, "sintetis", amount, type, category));
+        }
+        return list;
+    }
+}
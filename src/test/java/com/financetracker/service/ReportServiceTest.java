@@ -0,0 +1,55 @@
+package com.financetracker.service;
+
+import com.financetracker.factory.TransactionFactory;
+import com.financetracker.model.Category;
+import com.financetracker.model.ReportPeriod;
+import com.financetracker.model.TransactionType;
+import com.financetracker.patterns.strategy.MonthlyComparisonReportStrategy;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.ZoneId;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Cache laporan: laporan perbandingan harus basi bila periode sebelumnya berubah.
+ */
+class ReportServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+
+    @BeforeAll
+    static void cleanDataDirectory() throws IOException {
+        TestData.reset();
+    }
+
+    @Test
+    void comparisonReportIsRecomputedWhenPreviousMonthChanges() {
+        Clock clock = Clock.fixed(TODAY.atStartOfDay(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+        TransactionService transactionService = new TransactionService(clock);
+        ReportService reportService = new ReportService(transactionService);
+        reportService.setStrategy(new MonthlyComparisonReportStrategy(clock));
+        ReportPeriod june = ReportPeriod.ofMonth(YearMonth.from(TODAY));
+
+        transactionService.addTransaction(TransactionFactory.createTransaction(
+                TODAY, "Makan siang", 50_000, TransactionType.EXPENSE, Category.MAKANAN));
+        String before = reportService.generateReport(june);
+        assertEquals(before, reportService.generateReport(june));
+        assertEquals(1, reportService.getCacheHits());
+
+        // Mutasi hanya di bulan sebelumnya (Mei)
+        transactionService.addTransaction(TransactionFactory.createTransaction(
+                TODAY.minusMonths(1), "Makan malam", 75_000, TransactionType.EXPENSE, Category.MAKANAN));
+        String after = reportService.generateReport(june);
+
+        assertNotEquals(before, after);
+        assertEquals(1, reportService.getCacheHits());
+        assertEquals(2, reportService.getCacheMisses());
+    }
+}
@@ -0,0 +1,35 @@
+package com.financetracker.service;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Direktori data bersama untuk test. Test dijalankan di target/test-work
+ * (lihat konfigurasi surefire), dan StorageManager adalah singleton yang
+ * tidak membuat ulang foldernya, jadi isi data/ dikosongkan lalu file dasar
+ * yang dibuat StorageManager saat pertama dipakai ditulis ulang.
+ */
+final class TestData {
+
+    private TestData() {
+    }
+
+    static void reset() throws IOException {
+        Path data = Paths.get("data");
+        if (Files.exists(data)) {
+            try (Stream<Path> paths = Files.walk(data)) {
+                for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+        Files.createDirectories(data);
+        Files.write(data.resolve("transactions.json"), "[]".getBytes(StandardCharsets.UTF_8));
+        Files.write(data.resolve("notifications.log"), new byte[0]);
+    }
+}
@@ -0,0 +1,158 @@
+package com.financetracker.service;
+
+import com.financetracker.factory.TransactionFactory;
+import com.financetracker.model.Category;
+import com.financetracker.model.Transaction;
+import com.financetracker.model.TransactionType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Jurnal sebagai format persistensi: pemutaran ulang saat startup, undo/redo,
+ * dan kueri riwayat yang melewati batas snapshot.
+ */
+class TransactionJournalTest {
+
+    private static final LocalDate DAY = LocalDate.of(2024, 5, 10);
+    private static final Path JOURNAL = Paths.get("data", "journal.jsonl");
+
+    private int sequence;
+
+    @BeforeEach
+    void cleanDataDirectory() throws IOException {
+        TestData.reset();
+    }
+
+    @Test
+    void addDeleteUndoSnapshotRestartRoundTrip() {
+        TransactionService service = new TransactionService();
+        Transaction kept = expense(Category.MAKANAN);
+        Transaction deleted = expense(Category.TRANSPORTASI);
+        service.addTransaction(kept);
+        service.addTransaction(deleted);
+        service.deleteTransaction(deleted.getId());
+        assertTrue(service.undo());
+
+        fillUntilSnapshot(service);
+        assertEquals(TransactionJournal.SNAPSHOT_INTERVAL, service.getDataVersion());
+        // Mutasi setelah snapshot hanya ada di jurnal aktif
+        Transaction afterSnapshot = expense(Category.MAKANAN);
+        service.addTransaction(afterSnapshot);
+        service.deleteTransaction(kept.getId());
+
+        TransactionService restarted = new TransactionService();
+        assertEquals(state(service.getAllTransactions()), state(restarted.getAllTransactions()));
+        assertEquals(service.getDataVersion(), restarted.getDataVersion());
+        assertTrue(restarted.containsTransaction(deleted.getId()));
+        assertTrue(restarted.containsTransaction(afterSnapshot.getId()));
+    }
+
+    @Test
+    void replayOverNewerSnapshotIsIdempotent() throws IOException {
+        TransactionService service = new TransactionService();
+        Transaction recategorized = expense(Category.MAKANAN);
+        Transaction deleted = expense(Category.MAKANAN);
+        service.addTransaction(recategorized);
+        service.addTransaction(deleted);
+        service.recategorizeTransactions(List.of(recategorized.getId()), Category.HIBURAN);
+        service.deleteTransaction(deleted.getId());
+        fillUntilSnapshot(service);
+        Map<String, Category> expected = state(service.getAllTransactions());
+
+        // Aplikasi mati setelah shard ditulis tetapi sebelum jurnal diganti:
+        // seluruh jurnal lama diputar ulang di atas snapshot yang sudah memuatnya
+        Path archived = Paths.get("data", "history", "journal-0.jsonl");
+        Files.copy(archived, JOURNAL, StandardCopyOption.REPLACE_EXISTING);
+
+        TransactionService restarted = new TransactionService();
+        assertEquals(expected, state(restarted.getAllTransactions()));
+        assertEquals(service.getDataVersion(), restarted.getDataVersion());
+        assertEquals(expected, state(new TransactionService().getAllTransactions()));
+    }
+
+    @Test
+    void undoAndRedoOfRecategorizeSurviveRestart() {
+        TransactionService service = new TransactionService();
+        Transaction tx = expense(Category.MAKANAN);
+        service.addTransaction(tx);
+        service.recategorizeTransactions(List.of(tx.getId()), Category.TRANSPORTASI);
+
+        assertTrue(service.undo());
+        assertEquals(Category.MAKANAN, state(service.getAllTransactions()).get(tx.getId()));
+        assertTrue(service.redo());
+        assertEquals(Category.TRANSPORTASI, state(service.getAllTransactions()).get(tx.getId()));
+        assertTrue(service.undo());
+
+        TransactionService restarted = new TransactionService();
+        assertEquals(Category.MAKANAN, state(restarted.getAllTransactions()).get(tx.getId()));
+        assertEquals(1, restarted.getAllTransactions().size());
+    }
+
+    @Test
+    void asOfBeforeBaseVersionReplaysArchivedJournal() {
+        TransactionService service = new TransactionService();
+        Transaction first = expense(Category.MAKANAN);
+        Transaction second = expense(Category.MAKANAN);
+        service.addTransaction(first);                                                   // versi 1
+        service.recategorizeTransactions(List.of(first.getId()), Category.TRANSPORTASI); // versi 2
+        service.addTransaction(second);                                                  // versi 3
+        service.deleteTransaction(second.getId());                                       // versi 4
+        fillUntilSnapshot(service);
+        Map<String, Category> atSnapshot = state(service.getAllTransactions());
+        service.addTransaction(expense(Category.MAKANAN));
+        long afterSnapshot = service.getDataVersion();
+        Map<String, Category> atAfterSnapshot = state(service.getAllTransactions());
+        // Snapshot kedua: versi di antara dua snapshot butuh dua segmen jurnal arsip
+        fillUntil(service, 2L * TransactionJournal.SNAPSHOT_INTERVAL);
+
+        for (TransactionService reader : List.of(service, new TransactionService())) {
+            assertEquals(Map.of(first.getId(), Category.MAKANAN), state(reader.getTransactionsAsOf(1)));
+            assertEquals(Map.of(first.getId(), Category.TRANSPORTASI), state(reader.getTransactionsAsOf(2)));
+            assertEquals(Map.of(first.getId(), Category.TRANSPORTASI, second.getId(), Category.MAKANAN),
+                    state(reader.getTransactionsAsOf(3)));
+            assertEquals(Map.of(first.getId(), Category.TRANSPORTASI), state(reader.getTransactionsAsOf(4)));
+            assertEquals(atSnapshot, state(reader.getTransactionsAsOf(TransactionJournal.SNAPSHOT_INTERVAL)));
+            assertEquals(atAfterSnapshot, state(reader.getTransactionsAsOf(afterSnapshot)));
+        }
+    }
+
+    /**
+     * Menambah transaksi sampai jurnal mencapai SNAPSHOT_INTERVAL entri (snapshot ditulis).
+     */
+    private void fillUntilSnapshot(TransactionService service) {
+        fillUntil(service, TransactionJournal.SNAPSHOT_INTERVAL);
+    }
+
+    private void fillUntil(TransactionService service, long version) {
+        while (service.getDataVersion() < version) {
+            service.addTransaction(expense(Category.LAINNYA));
+        }
+    }
+
+    private Transaction expense(Category category) {
+        // Deskripsi unik agar tidak dianggap duplikat
+        sequence++;
+        return TransactionFactory.createTransaction(DAY, "Transaksi " + sequence, 1_000 + sequence,
+                TransactionType.EXPENSE, category);
+    }
+
+    private static Map<String, Category> state(Collection<Transaction> transactions) {
+        Map<String, Category> state = new TreeMap<>();
+        for (Transaction tx : transactions) state.put(tx.getId(), tx.getCategory());
+        return state;
+    }
+}